@@ -1,11 +1,16 @@
 package com.ufu_solutions.certifica_ufu_api;
 
+import com.achcar_solutions.easycomm_core.infra.storage.StorageConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableMongoRepositories(basePackages = "com.achcar_solutions.easycomm_core.repositories")
 @SpringBootApplication
+@Import(StorageConfiguration.class)
+@EnableScheduling
 public class CertificaufuApplication {
 
 	public static void main(String[] args) {
@@ -4,6 +4,7 @@ import com.achcar_solutions.easycomm_core.entities.authuser.AuthUser;
 import com.achcar_solutions.easycomm_core.entities.authuser.AuthenticationDTO;
 import com.achcar_solutions.easycomm_core.entities.authuser.LoginDTO;
 import com.achcar_solutions.easycomm_core.entities.authuser.RegisterDTO;
+import com.ufu_solutions.certifica_ufu_api.security.TokenRevocationRegistry;
 import com.ufu_solutions.certifica_ufu_api.security.TokenService;
 import com.achcar_solutions.easycomm_core.repositories.AuthUserRepository;
 import io.swagger.v3.oas.annotations.Operation;
@@ -15,7 +16,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -35,6 +38,9 @@ public class AuthenticationController {
     @Autowired
     TokenService tokenService;
 
+    @Autowired
+    TokenRevocationRegistry tokenRevocationRegistry;
+
     @Operation(summary = "Realiza o login do usuário", description = "Autentica um usuário com email e senha e retorna um token JWT em caso de sucesso.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Login bem-sucedido, token JWT retornado."),
@@ -70,4 +76,19 @@ public class AuthenticationController {
         authUserRepository.save(authUserToBeRegistered);
         return ResponseEntity.ok().build();
     }
+
+    @Operation(summary = "Revoga os tokens de um usuário", description = "Invalida todos os tokens JWT já emitidos para o usuário; ele precisará fazer login novamente. Acessível apenas por ADMIN.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Tokens revogados."),
+            @ApiResponse(responseCode = "403", description = "Acesso negado."),
+            @ApiResponse(responseCode = "404", description = "Usuário não encontrado.")
+    })
+    @PostMapping("/users/{email}/revoke-tokens")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> revokeTokens(@PathVariable String email) {
+        long newVersion = authUserRepository.incrementTokenVersion(email)
+                .orElseThrow(() -> new RuntimeException("User not found with email: " + email));
+        tokenRevocationRegistry.recordRevocation(email, newVersion);
+        return ResponseEntity.noContent().build();
+    }
 }
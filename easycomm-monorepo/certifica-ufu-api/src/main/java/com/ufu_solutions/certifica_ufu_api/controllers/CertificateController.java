@@ -1,23 +1,46 @@
 package com.ufu_solutions.certifica_ufu_api.controllers;
 
 import com.achcar_solutions.easycomm_core.entities.certificate.Certificate;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateBulkValidationRequest;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateBulkValidationResponse;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateCategory;
 import com.achcar_solutions.easycomm_core.entities.certificate.CertificateCreationRequest;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificatePreviews;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateStatus;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateSummary;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateUploadRequest;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateUploadResponse;
 import com.ufu_solutions.certifica_ufu_api.services.CertificateService;
 import com.achcar_solutions.easycomm_core.entities.certificate.CertificateValidationRequest;
+import com.achcar_solutions.easycomm_core.entities.pagination.CursorPage;
+import com.achcar_solutions.easycomm_core.infra.ports.StoredFileMetadata;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 
@@ -26,6 +49,9 @@ import java.util.Map;
 @Tag(name = "Certificados", description = "Endpoints para gerenciamento de certificados.")
 public class CertificateController {
 
+    // Certificados são dados pessoais: nada de cache compartilhado, e o navegador revalida com o ETag a cada uso.
+    private static final CacheControl FILE_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
     @Autowired
     private CertificateService certificateService;
 
@@ -43,6 +69,33 @@ public class CertificateController {
         return new ResponseEntity<Certificate>(certificateService.createCertificate(request, file), HttpStatus.CREATED);
     }
 
+    @Operation(summary = "Reserva um certificado para upload direto",
+            description = "Cria o certificado em PENDING_UPLOAD e retorna uma URL pré-assinada para o cliente enviar o arquivo direto ao storage, sem passar pela API.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Upload reservado com sucesso",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CertificateUploadResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Requisição inválida, certificado duplicado ou storage sem upload direto"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado - Token JWT inválido ou ausente")
+    })
+    @PostMapping("/upload-url")
+    public ResponseEntity<CertificateUploadResponse> reserveCertificateUpload(@RequestBody @Valid CertificateUploadRequest request) {
+        return new ResponseEntity<>(certificateService.reserveCertificateUpload(request), HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Conclui um upload direto",
+            description = "Confere o arquivo enviado pela URL pré-assinada, move o certificado para PENDING e o envia para a fila de processamento.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Upload concluído",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Certificate.class))),
+            @ApiResponse(responseCode = "400", description = "Arquivo ausente ou diferente do declarado"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado"),
+            @ApiResponse(responseCode = "404", description = "Certificado não encontrado")
+    })
+    @PostMapping("/{id}/complete-upload")
+    public ResponseEntity<Certificate> completeCertificateUpload(@PathVariable String id) {
+        return ResponseEntity.ok(certificateService.completeCertificateUpload(id));
+    }
+
     @Operation(summary = "Busca um certificado por ID", description = "Retorna os detalhes de um certificado específico.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Certificado encontrado",
@@ -55,14 +108,17 @@ public class CertificateController {
         return new ResponseEntity<>(certificateService.getCertificateById(id), HttpStatus.OK);
     }
 
-    @Operation(summary = "Lista todos os certificados", description = "Retorna uma lista com todos os certificados cadastrados no sistema.")
+    @Operation(summary = "Lista os certificados", description = "Retorna uma página de resumos dos certificados cadastrados, dos mais recentes aos mais antigos. Use o nextCursor da resposta para buscar a próxima página.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de certificados retornada com sucesso"),
+            @ApiResponse(responseCode = "200", description = "Página de certificados retornada com sucesso"),
             @ApiResponse(responseCode = "403", description = "Acesso negado")
     })
     @GetMapping
-    public ResponseEntity<List<Certificate>> getAllCertificates() {
-        return new ResponseEntity<List<Certificate>>(certificateService.getAllCertificates(), HttpStatus.OK);
+    public ResponseEntity<CursorPage<CertificateSummary>> getAllCertificates(@RequestParam(required = false) CertificateStatus status,
+                                                                             @RequestParam(required = false) CertificateCategory category,
+                                                                             @RequestParam(required = false) String cursor,
+                                                                             @RequestParam(required = false) Integer size) {
+        return new ResponseEntity<>(certificateService.getAllCertificates(status, category, cursor, size), HttpStatus.OK);
     }
 
     @Operation(summary = "Deleta um certificado por ID", description = "Remove um certificado e o arquivo associado do sistema.")
@@ -91,22 +147,200 @@ public class CertificateController {
         return ResponseEntity.ok(updatedCertificate);
     }
 
-    @Operation(summary = "Lists all certificates for the current user", description = "Returns a list of all certificates submitted by the logged-in user.")
+    @Operation(summary = "Validates many certificates at once", description = "Applies the same decision to all the given certificates that are still PENDING and reports the outcome of each ID. Accessible only by ADMIN users.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Bulk validation applied; see the per-item results"),
+            @ApiResponse(responseCode = "400", description = "Invalid validation request"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PostMapping("/validate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CertificateBulkValidationResponse> validateCertificates(@RequestBody @Valid CertificateBulkValidationRequest request) {
+        return ResponseEntity.ok(certificateService.validateCertificates(request));
+    }
+
+    @Operation(summary = "Lists the review queue", description = "Returns an oldest-first page of PENDING certificates. Pass the returned nextCursor to get the next page. Accessible only by ADMIN users.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of pending certificates returned successfully"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @GetMapping("/review-queue")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPage<CertificateSummary>> getReviewQueue(@RequestParam(required = false) String cursor,
+                                                                         @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(certificateService.getReviewQueue(cursor, size));
+    }
+
+    @Operation(summary = "Lists the certificates of the current user", description = "Returns a newest-first page of summaries of the certificates submitted by the logged-in user. Pass the returned nextCursor to get the next page.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "List of user's certificates returned successfully"),
+            @ApiResponse(responseCode = "200", description = "Page of user's certificates returned successfully"),
             @ApiResponse(responseCode = "403", description = "Access denied")
     })
     @GetMapping("/my-documents")
-    public ResponseEntity<List<Certificate>> getMyCertificates() {
-        List<Certificate> certificates = certificateService.findCertificatesByCurrentUser();
+    public ResponseEntity<CursorPage<CertificateSummary>> getMyCertificates(@RequestParam(required = false) CertificateStatus status,
+                                                                            @RequestParam(required = false) CertificateCategory category,
+                                                                            @RequestParam(required = false) String cursor,
+                                                                            @RequestParam(required = false) Integer size) {
+        CursorPage<CertificateSummary> certificates = certificateService.findCertificatesByCurrentUser(status, category, cursor, size);
         return ResponseEntity.ok(certificates);
     }
 
-    @Operation(summary = "Get a viewable URL for a certificate", description = "Returns a URL to view the certificate file. Accessible only by ADMIN users.")
+    @Operation(summary = "Get a viewable URL for a certificate", description = "Returns a URL to view the certificate file: a pre-signed storage URL, or the API path /certificate/{id}/file when the storage is not reachable by clients. Accessible only by ADMIN users.")
     @GetMapping("/{id}/view-url")
     public ResponseEntity<Map<String, String>> getCertificateViewUrl(@PathVariable String id) {
         String url = certificateService.generatePresignedUrlForCertificate(id);
         // Retornamos um JSON para ser mais fácil de consumir no frontend
         return ResponseEntity.ok(Map.of("url", url));
     }
+
+    @Operation(summary = "Get a preview URL for a certificate", description = "Returns a URL to a small PNG rendering of the first page (THUMBNAIL or PREVIEW size), so the review queue does not download the original file. Falls back to the original file while no rendering exists, and to /certificate/{id}/file when the storage is not reachable by clients. Accessible only by ADMIN users.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Preview URL returned successfully"),
+            @ApiResponse(responseCode = "403", description = "Access denied"),
+            @ApiResponse(responseCode = "404", description = "Certificate not found")
+    })
+    @GetMapping("/{id}/preview-url")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, String>> getCertificatePreviewUrl(@PathVariable String id,
+                                                                        @RequestParam(defaultValue = "THUMBNAIL") CertificatePreviews.Size size) {
+        return ResponseEntity.ok(Map.of("url", certificateService.generatePresignedPreviewUrlForCertificate(id, size)));
+    }
+
+    @Operation(summary = "Streams the certificate file", description = "Serves the file through the API, for deployments where the storage is not reachable by clients. Supports single-range Range requests (206), so PDF viewers can load pages as needed, and conditional requests with ETag/Last-Modified (304).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Whole file"),
+            @ApiResponse(responseCode = "206", description = "Requested byte range"),
+            @ApiResponse(responseCode = "304", description = "The client's copy is still current"),
+            @ApiResponse(responseCode = "403", description = "Access denied"),
+            @ApiResponse(responseCode = "404", description = "Certificate or its file not found"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current file"),
+            @ApiResponse(responseCode = "416", description = "Range outside the file")
+    })
+    @GetMapping("/{id}/file")
+    public ResponseEntity<StreamingResponseBody> getCertificateFile(@PathVariable String id,
+                                                                    @RequestHeader HttpHeaders headers,
+                                                                    HttpMethod method,
+                                                                    ServletWebRequest webRequest,
+                                                                    HttpServletResponse response) {
+        StoredFileMetadata file = certificateService.getCertificateFileMetadata(id);
+        long size = file.contentLength();
+
+        // checkNotModified leaves If-Match to the caller on GET and HEAD, so it is evaluated here, before anything else.
+        if (!ifMatchMatches(headers, file)) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                    .eTag(quotedETag(file))
+                    .cacheControl(FILE_CACHE_CONTROL)
+                    .build();
+        }
+
+        // Also writes ETag and Last-Modified to the response, for every outcome; they are not repeated below.
+        if (webRequest.checkNotModified(file.eTag(), file.lastModified().toEpochMilli())) {
+            return ResponseEntity.status(response.getStatus()).cacheControl(FILE_CACHE_CONTROL).build();
+        }
+
+        ResponseEntity.BodyBuilder builder;
+        StreamingResponseBody body;
+        HttpRange range = requestedRange(headers, file);
+        if (range == null) {
+            builder = ResponseEntity.ok().contentLength(size);
+            body = outputStream -> {
+                try (InputStream inputStream = certificateService.openCertificateFile(file)) {
+                    inputStream.transferTo(outputStream);
+                }
+            };
+        } else {
+            long start;
+            long end;
+            try {
+                start = range.getRangeStart(size);
+                end = range.getRangeEnd(size);
+            } catch (IllegalArgumentException e) {
+                return rangeNotSatisfiable(size);
+            }
+            // HttpRange does not reject a first byte past the end, and no range of an empty file can be satisfied.
+            if (start >= size) {
+                return rangeNotSatisfiable(size);
+            }
+            long length = end - start + 1;
+            builder = ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size)
+                    .contentLength(length);
+            body = outputStream -> {
+                try (InputStream inputStream = certificateService.openCertificateFile(file, start, length)) {
+                    inputStream.transferTo(outputStream);
+                }
+            };
+        }
+
+        builder.header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .contentType(file.contentType() == null ? MediaType.APPLICATION_OCTET_STREAM : MediaType.parseMediaType(file.contentType()))
+                .cacheControl(FILE_CACHE_CONTROL);
+        // HEAD gets the same headers without opening the file.
+        return method == HttpMethod.HEAD ? builder.build() : builder.body(body);
+    }
+
+    private static ResponseEntity<StreamingResponseBody> rangeNotSatisfiable(long size) {
+        return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+                .build();
+    }
+
+    /**
+     * Whether the file passes If-Match: no header, {@code *}, or one of the listed tags equal to the file's ETag under
+     * the strong comparison RFC 9110 requires, which weak tags never pass. A malformed header matches nothing.
+     */
+    private static boolean ifMatchMatches(HttpHeaders headers, StoredFileMetadata file) {
+        List<String> ifMatch;
+        try {
+            ifMatch = headers.getIfMatch();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (ifMatch.isEmpty()) {
+            return true;
+        }
+        String eTag = quotedETag(file);
+        return ifMatch.stream().anyMatch(tag -> tag.equals("*") || tag.equals(eTag));
+    }
+
+    /**
+     * The single range to serve, or {@code null} for the whole file. Malformed and multi-range headers are ignored, as
+     * RFC 9110 allows, and so is a range whose If-Range no longer matches the file.
+     */
+    private static HttpRange requestedRange(HttpHeaders headers, StoredFileMetadata file) {
+        List<HttpRange> ranges;
+        try {
+            ranges = headers.getRange();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (ranges.size() != 1 || !ifRangeMatches(headers.getFirst(HttpHeaders.IF_RANGE), file)) {
+            return null;
+        }
+        return ranges.get(0);
+    }
+
+    private static boolean ifRangeMatches(String ifRange, StoredFileMetadata file) {
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("W/")) {
+            // If-Range needs a strong comparison, which a weak tag never passes.
+            return false;
+        }
+        if (ifRange.startsWith("\"")) {
+            return ifRange.equals(quotedETag(file));
+        }
+        try {
+            Instant date = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            return date.getEpochSecond() == file.lastModified().getEpochSecond();
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private static String quotedETag(StoredFileMetadata file) {
+        String eTag = file.eTag();
+        return eTag.startsWith("\"") ? eTag : "\"" + eTag + "\"";
+    }
 }
@@ -0,0 +1,52 @@
+package com.ufu_solutions.certifica_ufu_api.controllers;
+
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateDeadLetter;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateRedriveResponse;
+import com.ufu_solutions.certifica_ufu_api.services.DeadLetterService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("certificate/dead-letters")
+@Tag(name = "Certificados com falha", description = "Certificados cujo processamento falhou em todas as tentativas.")
+public class DeadLetterController {
+
+    private final DeadLetterService deadLetterService;
+
+    public DeadLetterController(DeadLetterService deadLetterService) {
+        this.deadLetterService = deadLetterService;
+    }
+
+    @Operation(summary = "Lists dead-lettered certificates", description = "Returns the oldest certificates that exhausted their processing retries and were not redriven yet, with the last failure. Accessible only by ADMIN users.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Dead-lettered certificates returned successfully"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<CertificateDeadLetter>> getDeadLetters(@RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(deadLetterService.listDeadLetters(limit));
+    }
+
+    @Operation(summary = "Redrives dead-lettered certificates", description = "Sends the oldest dead-lettered certificates back to the processing queue with a fresh retry budget. Use it once the cause of the failures is fixed. Accessible only by ADMIN users.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Certificates sent back for processing"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PostMapping("/redrive")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CertificateRedriveResponse> redriveDeadLetters(@RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(deadLetterService.redrive(limit));
+    }
+}
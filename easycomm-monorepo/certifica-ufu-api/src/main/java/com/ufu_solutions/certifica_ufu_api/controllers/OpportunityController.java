@@ -2,7 +2,9 @@ package com.ufu_solutions.certifica_ufu_api.controllers;
 
 import com.ufu_solutions.certifica_ufu_api.services.OpportunityService;
 import com.achcar_solutions.easycomm_core.entities.opportunity.Opportunity;
+import com.achcar_solutions.easycomm_core.entities.opportunity.OpportunityApplicationResponse;
 import com.achcar_solutions.easycomm_core.entities.opportunity.OpportunityDTO;
+import com.achcar_solutions.easycomm_core.entities.pagination.CursorPage;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,6 +13,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("opportunity")
@@ -51,8 +54,20 @@ public class OpportunityController {
     }
 
     @PostMapping("/{id}/apply")
-    public ResponseEntity<Opportunity> applyToOpportunity(@PathVariable String id) {
-        Opportunity updatedOpportunity = opportunityService.addApplicant(id);
-        return ResponseEntity.ok(updatedOpportunity);
+    public ResponseEntity<OpportunityApplicationResponse> applyToOpportunity(@PathVariable String id) {
+        OpportunityApplicationResponse application = opportunityService.addApplicant(id);
+        return ResponseEntity.ok(application);
+    }
+
+    @GetMapping("/{id}/applicants")
+    public ResponseEntity<CursorPage<String>> getApplicants(@PathVariable String id,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(opportunityService.findApplicants(id, cursor, size));
+    }
+
+    @GetMapping("/{id}/applicants/count")
+    public ResponseEntity<Map<String, Long>> countApplicants(@PathVariable String id) {
+        return ResponseEntity.ok(Map.of("count", opportunityService.countApplicants(id)));
     }
 }
@@ -0,0 +1,74 @@
+package com.ufu_solutions.certifica_ufu_api.infra.cache;
+
+import com.achcar_solutions.easycomm_core.infra.ports.PresignedUrl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU cache of presigned download URLs, keyed by the S3 object key.
+ * A URL is served until {@code refreshMargin} before its signature expires, so clients never get one that is about to die.
+ * It also remembers which object key belongs to each certificate, which is what lets a cache hit skip the Mongo lookup.
+ */
+@Component
+public class PresignedUrlCache {
+
+    private final Map<String, PresignedUrl> urlsByObjectKey;
+    private final Map<String, String> objectKeysByCertificateId;
+    private final Duration refreshMargin;
+
+    public PresignedUrlCache(@Value("${certificate.view-url.cache-size:10000}") int maxEntries,
+                             @Value("${certificate.view-url.refresh-margin:PT1M}") Duration refreshMargin) {
+        this.urlsByObjectKey = boundedLruMap(maxEntries);
+        this.objectKeysByCertificateId = boundedLruMap(maxEntries);
+        this.refreshMargin = refreshMargin;
+    }
+
+    public synchronized Optional<String> getObjectKey(String certificateId) {
+        return Optional.ofNullable(objectKeysByCertificateId.get(certificateId));
+    }
+
+    public synchronized void putObjectKey(String certificateId, String s3ObjectKey) {
+        objectKeysByCertificateId.put(certificateId, s3ObjectKey);
+    }
+
+    /**
+     * Returns the cached URL while it is still fresh, otherwise signs a new one with {@code signer}.
+     * Signing happens outside the lock; two concurrent misses for the same key may both sign, which is harmless.
+     */
+    public String getOrSign(String s3ObjectKey, Function<String, PresignedUrl> signer) {
+        Instant freshUntil = Instant.now().plus(refreshMargin);
+        synchronized (this) {
+            PresignedUrl cached = urlsByObjectKey.get(s3ObjectKey);
+            if (cached != null && cached.expiresAt().isAfter(freshUntil)) {
+                return cached.url();
+            }
+        }
+
+        PresignedUrl signed = signer.apply(s3ObjectKey);
+        synchronized (this) {
+            urlsByObjectKey.put(s3ObjectKey, signed);
+        }
+        return signed.url();
+    }
+
+    public synchronized void evict(String certificateId, String s3ObjectKey) {
+        objectKeysByCertificateId.remove(certificateId);
+        urlsByObjectKey.remove(s3ObjectKey);
+    }
+
+    private static <K, V> Map<K, V> boundedLruMap(int maxEntries) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+}
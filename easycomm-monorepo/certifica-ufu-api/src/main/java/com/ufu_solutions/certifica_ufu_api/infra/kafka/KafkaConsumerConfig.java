@@ -0,0 +1,37 @@
+package com.ufu_solutions.certifica_ufu_api.infra.kafka;
+
+import com.achcar_solutions.easycomm_core.infra.kafka.CertificateKafkaMessage;
+import com.achcar_solutions.easycomm_core.infra.kafka.CertificateKafkaMessageDeserializer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The API has no listeners; this factory only backs the short-lived consumers that read the dead-letter topic on
+ * demand. Offsets are committed explicitly, only after a redrive.
+ */
+@Configuration
+public class KafkaConsumerConfig {
+
+    public static final String DEAD_LETTER_GROUP_ID = "certificate-dlt-redrive";
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    @Bean
+    public ConsumerFactory<String, CertificateKafkaMessage> deadLetterConsumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, DEAD_LETTER_GROUP_ID);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), new CertificateKafkaMessageDeserializer());
+    }
+}
@@ -1,6 +1,7 @@
 package com.ufu_solutions.certifica_ufu_api.infra.kafka;
 
 import com.achcar_solutions.easycomm_core.infra.kafka.CertificateKafkaMessage;
+import com.achcar_solutions.easycomm_core.infra.kafka.CertificateKafkaMessageSerializer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,7 +10,6 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -20,16 +20,33 @@ public class KafkaProducerConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    // The outbox relay sends whole batches at once; lingering a little lets the producer pack them per partition.
+    @Value("${certificate.kafka.producer.linger-ms:20}")
+    private int lingerMs;
+
+    @Value("${certificate.kafka.producer.batch-size:65536}")
+    private int batchSize;
+
+    @Value("${certificate.kafka.producer.compression-type:lz4}")
+    private String compressionType;
+
+    // JSON until every processor reads the binary format; see CertificateKafkaMessageSerializer.
+    @Value("${certificate.kafka.message-format:JSON}")
+    private CertificateKafkaMessageSerializer.Format messageFormat;
+
     @Bean
     public ProducerFactory<String, CertificateKafkaMessage> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-
-        JsonSerializer<CertificateKafkaMessage> jsonSerializer = new JsonSerializer<>();
-        jsonSerializer.setAddTypeInfo(false);
-
-        return new DefaultKafkaProducerFactory<>(configProps, new StringSerializer(), jsonSerializer);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        // Retries after a timeout neither duplicate nor reorder messages of the same certificate.
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+
+        return new DefaultKafkaProducerFactory<>(configProps, new StringSerializer(), new CertificateKafkaMessageSerializer(messageFormat));
     }
 
     @Bean
@@ -1,19 +1,51 @@
 package com.ufu_solutions.certifica_ufu_api.infra.kafka;
 
+import com.achcar_solutions.easycomm_core.infra.kafka.CertificateTopics;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.KafkaAdmin;
 
 @Configuration
 public class KafkaTopicConfiguration {
-    public static final String CERTIFICATE_TOPIC = "certificates-to-process";
+    public static final String CERTIFICATE_TOPIC = CertificateTopics.CERTIFICATE_TOPIC;
+
+    // Upper bound for processor consumers (replicas x threads). KafkaAdmin only ever grows the partition count.
+    @Value("${certificate.kafka.partitions:12}")
+    private int partitions;
+
+    @Value("${certificate.kafka.replication-factor:1}")
+    private short replicationFactor;
+
+    // Retries and dead letters are a small fraction of the traffic; a few partitions are enough.
+    @Value("${certificate.kafka.retry-partitions:3}")
+    private int retryPartitions;
 
     @Bean
     public NewTopic certificatesToProcessTopic() {
         return TopicBuilder.name(CERTIFICATE_TOPIC)
-                .partitions(1)
-                .replicas(1)
+                .partitions(partitions)
+                .replicas(replicationFactor)
+                .build();
+    }
+
+    @Bean
+    public KafkaAdmin.NewTopics certificateRetryTopics() {
+        return new KafkaAdmin.NewTopics(CertificateTopics.RETRY_STAGES.stream()
+                .map(stage -> TopicBuilder.name(stage.topic())
+                        .partitions(retryPartitions)
+                        .replicas(replicationFactor)
+                        .build())
+                .toArray(NewTopic[]::new));
+    }
+
+    @Bean
+    public NewTopic certificatesDeadLetterTopic() {
+        return TopicBuilder.name(CertificateTopics.DEAD_LETTER_TOPIC)
+                .partitions(retryPartitions)
+                .replicas(replicationFactor)
                 .build();
     }
 }
@@ -0,0 +1,102 @@
+package com.ufu_solutions.certifica_ufu_api.infra.kafka;
+
+import com.achcar_solutions.easycomm_core.entities.outbox.OutboxEvent;
+import com.achcar_solutions.easycomm_core.infra.kafka.CertificateKafkaMessage;
+import com.achcar_solutions.easycomm_core.repositories.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes the outbox to Kafka. Each round claims a batch of the oldest events with a lease, sends all of them
+ * without waiting in between, so the producer packs them into a few compressed requests, and deletes the ones the
+ * broker acknowledged. Events that failed stay in the outbox and are picked up again when their lease expires.
+ * <p>
+ * Delivery is at-least-once: a relay that dies after sending but before deleting republishes the batch. The
+ * processor tolerates duplicates, since it only writes results onto certificates that are still PENDING.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, CertificateKafkaMessage> kafkaTemplate;
+    private final int batchSize;
+    private final Duration lease;
+    // One owner per API instance; the lease is what matters between instances, the owner only tells claims apart.
+    private final String leaseOwner = UUID.randomUUID().toString();
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       KafkaTemplate<String, CertificateKafkaMessage> kafkaTemplate,
+                       @Value("${certificate.outbox.batch-size:500}") int batchSize,
+                       @Value("${certificate.outbox.lease:PT30S}") Duration lease) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.batchSize = batchSize;
+        this.lease = lease;
+    }
+
+    /**
+     * Drains the outbox: keeps going while batches come back full, so a backlog does not wait one interval per batch.
+     */
+    @Scheduled(fixedDelayString = "${certificate.outbox.relay-interval:PT0.5S}")
+    public void relay() {
+        int published;
+        do {
+            published = relayBatch();
+        } while (published == batchSize);
+    }
+
+    /**
+     * Publishes one claimed batch and returns its size, or 0 when the batch was empty or some event failed.
+     */
+    int relayBatch() {
+        List<OutboxEvent> events = outboxEventRepository.claimBatch(leaseOwner, batchSize, lease);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, CompletableFuture<SendResult<String, CertificateKafkaMessage>>> sends = new LinkedHashMap<>();
+        for (OutboxEvent event : events) {
+            sends.put(event.getId(), kafkaTemplate.send(event.getTopic(), event.getKey(), event.getPayload()));
+        }
+        kafkaTemplate.flush();
+
+        List<String> delivered = new ArrayList<>(events.size());
+        sends.forEach((id, send) -> {
+            try {
+                send.get(lease.toMillis(), TimeUnit.MILLISECONDS);
+                delivered.add(id);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | TimeoutException e) {
+                logger.warn("Outbox event {} was not published; it will be retried after its lease: {}", id, e.getMessage());
+            }
+        });
+        outboxEventRepository.deleteAllById(delivered);
+
+        if (delivered.size() < events.size()) {
+            logger.warn("Outbox relay published {} of {} events.", delivered.size(), events.size());
+            // Stops the drain loop; whatever failed waits for its lease instead of spinning against a broken broker.
+            return 0;
+        }
+        logger.debug("Outbox relay published {} events.", delivered.size());
+        return events.size();
+    }
+}
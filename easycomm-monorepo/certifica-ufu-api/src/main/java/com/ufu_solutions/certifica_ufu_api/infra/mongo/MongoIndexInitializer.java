@@ -0,0 +1,77 @@
+package com.ufu_solutions.certifica_ufu_api.infra.mongo;
+
+import com.achcar_solutions.easycomm_core.entities.authuser.AuthUser;
+import com.achcar_solutions.easycomm_core.entities.certificate.Certificate;
+import com.achcar_solutions.easycomm_core.entities.opportunity.OpportunityApplication;
+import com.achcar_solutions.easycomm_core.entities.outbox.OutboxEvent;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates the indexes declared with {@code @Indexed}/{@code @CompoundIndex} on the entities the API owns.
+ * Spring Boot keeps automatic index creation disabled, so without this the annotations are only documentation.
+ * <p>
+ * A unique index cannot be created over documents that already repeat its keys (e.g. certificates saved before
+ * {@code createdBy_title_category_unique} existed). Removing data on startup is not this class's call, so the
+ * application fails with the index, the collection and the first repeated keys, and the duplicates are cleaned up by hand.
+ */
+@Component
+public class MongoIndexInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    private static final List<Class<?>> INDEXED_ENTITIES = List.of(Certificate.class, AuthUser.class, OpportunityApplication.class, OutboxEvent.class);
+    private static final int REPORTED_DUPLICATES = 10;
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoIndexInitializer(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void ensureIndexes() {
+        IndexResolver indexResolver = new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> entity : INDEXED_ENTITIES) {
+            IndexOperations indexOperations = mongoTemplate.indexOps(entity);
+            for (IndexDefinition index : indexResolver.resolveIndexFor(entity)) {
+                try {
+                    indexOperations.ensureIndex(index);
+                } catch (DuplicateKeyException e) {
+                    throw duplicatesFound(mongoTemplate.getCollectionName(entity), index, e);
+                }
+            }
+            logger.info("Indexes ensured for collection '{}'.", mongoTemplate.getCollectionName(entity));
+        }
+    }
+
+    private IllegalStateException duplicatesFound(String collection, IndexDefinition index, DuplicateKeyException cause) {
+        String[] keys = index.getIndexKeys().keySet().toArray(String[]::new);
+        Aggregation duplicates = Aggregation.newAggregation(
+                Aggregation.group(keys).count().as("count"),
+                Aggregation.match(Criteria.where("count").gt(1)),
+                Aggregation.sort(Sort.Direction.DESC, "count"),
+                Aggregation.limit(REPORTED_DUPLICATES))
+                .withOptions(Aggregation.newAggregationOptions().allowDiskUse(true).build());
+        List<Document> examples = mongoTemplate.aggregate(duplicates, collection, Document.class).getMappedResults();
+        return new IllegalStateException(("Cannot create unique index '%s' on collection '%s': existing documents repeat %s. "
+                + "Keep one document per key (rename or delete the others) and restart. First repeated keys: %s")
+                .formatted(index.getIndexOptions().get("name"), collection, index.getIndexKeys().toJson(),
+                        examples.stream().map(Document::toJson).toList()), cause);
+    }
+}
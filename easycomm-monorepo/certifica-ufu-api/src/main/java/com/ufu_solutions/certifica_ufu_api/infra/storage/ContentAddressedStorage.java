@@ -0,0 +1,122 @@
+package com.ufu_solutions.certifica_ufu_api.infra.storage;
+
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificatePreviews;
+import com.achcar_solutions.easycomm_core.entities.extraction.ExtractionCacheEntry;
+import com.achcar_solutions.easycomm_core.entities.storage.StoredBlob;
+import com.achcar_solutions.easycomm_core.infra.hash.ContentHashes;
+import com.achcar_solutions.easycomm_core.infra.ports.StoragePort;
+import com.achcar_solutions.easycomm_core.repositories.ExtractionCacheRepository;
+import com.achcar_solutions.easycomm_core.repositories.StoredBlobRepository;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Armazenamento endereçado por conteúdo em cima do {@link StoragePort}. Arquivos byte a byte idênticos (o mesmo
+ * certificado de evento enviado por muitos alunos) viram um único objeto em {@code blobs/<sha256>/...}, com a contagem
+ * de referências no Mongo ({@link StoredBlob}); o objeto só é apagado quando o último certificado que o usa é apagado,
+ * junto com o que o processador derivou do mesmo conteúdo: a extração em {@code extraction_cache} e as miniaturas em
+ * {@code previews/<sha256>/}.
+ * <p>
+ * O hash só é conhecido depois que o arquivo passou, então o envio vai primeiro para uma chave temporária em
+ * {@code staging/} com o hash calculado no mesmo passe. Conteúdo novo é copiado do staging dentro do próprio bucket;
+ * conteúdo repetido não é copiado. Nos dois casos o objeto temporário é apagado em seguida.
+ */
+@Component
+public class ContentAddressedStorage {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentAddressedStorage.class);
+
+    private static final String BLOB_PREFIX = "blobs/";
+    private static final String STAGING_PREFIX = "staging/";
+
+    private final StoragePort storagePort;
+    private final StoredBlobRepository storedBlobRepository;
+    private final ExtractionCacheRepository extractionCacheRepository;
+
+    public ContentAddressedStorage(StoragePort storagePort, StoredBlobRepository storedBlobRepository,
+                                   ExtractionCacheRepository extractionCacheRepository) {
+        this.storagePort = storagePort;
+        this.storedBlobRepository = storedBlobRepository;
+        this.extractionCacheRepository = extractionCacheRepository;
+    }
+
+    public static boolean isContentAddressed(String objectKey) {
+        return objectKey != null && objectKey.startsWith(BLOB_PREFIX);
+    }
+
+    /**
+     * Stores the stream and returns the shared object it now lives in, holding one reference to it. The stream is read
+     * exactly {@code contentLength} bytes and is not closed.
+     */
+    public StoredObject store(InputStream inputStream, long contentLength, String contentType, String extension) {
+        String stagingKey = STAGING_PREFIX + UUID.randomUUID() + extension;
+        MessageDigest digest = ContentHashes.newDigest();
+        storagePort.uploadFile(new DigestInputStream(inputStream, digest), contentLength, stagingKey, contentType);
+        String contentHash = ContentHashes.toHex(digest);
+
+        try {
+            String candidateKey = BLOB_PREFIX + contentHash + "/" + new ObjectId().toHexString() + extension;
+            StoredBlob blob = storedBlobRepository.acquire(contentHash, candidateKey, contentLength, contentType);
+            try {
+                // The first reference creates the object. Later ones only check it is there, which covers a first
+                // uploader that is still copying or that failed and released its reference.
+                boolean firstReference = blob.getRefCount() == 1;
+                if (firstReference || storagePort.getFileMetadata(blob.getObjectKey()).isEmpty()) {
+                    storagePort.copyFile(stagingKey, blob.getObjectKey());
+                } else {
+                    logger.info("Conteúdo {} já armazenado ({} referências); upload deduplicado.", contentHash, blob.getRefCount());
+                }
+            } catch (RuntimeException exception) {
+                release(contentHash);
+                throw exception;
+            }
+            return new StoredObject(blob.getObjectKey(), contentHash, storagePort.getFileUrl(blob.getObjectKey()));
+        } finally {
+            storagePort.deleteFile(stagingKey);
+        }
+    }
+
+    /**
+     * Drops one reference to the content and deletes the object, its previews and its cached extraction once nothing
+     * references it anymore.
+     */
+    public void release(String contentHash) {
+        Optional<StoredBlob> released = storedBlobRepository.release(contentHash);
+        if (released.isEmpty()) {
+            logger.warn("Nenhuma referência ao conteúdo {} para liberar.", contentHash);
+            return;
+        }
+        StoredBlob blob = released.get();
+        if (blob.getRefCount() <= 0 && storedBlobRepository.deleteIfUnreferenced(contentHash, blob.getObjectKey())) {
+            storagePort.deleteFile(blob.getObjectKey());
+            deleteDerivedData(contentHash);
+            logger.info("Última referência ao conteúdo {} liberada; objeto {} apagado.", contentHash, blob.getObjectKey());
+        }
+    }
+
+    // As miniaturas vão antes da entrada: se algo falhar no meio, sobra uma entrada apontando para chaves apagadas, que
+    // o processador detecta e regenera, e nunca miniaturas que nada mais referencia.
+    private void deleteDerivedData(String contentHash) {
+        Optional<ExtractionCacheEntry> entry = extractionCacheRepository.findById(contentHash);
+        if (entry.isEmpty()) {
+            return;
+        }
+        CertificatePreviews previews = entry.get().getPreviews();
+        if (previews != null) {
+            storagePort.deleteFile(previews.thumbnailKey());
+            storagePort.deleteFile(previews.previewKey());
+        }
+        extractionCacheRepository.deleteById(contentHash);
+    }
+
+    public record StoredObject(String objectKey, String contentHash, String url) {
+    }
+}
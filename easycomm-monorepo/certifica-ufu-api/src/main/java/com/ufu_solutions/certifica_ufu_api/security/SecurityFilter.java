@@ -1,14 +1,14 @@
 package com.ufu_solutions.certifica_ufu_api.security;
 
+import com.achcar_solutions.easycomm_core.entities.authuser.AuthUser;
 import com.achcar_solutions.easycomm_core.repositories.AuthUserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -17,24 +17,54 @@ import java.io.IOException;
 @Component
 public class SecurityFilter extends OncePerRequestFilter {
 
-    @Autowired
-    TokenService tokenService;
+    private final TokenService tokenService;
+    private final AuthUserRepository authUserRepository;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final boolean stateless;
 
-    @Autowired
-    AuthUserRepository authUserRepository;
+    public SecurityFilter(TokenService tokenService,
+                          AuthUserRepository authUserRepository,
+                          TokenRevocationRegistry tokenRevocationRegistry,
+                          @Value("${api.security.authentication-mode:stateless}") String authenticationMode) {
+        this.tokenService = tokenService;
+        this.authUserRepository = authUserRepository;
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+        this.stateless = "stateless".equalsIgnoreCase(authenticationMode);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         var token = this.recoverToken(request);
-        if(token != null) {
-            var email = tokenService.validateToken(token);
-            UserDetails userDetails = authUserRepository.findByEmail(email);
-            var authenticationToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-            SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+        if (token != null) {
+            tokenService.verifyToken(token).ifPresent(claims -> {
+                AuthUser principal = stateless ? statelessPrincipal(claims) : databasePrincipal(claims);
+                if (principal != null) {
+                    var authenticationToken = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+                    SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+                }
+            });
         }
         filterChain.doFilter(request, response);
     }
 
+    // The principal and its authorities come from the verified claims; the database is only read when the
+    // revocation registry cannot answer.
+    private AuthUser statelessPrincipal(TokenClaims claims) {
+        boolean revoked = tokenRevocationRegistry.isRevoked(claims.email(), claims.version())
+                .orElseGet(() -> authUserRepository.findTokenVersion(claims.email())
+                        .map(currentVersion -> claims.version() < currentVersion)
+                        .orElse(true));
+        return revoked ? null : claims.toPrincipal();
+    }
+
+    private AuthUser databasePrincipal(TokenClaims claims) {
+        AuthUser authUser = (AuthUser) authUserRepository.findByEmail(claims.email());
+        if (authUser == null || claims.version() < authUser.currentTokenVersion()) {
+            return null;
+        }
+        return authUser;
+    }
+
     private String recoverToken(HttpServletRequest request) {
         var authHeader = request.getHeader("Authorization");
         if (authHeader == null) return null;
@@ -0,0 +1,22 @@
+package com.ufu_solutions.certifica_ufu_api.security;
+
+import com.achcar_solutions.easycomm_core.entities.authuser.AuthUser;
+import com.achcar_solutions.easycomm_core.entities.authuser.UserRole;
+
+/**
+ * Verified claims of a JWT, enough to authenticate a request without loading the user.
+ */
+public record TokenClaims(String email, String name, UserRole role, long version) {
+
+    /**
+     * Principal carrying only what the token asserts. It has no id or password; code that needs them must load the user.
+     */
+    public AuthUser toPrincipal() {
+        return AuthUser.builder()
+                .email(email)
+                .name(name)
+                .role(role)
+                .tokenVersion(version)
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.ufu_solutions.certifica_ufu_api.security;
+
+import com.achcar_solutions.easycomm_core.entities.authuser.AuthUser;
+import com.achcar_solutions.easycomm_core.repositories.AuthUserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory view of the users whose token version changed within the token lifetime. Only those users can still
+ * hold a token with an outdated version, so the set stays small and a token can be checked without a database read.
+ * The view is refreshed periodically; revocations made by other replicas take effect within one refresh interval.
+ */
+@Component
+public class TokenRevocationRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationRegistry.class);
+
+    private final AuthUserRepository authUserRepository;
+    private final TokenService tokenService;
+    private final int maxEntries;
+
+    // Replaced as a whole on every refresh, so readers never see a half-built map.
+    private volatile Snapshot snapshot = Snapshot.UNAVAILABLE;
+
+    public TokenRevocationRegistry(AuthUserRepository authUserRepository,
+                                   TokenService tokenService,
+                                   @Value("${api.security.token.revocation.max-entries:10000}") int maxEntries) {
+        this.authUserRepository = authUserRepository;
+        this.tokenService = tokenService;
+        this.maxEntries = maxEntries;
+    }
+
+    @Scheduled(fixedDelayString = "${api.security.token.revocation.refresh-interval:PT30S}")
+    public synchronized void refresh() {
+        LocalDateTime since = LocalDateTime.now().minus(tokenService.getTokenTtl());
+        List<AuthUser> changedUsers = authUserRepository.findTokenVersionsChangedSince(since, maxEntries + 1);
+        if (changedUsers.size() > maxEntries) {
+            logger.warn("More than {} users had their tokens revoked recently; falling back to database checks.", maxEntries);
+            snapshot = Snapshot.UNAVAILABLE;
+            return;
+        }
+
+        Map<String, Long> minimumVersions = new HashMap<>(changedUsers.size());
+        for (AuthUser user : changedUsers) {
+            minimumVersions.put(user.getEmail(), user.currentTokenVersion());
+        }
+        snapshot = new Snapshot(Map.copyOf(minimumVersions), true);
+    }
+
+    /**
+     * Makes a revocation done by this replica effective here immediately, without waiting for the next refresh.
+     */
+    public synchronized void recordRevocation(String email, long newVersion) {
+        Snapshot current = snapshot;
+        if (!current.available()) {
+            return;
+        }
+        Map<String, Long> minimumVersions = new HashMap<>(current.minimumVersions());
+        minimumVersions.merge(email, newVersion, Math::max);
+        snapshot = new Snapshot(Map.copyOf(minimumVersions), true);
+    }
+
+    /**
+     * Whether a token with this version was revoked, or empty if the registry is not loaded (or overflowed) and the
+     * caller has to ask the database.
+     */
+    public Optional<Boolean> isRevoked(String email, long tokenVersion) {
+        Snapshot current = snapshot;
+        if (!current.available()) {
+            return Optional.empty();
+        }
+        Long minimumVersion = current.minimumVersions().get(email);
+        return Optional.of(minimumVersion != null && tokenVersion < minimumVersion);
+    }
+
+    private record Snapshot(Map<String, Long> minimumVersions, boolean available) {
+        static final Snapshot UNAVAILABLE = new Snapshot(Map.of(), false);
+    }
+}
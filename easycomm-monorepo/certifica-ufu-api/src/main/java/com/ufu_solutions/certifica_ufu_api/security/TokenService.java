@@ -1,31 +1,50 @@
 package com.ufu_solutions.certifica_ufu_api.security;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.achcar_solutions.easycomm_core.entities.authuser.AuthUser;
+import com.achcar_solutions.easycomm_core.entities.authuser.UserRole;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.util.Optional;
 
 @Service
 public class TokenService {
 
-    @Value("${api.security.token.secret}")
-    private String apiSecret;
+    private static final String ISSUER = "certifica-ufu";
+    static final String ROLE_CLAIM = "role";
+    static final String NAME_CLAIM = "name";
+    static final String VERSION_CLAIM = "ver";
+
+    // Algorithm and verifier are immutable and thread-safe, so they are built once instead of on every request.
+    private final Algorithm encryptionAlgorithm;
+    private final JWTVerifier verifier;
+    private final Duration tokenTtl;
+
+    public TokenService(@Value("${api.security.token.secret}") String apiSecret,
+                        @Value("${api.security.token.ttl:PT2H}") Duration tokenTtl) {
+        this.encryptionAlgorithm = Algorithm.HMAC256(apiSecret);
+        this.verifier = JWT.require(encryptionAlgorithm)
+                .withIssuer(ISSUER)
+                .build();
+        this.tokenTtl = tokenTtl;
+    }
 
     public String generateToken(AuthUser authUser) {
         try {
-            Algorithm encryptionAlgorithm = Algorithm.HMAC256(apiSecret);
             String token = JWT.create()
-                    .withIssuer("certifica-ufu")
+                    .withIssuer(ISSUER)
                     .withSubject(authUser.getEmail())
-                    .withClaim("role", authUser.getRole().name())
-                    .withClaim("name", authUser.getName())
+                    .withClaim(ROLE_CLAIM, authUser.getRole().name())
+                    .withClaim(NAME_CLAIM, authUser.getName())
+                    .withClaim(VERSION_CLAIM, authUser.currentTokenVersion())
                     .withExpiresAt(generateExpirationDate())
                     .sign(encryptionAlgorithm);
             return token;
@@ -34,21 +53,36 @@ public class TokenService {
         }
     }
 
+    public Duration getTokenTtl() {
+        return tokenTtl;
+    }
+
     private Instant generateExpirationDate() {
-        return LocalDateTime.now().plusHours(2).toInstant(ZoneOffset.of("-03:00"));
+        return Instant.now().plus(tokenTtl);
     }
 
     public String validateToken(String token) {
+        return verifyToken(token).map(TokenClaims::email).orElse("");
+    }
+
+    /**
+     * Verifies signature, issuer and expiration and returns the claims the principal is built from.
+     * Tokens issued before the version claim existed are read as version 0.
+     */
+    public Optional<TokenClaims> verifyToken(String token) {
         try {
-            Algorithm encryptionAlgorithm = Algorithm.HMAC256(apiSecret);
-            return JWT.require(encryptionAlgorithm)
-                    .withIssuer("certifica-ufu")
-                    .build()
-                    .verify(token)
-                    .getSubject();
-        }catch (JWTVerificationException exception) {
-            return "";
+            DecodedJWT decodedToken = verifier.verify(token);
+            String role = decodedToken.getClaim(ROLE_CLAIM).asString();
+            Long version = decodedToken.getClaim(VERSION_CLAIM).asLong();
+            if (decodedToken.getSubject() == null || role == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new TokenClaims(decodedToken.getSubject(),
+                    decodedToken.getClaim(NAME_CLAIM).asString(),
+                    UserRole.valueOf(role),
+                    version == null ? 0L : version));
+        } catch (JWTVerificationException | IllegalArgumentException exception) {
+            return Optional.empty();
         }
-
     }
 }
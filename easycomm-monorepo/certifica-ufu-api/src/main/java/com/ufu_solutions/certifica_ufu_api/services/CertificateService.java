@@ -1,24 +1,53 @@
 package com.ufu_solutions.certifica_ufu_api.services;
 
 import com.achcar_solutions.easycomm_core.entities.certificate.Certificate;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateBulkValidationRequest;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateBulkValidationResponse;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateCategory;
 import com.achcar_solutions.easycomm_core.entities.certificate.CertificateCreationRequest;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificatePreviews;
 import com.achcar_solutions.easycomm_core.entities.certificate.CertificateStatus;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateSummary;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateUploadRequest;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateUploadResponse;
 import com.achcar_solutions.easycomm_core.entities.certificate.CertificateValidationRequest;
-import com.achcar_solutions.easycomm_core.infra.kafka.CertificateKafkaMessage;
-import com.ufu_solutions.certifica_ufu_api.infra.kafka.KafkaTopicConfiguration;
+import com.achcar_solutions.easycomm_core.entities.outbox.OutboxEvent;
+import com.achcar_solutions.easycomm_core.entities.pagination.CursorPage;
+import com.achcar_solutions.easycomm_core.infra.ports.PresignedUrl;
+import com.achcar_solutions.easycomm_core.infra.ports.StoredFileMetadata;
+import com.ufu_solutions.certifica_ufu_api.infra.cache.PresignedUrlCache;
+import com.ufu_solutions.certifica_ufu_api.infra.storage.ContentAddressedStorage;
 import com.achcar_solutions.easycomm_core.infra.ports.StoragePort;
 import com.achcar_solutions.easycomm_core.repositories.CertificateRepository;
+import com.achcar_solutions.easycomm_core.repositories.OutboxEventRepository;
+import org.bson.types.ObjectId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class CertificateService {
@@ -26,17 +55,39 @@ public class CertificateService {
     private static final Logger logger = LoggerFactory.getLogger(CertificateService.class);
     private final CertificateRepository certificateRepository;
     private final StoragePort storagePort;
-    private final KafkaTemplate<String, CertificateKafkaMessage> kafkaTemplate;
+    private final ContentAddressedStorage contentAddressedStorage;
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final PresignedUrlCache presignedUrlCache;
+    private final Duration uploadUrlExpiration;
+    private final Duration viewUrlExpiration;
 
     private static final List<String> ALLOWED_FILE_TYPES = List.of("application/pdf", "image/png", "image/jpeg");
     private static final long MAX_FILE_SIZE = 15 * 1024 * 1024; // 15 MB
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int RESERVATION_SWEEP_BATCH_SIZE = 100;
+    private static final String API_FILE_PATH = "/certificate/%s/file";
+    // PENDING_UPLOAD is left out: there is no file to review yet.
+    private static final Set<CertificateStatus> REVIEWABLE_STATUSES =
+            Set.of(CertificateStatus.PENDING, CertificateStatus.APPROVED, CertificateStatus.DENIED);
 
     public CertificateService(CertificateRepository certificateRepository,
                               StoragePort storagePort,
-                              KafkaTemplate<String, CertificateKafkaMessage> kafkaTemplate) {
+                              ContentAddressedStorage contentAddressedStorage,
+                              OutboxEventRepository outboxEventRepository,
+                              TransactionTemplate transactionTemplate,
+                              PresignedUrlCache presignedUrlCache,
+                              @Value("${certificate.upload.presigned-url-expiration:PT15M}") Duration uploadUrlExpiration,
+                              @Value("${certificate.view-url.expiration:PT15M}") Duration viewUrlExpiration) {
         this.certificateRepository = certificateRepository;
         this.storagePort = storagePort;
-        this.kafkaTemplate = kafkaTemplate;
+        this.contentAddressedStorage = contentAddressedStorage;
+        this.outboxEventRepository = outboxEventRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.presignedUrlCache = presignedUrlCache;
+        this.uploadUrlExpiration = uploadUrlExpiration;
+        this.viewUrlExpiration = viewUrlExpiration;
     }
 
     public Certificate createCertificate(CertificateCreationRequest request, MultipartFile file) {
@@ -45,13 +96,6 @@ public class CertificateService {
 
         logger.info("Received request to create certificate '{}' for user '{}'", request.title(), currentUserEmail);
 
-        // 2. Usamos o email do usuário logado para a verificação de duplicidade.
-        var maybeExistentCertificate = certificateRepository.findByCreatedByAndTitleAndCategory(currentUserEmail, request.title(), request.category());
-        if (maybeExistentCertificate.isPresent()) {
-            logger.warn("Certificate creation blocked: A certificate with the same title and category already exists for this user.");
-            throw new RuntimeException("Certificate already exists for the given user, title, and category.");
-        }
-
         validateCertificate(file);
         logger.info("File validation successful.");
 
@@ -59,126 +103,404 @@ public class CertificateService {
             String originalFileName = file.getOriginalFilename();
             assert originalFileName != null;
             String fileType = originalFileName.substring(originalFileName.lastIndexOf("."));
-            String s3ObjectKey = UUID.randomUUID() + fileType;
 
             logger.info("Uploading file to S3 storage...");
-            String fileUrl = storagePort.uploadFile(file.getBytes(), s3ObjectKey, fileType);
-            logger.info("File uploaded successfully. URL: {}", fileUrl);
+            // O arquivo é enviado em streaming: o heap nunca guarda o conteúdo inteiro do upload. O hash do conteúdo
+            // é calculado no mesmo passe; arquivos idênticos compartilham um único objeto e a mesma extração no processador.
+            ContentAddressedStorage.StoredObject storedObject;
+            try (InputStream fileStream = file.getInputStream()) {
+                storedObject = contentAddressedStorage.store(fileStream, file.getSize(), file.getContentType(), fileType);
+            }
+            logger.info("File uploaded successfully. URL: {}", storedObject.url());
 
             Certificate certificate = Certificate.builder()
-                    // 3. DEFINIMOS MANUALMENTE o createdBy com o usuário que pegamos do token.
+                    // 2. DEFINIMOS MANUALMENTE o createdBy com o usuário que pegamos do token.
                     .createdBy(currentUserEmail)
                     .createdDate(LocalDateTime.now())
                     .title(request.title())
                     .category(request.category())
                     .durationInHours(request.durationInHours())
                     .expirationDate(request.expirationDate())
-                    .fileUrl(fileUrl)
+                    .fileUrl(storedObject.url())
                     .fileName(originalFileName)
                     .fileType(fileType)
-                    .s3ObjectKey(s3ObjectKey)
+                    .fileSize(file.getSize())
+                    .contentHash(storedObject.contentHash())
+                    .s3ObjectKey(storedObject.objectKey())
                     .status(CertificateStatus.PENDING)
                     .build();
 
             logger.info("Saving certificate metadata to the database...");
-            // Usamos .save() que é a prática recomendada.
-            Certificate savedCertificate = certificateRepository.save(certificate);
-            logger.info("Certificate metadata saved with ID: {}", savedCertificate.getId());
-
-            CertificateKafkaMessage kafkaMessage = new CertificateKafkaMessage(savedCertificate.getId(), savedCertificate.getS3ObjectKey());
-            kafkaTemplate.send(KafkaTopicConfiguration.CERTIFICATE_TOPIC, kafkaMessage);
-            logger.info("Message successfully sent to Kafka.");
+            // 3. A duplicidade (usuário, título, categoria) é barrada pelo índice único no próprio insert.
+            // O certificado e o evento para o processador são gravados na mesma transação: ou os dois existem, ou nenhum.
+            Certificate savedCertificate;
+            try {
+                savedCertificate = transactionTemplate.execute(status -> {
+                    Certificate inserted = certificateRepository.insert(certificate);
+                    outboxEventRepository.insert(OutboxEvent.certificateToProcess(inserted));
+                    return inserted;
+                });
+            } catch (DuplicateKeyException exception) {
+                logger.warn("Certificate creation blocked: A certificate with the same title and category already exists for this user.");
+                contentAddressedStorage.release(storedObject.contentHash());
+                throw new RuntimeException("Certificate already exists for the given user, title, and category.", exception);
+            } catch (RuntimeException exception) {
+                // Qualquer outra falha na transação (Mongo indisponível, commit abortado) também deixa a referência
+                // ao conteúdo sem certificado; ela é devolvida antes de propagar o erro.
+                logger.error("Certificate creation failed after the file was stored; releasing the content reference.", exception);
+                contentAddressedStorage.release(storedObject.contentHash());
+                throw exception;
+            }
+            logger.info("Certificate metadata saved with ID: {}; processing event queued in the outbox.", savedCertificate.getId());
 
             return savedCertificate;
 
         } catch (IOException exception) {
-            logger.error("Error reading file bytes during upload", exception);
+            logger.error("Error streaming file during upload", exception);
             throw new RuntimeException("Error uploading file to storage: " + exception.getMessage(), exception);
         }
     }
 
-    public List<Certificate> getAllCertificates() {
-        logger.info("Request received to get all certificates.");
-        return certificateRepository.findAll();
+    /**
+     * First phase of the direct upload: reserves the certificate in PENDING_UPLOAD and signs a PUT
+     * so the file bytes go straight to the storage instead of through the API.
+     */
+    public CertificateUploadResponse reserveCertificateUpload(CertificateUploadRequest request) {
+        String currentUserEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+
+        logger.info("Received request to reserve direct upload of certificate '{}' for user '{}'", request.title(), currentUserEmail);
+
+        // Checked before the insert: a reservation nobody can upload to would hold the unique key until the sweep.
+        if (!storagePort.supportsDirectUpload()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Upload direto não está disponível neste ambiente; envie o arquivo por POST /certificate.");
+        }
+
+        validateFile(request.fileSize(), request.contentType());
+
+        String originalFileName = request.fileName();
+        if (originalFileName.lastIndexOf(".") < 0) {
+            throw new IllegalArgumentException("O nome do arquivo precisa ter uma extensão.");
+        }
+        String fileType = originalFileName.substring(originalFileName.lastIndexOf("."));
+        String s3ObjectKey = UUID.randomUUID() + fileType;
+
+        Certificate certificate = Certificate.builder()
+                .createdBy(currentUserEmail)
+                .createdDate(LocalDateTime.now())
+                .title(request.title())
+                .category(request.category())
+                .durationInHours(request.durationInHours())
+                .expirationDate(request.expirationDate())
+                .fileUrl(storagePort.getFileUrl(s3ObjectKey))
+                .fileName(originalFileName)
+                .fileType(fileType)
+                .fileSize(request.fileSize())
+                .s3ObjectKey(s3ObjectKey)
+                .status(CertificateStatus.PENDING_UPLOAD)
+                .build();
+        Certificate savedCertificate;
+        try {
+            savedCertificate = certificateRepository.insert(certificate);
+        } catch (DuplicateKeyException exception) {
+            logger.warn("Upload reservation blocked: A certificate with the same title and category already exists for this user.");
+            throw new RuntimeException("Certificate already exists for the given user, title, and category.", exception);
+        }
+
+        PresignedUrl uploadUrl = storagePort.generatePresignedUploadUrl(s3ObjectKey, request.contentType(), request.fileSize(), uploadUrlExpiration);
+        logger.info("Certificate {} reserved for direct upload with key {}.", savedCertificate.getId(), s3ObjectKey);
+
+        return new CertificateUploadResponse(savedCertificate.getId(), s3ObjectKey, uploadUrl.url(), uploadUrl.expiresAt());
+    }
+
+    /**
+     * Second phase of the direct upload: checks that the object really landed in the storage with the
+     * declared size, moves the certificate to PENDING and hands it to the processing queue.
+     */
+    public Certificate completeCertificateUpload(String id) {
+        logger.info("Request received to complete direct upload of certificate ID: {}", id);
+        Certificate certificate = getCertificateById(id);
+
+        String currentUserEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+        if (!currentUserEmail.equals(certificate.getCreatedBy())) {
+            throw new AccessDeniedException("Only the owner can complete the upload of certificate " + id);
+        }
+
+        if (certificate.getStatus() != CertificateStatus.PENDING_UPLOAD) {
+            throw new IllegalStateException("Certificate " + id + " is not waiting for an upload.");
+        }
+
+        StoredFileMetadata metadata = storagePort.getFileMetadata(certificate.getS3ObjectKey())
+                .orElseThrow(() -> new IllegalStateException("O arquivo do certificado " + id + " ainda não foi enviado."));
+
+        if (metadata.contentLength() != certificate.getFileSize() || metadata.contentLength() > MAX_FILE_SIZE) {
+            logger.warn("Uploaded object {} has {} bytes but {} were declared. Discarding it and the reservation.",
+                    metadata.s3ObjectKey(), metadata.contentLength(), certificate.getFileSize());
+            // The reservation goes too: otherwise it keeps holding the (user, title, category) unique key with no
+            // way to upload again.
+            deleteUploadReservation(certificate);
+            throw new IllegalArgumentException("O arquivo enviado não corresponde ao tamanho declarado.");
+        }
+
+        // Conditional on PENDING_UPLOAD, so two concurrent completions cannot both enqueue the certificate.
+        Certificate savedCertificate = transactionTemplate.execute(status -> {
+            Certificate transitioned = certificateRepository.transitionStatus(id, CertificateStatus.PENDING_UPLOAD, CertificateStatus.PENDING)
+                    .orElseThrow(() -> new IllegalStateException("Certificate " + id + " is not waiting for an upload."));
+            outboxEventRepository.insert(OutboxEvent.certificateToProcess(transitioned));
+            return transitioned;
+        });
+        logger.info("Direct upload of certificate {} completed; processing event queued in the outbox.", id);
+
+        return savedCertificate;
+    }
+
+    /**
+     * Deletes direct-upload reservations that were never completed once their upload URL has expired, so an abandoned
+     * upload does not hold the (user, title, category) unique key forever.
+     */
+    @Scheduled(fixedDelayString = "${certificate.upload.reservation-sweep-interval:PT5M}")
+    public void deleteExpiredUploadReservations() {
+        LocalDateTime createdBefore = LocalDateTime.now().minus(uploadUrlExpiration);
+        int deleted = 0;
+        List<Certificate> reservations;
+        do {
+            reservations = certificateRepository.findUploadReservationsCreatedBefore(createdBefore, RESERVATION_SWEEP_BATCH_SIZE);
+            for (Certificate reservation : reservations) {
+                if (deleteUploadReservation(reservation)) {
+                    deleted++;
+                }
+            }
+        } while (reservations.size() == RESERVATION_SWEEP_BATCH_SIZE);
+        if (deleted > 0) {
+            logger.info("Deleted {} expired upload reservations.", deleted);
+        }
+    }
+
+    // Conditional on PENDING_UPLOAD: a reservation completed in the meantime is left alone, object included.
+    private boolean deleteUploadReservation(Certificate reservation) {
+        if (!certificateRepository.deleteIfStatus(reservation.getId(), CertificateStatus.PENDING_UPLOAD)) {
+            return false;
+        }
+        storagePort.deleteFile(reservation.getS3ObjectKey());
+        presignedUrlCache.evict(reservation.getId(), reservation.getS3ObjectKey());
+        return true;
+    }
+
+    public CursorPage<CertificateSummary> getAllCertificates(CertificateStatus status, CertificateCategory category,
+                                                             String cursor, Integer pageSize) {
+        logger.info("Request received to list certificates (status: {}, category: {}).", status, category);
+        return certificateRepository.findSummaries(null, status, category, cursor, resolvePageSize(pageSize));
     }
 
     public Certificate getCertificateById(String id) {
         logger.info("Request received to get certificate by ID: {}", id);
         return certificateRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Certificate not found with id: " + id));
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Certificate not found with id: " + id));
     }
 
     public void deleteCertificate(String id) {
         logger.info("Request received to delete certificate by ID: {}", id);
-        Certificate certificate = getCertificateById(id);
-
-        logger.info("Deleting file from S3 with key: {}", certificate.getS3ObjectKey());
-        storagePort.deleteFile(certificate.getS3ObjectKey());
-        logger.info("File successfully deleted from S3.");
-
-        certificateRepository.delete(certificate);
+        // O documento sai primeiro, numa operação atômica: só quem de fato o removeu libera o arquivo. Um delete pela
+        // entidade falharia com o @Version se o processor gravasse no meio, com a referência já liberada.
+        Certificate certificate = certificateRepository.findAndDeleteById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Certificate not found with id: " + id));
         logger.info("Certificate with id: {} successfully deleted from database.", id);
+
+        if (ContentAddressedStorage.isContentAddressed(certificate.getS3ObjectKey())) {
+            // Conteúdo compartilhado: o objeto só some quando o último certificado que o usa for apagado.
+            contentAddressedStorage.release(certificate.getContentHash());
+        } else {
+            logger.info("Deleting file from S3 with key: {}", certificate.getS3ObjectKey());
+            storagePort.deleteFile(certificate.getS3ObjectKey());
+            logger.info("File successfully deleted from S3.");
+        }
+        presignedUrlCache.evict(id, certificate.getS3ObjectKey());
     }
 
     private void validateCertificate(MultipartFile file) {
-        if (file.isEmpty()) {
+        validateFile(file.getSize(), file.getContentType());
+    }
+
+    private void validateFile(long fileSize, String contentType) {
+        if (fileSize <= 0) {
             throw new IllegalArgumentException("O arquivo não pode estar vazio.");
         }
 
-        if (file.getSize() > MAX_FILE_SIZE) {
+        if (fileSize > MAX_FILE_SIZE) {
             throw new IllegalArgumentException("O arquivo excede o tamanho máximo de 5 MB.");
         }
 
-        if (!ALLOWED_FILE_TYPES.contains(file.getContentType())) {
+        if (!ALLOWED_FILE_TYPES.contains(contentType)) {
             throw new IllegalArgumentException("Tipo de arquivo inválido. Apenas PDFs e imagens (PNG/JPG) são permitidos.");
         }
     }
 
     public Certificate validateCertificate(String id, CertificateValidationRequest request) {
-        // Find the certificate or throw an exception if not found.
-        Certificate certificate = getCertificateById(id);
-
         // Get the email of the admin performing the validation.
         String validatorId = SecurityContextHolder.getContext().getAuthentication().getName();
 
         // Validate the request data.
-        if (request.status() == CertificateStatus.DENIED && (request.rejectionReason() == null || request.rejectionReason().isBlank())) {
-            throw new IllegalArgumentException("Rejection reason is mandatory when denying a certificate.");
+        validateDecision(request.status(), request.rejectionReason());
+
+        // Only the validation fields are written, and only if the certificate is reviewable (and, when the client
+        // sent one, still at the version it was looking at). The reason is cleared on approval.
+        String rejectionReason = request.status() == CertificateStatus.DENIED ? request.rejectionReason() : null;
+        return certificateRepository.applyValidation(id, REVIEWABLE_STATUSES, request.version(), request.status(),
+                        rejectionReason, validatorId, LocalDateTime.now())
+                .orElseThrow(() -> validationConflict(id, request.version()));
+    }
+
+    // Tells apart why a conditional validation matched nothing; only runs on the failure path.
+    private RuntimeException validationConflict(String id, Long expectedVersion) {
+        Certificate certificate = getCertificateById(id);
+        if (!REVIEWABLE_STATUSES.contains(certificate.getStatus())) {
+            return new IllegalStateException("Certificate " + id + " cannot be validated while " + certificate.getStatus() + ".");
+        }
+        return new OptimisticLockingFailureException("Certificate " + id + " changed since version " + expectedVersion + ".");
+    }
+
+    /**
+     * Applies one decision to many certificates with a single bulk write. Only certificates that are still PENDING
+     * are touched; the outcome of every requested id is reported back in request order.
+     */
+    public CertificateBulkValidationResponse validateCertificates(CertificateBulkValidationRequest request) {
+        validateDecision(request.status(), request.rejectionReason());
+
+        String validatorId = SecurityContextHolder.getContext().getAuthentication().getName();
+        // Mongo keeps milliseconds, so the timestamp is truncated to be comparable with what is read back.
+        LocalDateTime validationTimestamp = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        String rejectionReason = request.status() == CertificateStatus.DENIED ? request.rejectionReason() : null;
+
+        Set<String> requestedIds = new LinkedHashSet<>(request.ids());
+        List<String> validIds = requestedIds.stream().filter(ObjectId::isValid).toList();
+        logger.info("Admin {} is setting {} certificates to {}.", validatorId, validIds.size(), request.status());
+
+        int updated = validIds.isEmpty() ? 0 : certificateRepository.validatePending(
+                validIds, request.status(), rejectionReason, validatorId, validationTimestamp);
+
+        // When everything was updated there is nothing to explain; otherwise one projected lookup tells the rest apart.
+        Map<String, Certificate> states = updated == validIds.size() ? Map.of()
+                : certificateRepository.findValidationStates(validIds).stream()
+                        .collect(Collectors.toMap(Certificate::getId, Function.identity()));
+
+        List<CertificateBulkValidationResponse.ItemResult> results = new ArrayList<>(requestedIds.size());
+        for (String id : requestedIds) {
+            results.add(new CertificateBulkValidationResponse.ItemResult(id,
+                    resolveOutcome(id, updated == validIds.size(), states, validatorId, validationTimestamp)));
         }
+        logger.info("{} of {} certificates validated.", updated, requestedIds.size());
 
-        // Update the certificate fields.
-        certificate.setStatus(request.status());
-        certificate.setValidator_id(validatorId);
-        certificate.setValidationTimestamp(LocalDateTime.now());
-        certificate.setLastModifiedDate(LocalDateTime.now());
-        certificate.setLastModifiedBy(validatorId);
+        return new CertificateBulkValidationResponse(updated, results);
+    }
 
-        if (request.status() == CertificateStatus.DENIED) {
-            certificate.setRejectionReason(request.rejectionReason());
-        } else {
-            certificate.setRejectionReason(null); // Clear reason on approval
+    private static CertificateBulkValidationResponse.Outcome resolveOutcome(String id, boolean allUpdated,
+                                                                            Map<String, Certificate> states,
+                                                                            String validatorId,
+                                                                            LocalDateTime validationTimestamp) {
+        if (!ObjectId.isValid(id)) {
+            return CertificateBulkValidationResponse.Outcome.INVALID_ID;
+        }
+        if (allUpdated) {
+            return CertificateBulkValidationResponse.Outcome.UPDATED;
+        }
+        Certificate state = states.get(id);
+        if (state == null) {
+            return CertificateBulkValidationResponse.Outcome.NOT_FOUND;
+        }
+        boolean decidedByThisRequest = validatorId.equals(state.getValidator_id())
+                && validationTimestamp.equals(state.getValidationTimestamp());
+        return decidedByThisRequest
+                ? CertificateBulkValidationResponse.Outcome.UPDATED
+                : CertificateBulkValidationResponse.Outcome.NOT_PENDING;
+    }
+
+    private static void validateDecision(CertificateStatus status, String rejectionReason) {
+        if (status != CertificateStatus.APPROVED && status != CertificateStatus.DENIED) {
+            throw new IllegalArgumentException("Status must be APPROVED or DENIED.");
+        }
+        if (status == CertificateStatus.DENIED && (rejectionReason == null || rejectionReason.isBlank())) {
+            throw new IllegalArgumentException("Rejection reason is mandatory when denying a certificate.");
         }
+    }
 
-        // Save the updated certificate to the database.
-        return certificateRepository.save(certificate);
+    public CursorPage<CertificateSummary> getReviewQueue(String cursor, Integer pageSize) {
+        logger.info("Request received to list the review queue.");
+        return certificateRepository.findReviewQueue(cursor, resolvePageSize(pageSize));
     }
 
-    public List<Certificate> findCertificatesByCurrentUser() {
+    public CursorPage<CertificateSummary> findCertificatesByCurrentUser(CertificateStatus status, CertificateCategory category,
+                                                                        String cursor, Integer pageSize) {
         // Get the email of the logged-in user from the security context.
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
         logger.info("Fetching certificates for user: {}", username);
-        // Use the repository to find all certificates created by this user.
-        return certificateRepository.findAllByCreatedBy(username);
+        // Only one page of summaries is read, so the cost does not grow with the user's history.
+        return certificateRepository.findSummaries(username, status, category, cursor, resolvePageSize(pageSize));
+    }
+
+    private static int resolvePageSize(Integer pageSize) {
+        if (pageSize == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive.");
+        }
+        return Math.min(pageSize, MAX_PAGE_SIZE);
     }
 
+    /**
+     * A pre-signed URL to the file in the storage, or the API's own {@code /certificate/{id}/file} when the storage
+     * cannot be reached by clients (filesystem and in-memory storages).
+     */
     public String generatePresignedUrlForCertificate(String id) {
         logger.info("Request received to generate pre-signed URL for certificate ID: {}", id);
+        String objectKey = resolveObjectKey(id);
+        if (!storagePort.supportsDirectDownload()) {
+            return API_FILE_PATH.formatted(id);
+        }
+        return presignedUrlCache.getOrSign(objectKey,
+                key -> storagePort.generatePresignedDownloadUrl(key, viewUrlExpiration));
+    }
+
+    /**
+     * Size, type and validators (ETag, Last-Modified) of the certificate's file, for the API to serve it itself
+     * instead of handing out a pre-signed URL.
+     */
+    public StoredFileMetadata getCertificateFileMetadata(String id) {
+        String s3ObjectKey = resolveObjectKey(id);
+        return storagePort.getFileMetadata(s3ObjectKey)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found in storage for certificate " + id));
+    }
+
+    public InputStream openCertificateFile(StoredFileMetadata file) {
+        return storagePort.openFile(file.s3ObjectKey());
+    }
+
+    public InputStream openCertificateFile(StoredFileMetadata file, long offset, long length) {
+        return storagePort.openFile(file.s3ObjectKey(), offset, length);
+    }
+
+    private String resolveObjectKey(String id) {
+        return presignedUrlCache.getObjectKey(id).orElseGet(() -> {
+            String objectKey = getCertificateById(id).getS3ObjectKey();
+            presignedUrlCache.putObjectKey(id, objectKey);
+            return objectKey;
+        });
+    }
+
+    /**
+     * Signs a URL for a rendition of the certificate's first page, which is a few kilobytes instead of the whole file.
+     * Certificates the processor has not rendered yet (or could not render) fall back to the original file, and so does
+     * a storage clients cannot reach: the API only serves the original file.
+     */
+    public String generatePresignedPreviewUrlForCertificate(String id, CertificatePreviews.Size size) {
+        logger.info("Request received to generate pre-signed {} URL for certificate ID: {}", size, id);
         Certificate certificate = getCertificateById(id);
+        if (!storagePort.supportsDirectDownload()) {
+            return API_FILE_PATH.formatted(id);
+        }
+        String objectKey = certificate.getPreviews() != null ? certificate.getPreviews().keyFor(size) : certificate.getS3ObjectKey();
 
-        // O S3StorageAdapter já tem o método para gerar a URL, vamos apenas chamá-lo.
-        // O ideal seria ter um método específico para isso no StoragePort, mas para agilizar,
-        // vamos assumir que o adapter pode ser acessado aqui ou que o uploadFile retorna uma URL acessível.
-        // Para um acesso seguro real, precisaríamos de um método que gere uma URL pré-assinada.
-        return certificate.getFileUrl();
+        return presignedUrlCache.getOrSign(objectKey,
+                key -> storagePort.generatePresignedDownloadUrl(key, viewUrlExpiration));
     }
 }
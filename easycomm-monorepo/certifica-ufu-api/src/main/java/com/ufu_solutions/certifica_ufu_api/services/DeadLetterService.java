@@ -0,0 +1,159 @@
+package com.ufu_solutions.certifica_ufu_api.services;
+
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateDeadLetter;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateRedriveResponse;
+import com.achcar_solutions.easycomm_core.infra.kafka.CertificateKafkaMessage;
+import com.achcar_solutions.easycomm_core.infra.kafka.CertificateTopics;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Leitura e reenvio da DLT de certificados. O que já foi reenviado é marcado pelos offsets do grupo
+ * {@code certificate-dlt-redrive}: a listagem mostra só o que vem depois deles e o reenvio avança o grupo.
+ */
+@Service
+public class DeadLetterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeadLetterService.class);
+
+    private static final int MAX_LIMIT = 500;
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(200);
+    private static final long READ_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final long SEND_TIMEOUT_SECONDS = 10;
+
+    private final ConsumerFactory<String, CertificateKafkaMessage> deadLetterConsumerFactory;
+    private final KafkaTemplate<String, CertificateKafkaMessage> kafkaTemplate;
+
+    public DeadLetterService(ConsumerFactory<String, CertificateKafkaMessage> deadLetterConsumerFactory,
+                             KafkaTemplate<String, CertificateKafkaMessage> kafkaTemplate) {
+        this.deadLetterConsumerFactory = deadLetterConsumerFactory;
+        this.kafkaTemplate = kafkaTemplate;
+    }
+
+    public List<CertificateDeadLetter> listDeadLetters(int limit) {
+        try (Consumer<String, CertificateKafkaMessage> consumer = deadLetterConsumerFactory.createConsumer()) {
+            return readPending(consumer, normalizeLimit(limit)).stream().map(DeadLetterService::toDeadLetter).toList();
+        }
+    }
+
+    /**
+     * Sends up to {@code limit} dead-lettered certificates back to the main topic with a fresh retry budget, then
+     * commits past them. A crash between the two only means some certificates are sent back twice; the processor
+     * never overwrites a certificate that already left PENDING.
+     */
+    public synchronized CertificateRedriveResponse redrive(int limit) {
+        try (Consumer<String, CertificateKafkaMessage> consumer = deadLetterConsumerFactory.createConsumer()) {
+            List<ConsumerRecord<String, CertificateKafkaMessage>> pending = readPending(consumer, normalizeLimit(limit));
+            Map<TopicPartition, OffsetAndMetadata> processed = new HashMap<>();
+            List<String> certificateIds = new ArrayList<>(pending.size());
+
+            for (ConsumerRecord<String, CertificateKafkaMessage> record : pending) {
+                send(record);
+                processed.put(new TopicPartition(record.topic(), record.partition()), new OffsetAndMetadata(record.offset() + 1));
+                certificateIds.add(record.value().certificateId());
+            }
+            if (!processed.isEmpty()) {
+                consumer.commitSync(processed);
+            }
+            logger.info("{} certificados reenviados da DLT para processamento.", certificateIds.size());
+            return new CertificateRedriveResponse(certificateIds.size(), certificateIds);
+        }
+    }
+
+    private void send(ConsumerRecord<String, CertificateKafkaMessage> record) {
+        try {
+            kafkaTemplate.send(CertificateTopics.CERTIFICATE_TOPIC, record.key(), record.value()).get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while redriving certificate " + record.key() + ".", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Failed to redrive certificate " + record.key() + ".", e);
+        }
+    }
+
+    // Records after the group's committed offsets, up to limit, in partition order. Stops early once every partition
+    // has been read up to the end offsets seen at the start.
+    private static List<ConsumerRecord<String, CertificateKafkaMessage>> readPending(Consumer<String, CertificateKafkaMessage> consumer, int limit) {
+        List<PartitionInfo> partitionInfos = consumer.partitionsFor(CertificateTopics.DEAD_LETTER_TOPIC);
+        if (partitionInfos == null || partitionInfos.isEmpty()) {
+            return List.of();
+        }
+        List<TopicPartition> partitions = partitionInfos.stream()
+                .map(info -> new TopicPartition(info.topic(), info.partition()))
+                .toList();
+        consumer.assign(partitions);
+
+        Map<TopicPartition, OffsetAndMetadata> committed = consumer.committed(new HashSet<>(partitions));
+        Map<TopicPartition, Long> beginning = consumer.beginningOffsets(partitions);
+        for (TopicPartition partition : partitions) {
+            OffsetAndMetadata offset = committed.get(partition);
+            long start = beginning.getOrDefault(partition, 0L);
+            consumer.seek(partition, offset == null ? start : Math.max(offset.offset(), start));
+        }
+        Map<TopicPartition, Long> end = consumer.endOffsets(partitions);
+
+        List<ConsumerRecord<String, CertificateKafkaMessage>> records = new ArrayList<>();
+        long deadline = System.nanoTime() + READ_TIMEOUT_NANOS;
+        while (records.size() < limit && !caughtUp(consumer, partitions, end) && System.nanoTime() < deadline) {
+            for (ConsumerRecord<String, CertificateKafkaMessage> record : consumer.poll(POLL_TIMEOUT)) {
+                // Records past the limit are left for the next call; per partition only a prefix is ever taken.
+                if (records.size() < limit && record.offset() < end.getOrDefault(new TopicPartition(record.topic(), record.partition()), 0L)) {
+                    records.add(record);
+                }
+            }
+        }
+        return records;
+    }
+
+    private static boolean caughtUp(Consumer<?, ?> consumer, List<TopicPartition> partitions, Map<TopicPartition, Long> end) {
+        return partitions.stream().allMatch(partition -> consumer.position(partition) >= end.getOrDefault(partition, 0L));
+    }
+
+    private static CertificateDeadLetter toDeadLetter(ConsumerRecord<String, CertificateKafkaMessage> record) {
+        String attempts = header(record, CertificateTopics.ATTEMPTS_HEADER);
+        String failedAt = header(record, CertificateTopics.FAILED_AT_HEADER);
+        String exceptionClass = header(record, CertificateTopics.EXCEPTION_CLASS_HEADER);
+        return new CertificateDeadLetter(
+                record.value().certificateId(),
+                record.value().s3ObjectKey(),
+                attempts == null ? 0 : Integer.parseInt(attempts),
+                exceptionClass == null || exceptionClass.isEmpty() ? null : exceptionClass,
+                header(record, CertificateTopics.EXCEPTION_MESSAGE_HEADER),
+                failedAt == null ? Instant.ofEpochMilli(record.timestamp()) : Instant.ofEpochMilli(Long.parseLong(failedAt)),
+                record.partition(),
+                record.offset());
+    }
+
+    private static String header(ConsumerRecord<?, ?> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+
+    private static int normalizeLimit(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1.");
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+}
@@ -1,21 +1,40 @@
 package com.ufu_solutions.certifica_ufu_api.services;
 
 import com.achcar_solutions.easycomm_core.entities.opportunity.Opportunity;
+import com.achcar_solutions.easycomm_core.entities.opportunity.OpportunityApplication;
+import com.achcar_solutions.easycomm_core.entities.opportunity.OpportunityApplicationResponse;
 import com.achcar_solutions.easycomm_core.entities.opportunity.OpportunityDTO;
 import com.achcar_solutions.easycomm_core.entities.opportunity.OpportunityStatus;
+import com.achcar_solutions.easycomm_core.entities.pagination.CursorPage;
+import com.achcar_solutions.easycomm_core.repositories.OpportunityApplicationRepository;
 import com.achcar_solutions.easycomm_core.repositories.OpportunityRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Service
 public class OpportunityService {
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final OpportunityRepository opportunityRepository;
+    private final OpportunityApplicationRepository opportunityApplicationRepository;
+    private final int embeddedApplicantsLimit;
 
-    public OpportunityService(OpportunityRepository opportunityRepository) {
+    public OpportunityService(OpportunityRepository opportunityRepository,
+                              OpportunityApplicationRepository opportunityApplicationRepository,
+                              @Value("${opportunity.applicants.embedded-limit:100}") int embeddedApplicantsLimit) {
+        if (embeddedApplicantsLimit < 1) {
+            throw new IllegalArgumentException("opportunity.applicants.embedded-limit must be positive.");
+        }
         this.opportunityRepository = opportunityRepository;
+        this.opportunityApplicationRepository = opportunityApplicationRepository;
+        this.embeddedApplicantsLimit = embeddedApplicantsLimit;
     }
 
     public Opportunity create(OpportunityDTO data) {
@@ -27,6 +46,7 @@ public class OpportunityService {
                 .createdBy(username)
                 .status(OpportunityStatus.OPEN)
                 .applicants(new ArrayList<>())
+                .applicantsOverflowed(false)
                 .build();
         return opportunityRepository.save(opportunity);
     }
@@ -41,33 +61,65 @@ public class OpportunityService {
     }
 
     public Opportunity update(String id, OpportunityDTO data) {
-        Opportunity opportunity = findById(id);
-        opportunity.setTitle(data.title());
-        opportunity.setDescription(data.description());
-        opportunity.setHours(data.hours());
-        return opportunityRepository.save(opportunity);
+        // Only the details are written, so an edit never drops applicants that applied meanwhile.
+        return opportunityRepository.updateDetails(id, data.title(), data.description(), data.hours())
+                .orElseThrow(() -> new RuntimeException("Opportunity not found with id: " + id));
     }
 
     public void delete(String id) {
         Opportunity opportunity = findById(id);
         opportunityRepository.delete(opportunity);
+        opportunityApplicationRepository.deleteAllByOpportunityId(id);
     }
 
-    public Opportunity addApplicant(String opportunityId) {
-        // Find the opportunity by its ID, otherwise throw an exception.
-        Opportunity opportunity = findById(opportunityId);
-
+    public OpportunityApplicationResponse addApplicant(String opportunityId) {
         // Get the email of the authenticated user.
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
 
-        // Check if the user is already an applicant to prevent duplicates.
-        if (!opportunity.getApplicants().contains(username)) {
-            opportunity.getApplicants().add(username);
-            // Save the updated opportunity.
-            return opportunityRepository.save(opportunity);
+        // Fast path: one atomic $addToSet while the embedded list has room.
+        if (opportunityRepository.addEmbeddedApplicant(opportunityId, username, embeddedApplicantsLimit)) {
+            return new OpportunityApplicationResponse(opportunityId, username, false);
+        }
+
+        // Nothing was added: find out whether the opportunity exists, the user already applied, or the list is full.
+        if (!opportunityRepository.existsById(opportunityId)) {
+            throw new RuntimeException("Opportunity not found with id: " + opportunityId);
+        }
+        if (opportunityRepository.existsByIdAndApplicants(opportunityId, username)) {
+            return new OpportunityApplicationResponse(opportunityId, username, true);
+        }
+
+        // The list is full: the application goes to its own document and the unique index rejects duplicates.
+        opportunityRepository.markApplicantsOverflowed(opportunityId);
+        try {
+            opportunityApplicationRepository.insert(OpportunityApplication.builder()
+                    .opportunityId(opportunityId)
+                    .applicant(username)
+                    .appliedAt(LocalDateTime.now())
+                    .build());
+            return new OpportunityApplicationResponse(opportunityId, username, false);
+        } catch (DuplicateKeyException exception) {
+            return new OpportunityApplicationResponse(opportunityId, username, true);
         }
+    }
+
+    public CursorPage<String> findApplicants(String opportunityId, String cursor, Integer pageSize) {
+        return opportunityRepository.findApplicants(opportunityId, cursor, resolvePageSize(pageSize))
+                .orElseThrow(() -> new RuntimeException("Opportunity not found with id: " + opportunityId));
+    }
 
-        // Return the unchanged opportunity if the user is already an applicant.
-        return opportunity;
+    public long countApplicants(String opportunityId) {
+        return opportunityRepository.countApplicants(opportunityId)
+                .orElseThrow(() -> new RuntimeException("Opportunity not found with id: " + opportunityId));
+    }
+
+    private static int resolvePageSize(Integer pageSize) {
+        if (pageSize == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive.");
+        }
+        return Math.min(pageSize, MAX_PAGE_SIZE);
     }
 }
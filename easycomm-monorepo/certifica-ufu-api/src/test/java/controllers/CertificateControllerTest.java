@@ -0,0 +1,242 @@
+package controllers;
+
+import com.achcar_solutions.easycomm_core.entities.certificate.Certificate;
+import com.achcar_solutions.easycomm_core.infra.ports.StoredFileMetadata;
+import com.achcar_solutions.easycomm_core.infra.storage.InMemoryStorageAdapter;
+import com.achcar_solutions.easycomm_core.repositories.CertificateRepository;
+import com.achcar_solutions.easycomm_core.repositories.OutboxEventRepository;
+import com.ufu_solutions.certifica_ufu_api.controllers.CertificateController;
+import com.ufu_solutions.certifica_ufu_api.infra.cache.PresignedUrlCache;
+import com.ufu_solutions.certifica_ufu_api.infra.storage.ContentAddressedStorage;
+import com.ufu_solutions.certifica_ufu_api.services.CertificateService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The {@code /certificate/{id}/file} endpoint over HTTP, with the real service reading from an in-memory storage:
+ * ranges, conditional requests and HEAD.
+ */
+@ExtendWith(MockitoExtension.class)
+class CertificateControllerTest {
+
+    private static final String OBJECT_KEY = "blobs/abc/certificado.pdf";
+    private static final byte[] CONTENT = "%PDF-1.7 certificado de teste".getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private CertificateRepository certificateRepository;
+
+    @Mock
+    private ContentAddressedStorage contentAddressedStorage;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private InMemoryStorageAdapter storage;
+    private StoredFileMetadata file;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setup() {
+        storage = new InMemoryStorageAdapter();
+        storage.uploadFile(CONTENT, OBJECT_KEY, "application/pdf");
+        file = storage.getFileMetadata(OBJECT_KEY).orElseThrow();
+        lenient().when(certificateRepository.findById("cert-1"))
+                .thenReturn(Optional.of(Certificate.builder().id("cert-1").s3ObjectKey(OBJECT_KEY).build()));
+
+        CertificateService certificateService = new CertificateService(certificateRepository, storage, contentAddressedStorage,
+                outboxEventRepository, transactionTemplate, new PresignedUrlCache(100, Duration.ofMinutes(1)),
+                Duration.ofMinutes(15), Duration.ofMinutes(15));
+        CertificateController controller = new CertificateController();
+        ReflectionTestUtils.setField(controller, "certificateService", certificateService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    @DisplayName("Should stream the whole file with its validators")
+    void servesWholeFile() throws Exception {
+        MvcResult result = streamed(get("/certificate/cert-1/file"));
+
+        assertEquals(200, result.getResponse().getStatus());
+        assertEquals(String.valueOf(CONTENT.length), result.getResponse().getHeader(HttpHeaders.CONTENT_LENGTH));
+        assertEquals("bytes", result.getResponse().getHeader(HttpHeaders.ACCEPT_RANGES));
+        assertEquals(quotedETag(), result.getResponse().getHeader(HttpHeaders.ETAG));
+        assertNotNull(result.getResponse().getHeader(HttpHeaders.LAST_MODIFIED));
+        assertArrayEquals(CONTENT, result.getResponse().getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("Should answer a single range with 206 and Content-Range")
+    void servesRange() throws Exception {
+        MvcResult result = streamed(get("/certificate/cert-1/file").header(HttpHeaders.RANGE, "bytes=2-8"));
+
+        assertEquals(206, result.getResponse().getStatus());
+        assertEquals("bytes 2-8/" + CONTENT.length, result.getResponse().getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals("7", result.getResponse().getHeader(HttpHeaders.CONTENT_LENGTH));
+        assertArrayEquals(Arrays.copyOfRange(CONTENT, 2, 9), result.getResponse().getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("Should answer a range past the end of the file with 416")
+    void rejectsUnsatisfiableRange() throws Exception {
+        mockMvc.perform(get("/certificate/cert-1/file").header(HttpHeaders.RANGE, "bytes=1000-2000"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + CONTENT.length))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @DisplayName("Should answer 304 when the client's ETag is current")
+    void answersNotModified() throws Exception {
+        mockMvc.perform(get("/certificate/cert-1/file").header(HttpHeaders.IF_NONE_MATCH, quotedETag()))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, quotedETag()))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @DisplayName("Should answer 412 when If-Match names another version")
+    void answersPreconditionFailed() throws Exception {
+        mockMvc.perform(get("/certificate/cert-1/file").header(HttpHeaders.IF_MATCH, "\"another-version\""))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string(HttpHeaders.ETAG, quotedETag()));
+    }
+
+    @Test
+    @DisplayName("Should serve the file when If-Match names its current ETag or *")
+    void servesMatchingIfMatch() throws Exception {
+        assertEquals(200, streamed(get("/certificate/cert-1/file").header(HttpHeaders.IF_MATCH, "\"another-version\", " + quotedETag()))
+                .getResponse().getStatus());
+        assertEquals(200, streamed(get("/certificate/cert-1/file").header(HttpHeaders.IF_MATCH, "*")).getResponse().getStatus());
+    }
+
+    @Test
+    @DisplayName("If-Match should use the strong comparison, which a weak ETag never passes")
+    void weakIfMatchFails() throws Exception {
+        mockMvc.perform(get("/certificate/cert-1/file").header(HttpHeaders.IF_MATCH, "W/" + quotedETag()))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("Should answer any range of an empty file with 416")
+    void rejectsRangeOfEmptyFile() throws Exception {
+        storage.uploadFile(new byte[0], OBJECT_KEY, "application/pdf");
+
+        mockMvc.perform(get("/certificate/cert-1/file").header(HttpHeaders.RANGE, "bytes=0-10"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */0"));
+        mockMvc.perform(get("/certificate/cert-1/file").header(HttpHeaders.RANGE, "bytes=-5"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */0"));
+    }
+
+    @Test
+    @DisplayName("Should honour If-Range only when its strong ETag matches")
+    void rangeWithETagIfRange() throws Exception {
+        MvcResult matching = streamed(get("/certificate/cert-1/file")
+                .header(HttpHeaders.RANGE, "bytes=0-3")
+                .header(HttpHeaders.IF_RANGE, quotedETag()));
+        assertEquals(206, matching.getResponse().getStatus());
+        assertArrayEquals(Arrays.copyOfRange(CONTENT, 0, 4), matching.getResponse().getContentAsByteArray());
+
+        MvcResult changed = streamed(get("/certificate/cert-1/file")
+                .header(HttpHeaders.RANGE, "bytes=0-3")
+                .header(HttpHeaders.IF_RANGE, "\"another-version\""));
+        assertEquals(200, changed.getResponse().getStatus());
+        assertArrayEquals(CONTENT, changed.getResponse().getContentAsByteArray());
+
+        MvcResult weak = streamed(get("/certificate/cert-1/file")
+                .header(HttpHeaders.RANGE, "bytes=0-3")
+                .header(HttpHeaders.IF_RANGE, "W/" + quotedETag()));
+        assertEquals(200, weak.getResponse().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should honour If-Range only when its date is the file's Last-Modified")
+    void rangeWithDateIfRange() throws Exception {
+        MvcResult matching = streamed(get("/certificate/cert-1/file")
+                .header(HttpHeaders.RANGE, "bytes=0-3")
+                .header(HttpHeaders.IF_RANGE, httpDate(0)));
+        assertEquals(206, matching.getResponse().getStatus());
+
+        MvcResult older = streamed(get("/certificate/cert-1/file")
+                .header(HttpHeaders.RANGE, "bytes=0-3")
+                .header(HttpHeaders.IF_RANGE, httpDate(-60)));
+        assertEquals(200, older.getResponse().getStatus());
+        assertArrayEquals(CONTENT, older.getResponse().getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("HEAD should send the headers of a GET without a body")
+    void headHasNoBody() throws Exception {
+        mockMvc.perform(head("/certificate/cert-1/file"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_LENGTH, String.valueOf(CONTENT.length)))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.ETAG, quotedETag()))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @DisplayName("Should answer 404 for an unknown certificate and for a file missing from the storage")
+    void answersNotFound() throws Exception {
+        mockMvc.perform(get("/certificate/unknown/file"))
+                .andExpect(status().isNotFound());
+
+        storage.deleteFile(OBJECT_KEY);
+        mockMvc.perform(get("/certificate/cert-1/file"))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Runs a request whose body is streamed after the handler returns, and returns the completed response.
+     */
+    private MvcResult streamed(RequestBuilder requestBuilder) throws Exception {
+        MvcResult started = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started)).andReturn();
+    }
+
+    private String quotedETag() {
+        return "\"" + file.eTag() + "\"";
+    }
+
+    private String httpDate(long offsetSeconds) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(file.lastModified().plusSeconds(offsetSeconds).atOffset(ZoneOffset.UTC));
+    }
+}
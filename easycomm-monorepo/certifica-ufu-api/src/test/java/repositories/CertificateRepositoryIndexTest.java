@@ -0,0 +1,247 @@
+package repositories;
+
+import com.achcar_solutions.easycomm_core.entities.certificate.Certificate;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateCategory;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateStatus;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateSummary;
+import com.achcar_solutions.easycomm_core.entities.pagination.CursorPage;
+import com.achcar_solutions.easycomm_core.repositories.CertificateRepository;
+import com.achcar_solutions.easycomm_core.repositories.CertificateRepositoryCustomImpl;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.ufu_solutions.certifica_ufu_api.infra.mongo.MongoIndexInitializer;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs every {@link CertificateRepository} query against a real MongoDB with the managed index set, captures the
+ * exact command the repository sent (through the database profiler) and asserts with {@code explain()} that the
+ * winning plan is an index scan instead of a collection scan.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class CertificateRepositoryIndexTest {
+
+    private static final String DATABASE = "certifica_index_test";
+    private static final Set<String> INDEX_STAGES = Set.of("IXSCAN", "IDHACK", "EXPRESS_IXSCAN");
+
+    @Container
+    private static final MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    private static MongoClient mongoClient;
+    private static MongoTemplate mongoTemplate;
+    private static CertificateRepository certificateRepository;
+    private static Certificate sampleCertificate;
+
+    @BeforeAll
+    static void setup() {
+        mongoClient = MongoClients.create(mongo.getReplicaSetUrl(DATABASE));
+        mongoTemplate = new MongoTemplate(mongoClient, DATABASE);
+        certificateRepository = new MongoRepositoryFactory(mongoTemplate).getRepository(CertificateRepository.class,
+                RepositoryComposition.RepositoryFragments.just(new CertificateRepositoryCustomImpl(mongoTemplate)));
+
+        new MongoIndexInitializer(mongoTemplate).ensureIndexes();
+
+        List<Certificate> certificates = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            certificates.add(Certificate.builder()
+                    .createdBy("user" + (i % 20) + "@test.com")
+                    .createdDate(LocalDateTime.now().minusMinutes(i))
+                    .title("Certificado " + i)
+                    .category(CertificateCategory.values()[i % CertificateCategory.values().length])
+                    .durationInHours(4)
+                    .status(CertificateStatus.values()[i % CertificateStatus.values().length])
+                    .s3ObjectKey("key-" + i + ".pdf")
+                    .build());
+        }
+        certificateRepository.insert(certificates);
+        sampleCertificate = certificateRepository.findAllByCreatedBy("user1@test.com").get(0);
+
+        mongoTemplate.getDb().runCommand(new Document("profile", 2));
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mongoClient.close();
+    }
+
+    @Test
+    @DisplayName("findById should be served by the _id index")
+    void findByIdUsesIndex() {
+        certificateRepository.findById(sampleCertificate.getId());
+        assertIndexScan(lastCertificateQuery(), false);
+    }
+
+    @Test
+    @DisplayName("findAllByCreatedBy should use the createdBy index")
+    void findAllByCreatedByUsesIndex() {
+        certificateRepository.findAllByCreatedBy("user1@test.com");
+        assertIndexScan(lastCertificateQuery(), false);
+    }
+
+    @Test
+    @DisplayName("findByCreatedByAndTitleAndCategory should use the unique index")
+    void findByCreatedByAndTitleAndCategoryUsesIndex() {
+        certificateRepository.findByCreatedByAndTitleAndCategory(sampleCertificate.getCreatedBy(),
+                sampleCertificate.getTitle(), sampleCertificate.getCategory());
+        assertIndexScan(lastCertificateQuery(), false);
+    }
+
+    @Test
+    @DisplayName("findSummaries should walk an index in sort order for every filter combination and page")
+    void findSummariesUsesIndexWithoutInMemorySort() {
+        CursorPage<CertificateSummary> firstPage = certificateRepository.findSummaries("user1@test.com", null, null, null, 3);
+        assertIndexScan(lastCertificateQuery(), true);
+
+        certificateRepository.findSummaries("user1@test.com", null, null, firstPage.nextCursor(), 3);
+        assertIndexScan(lastCertificateQuery(), true);
+
+        certificateRepository.findSummaries("user1@test.com", CertificateStatus.PENDING, null, null, 3);
+        assertIndexScan(lastCertificateQuery(), true);
+
+        CursorPage<CertificateSummary> pendingPage = certificateRepository.findSummaries(null, CertificateStatus.PENDING, null, null, 5);
+        assertIndexScan(lastCertificateQuery(), true);
+
+        certificateRepository.findSummaries(null, CertificateStatus.PENDING, null, pendingPage.nextCursor(), 5);
+        assertIndexScan(lastCertificateQuery(), true);
+
+        certificateRepository.findSummaries(null, null, null, null, 5);
+        assertIndexScan(lastCertificateQuery(), true);
+    }
+
+    @Test
+    @DisplayName("findReviewQueue should walk the status index oldest-first on every page")
+    void findReviewQueueUsesIndexWithoutInMemorySort() {
+        CursorPage<CertificateSummary> firstPage = certificateRepository.findReviewQueue(null, 5);
+        assertIndexScan(lastCertificateQuery(), true);
+
+        certificateRepository.findReviewQueue(firstPage.nextCursor(), 5);
+        assertIndexScan(lastCertificateQuery(), true);
+    }
+
+    @Test
+    @DisplayName("findUploadReservationsCreatedBefore should walk the status index oldest-first")
+    void findUploadReservationsCreatedBeforeUsesIndex() {
+        certificateRepository.findUploadReservationsCreatedBefore(LocalDateTime.now().minusMinutes(30), 10);
+        assertIndexScan(lastCertificateQuery(), true);
+    }
+
+    @Test
+    @DisplayName("findValidationStates should be served by the _id index")
+    void findValidationStatesUsesIndex() {
+        certificateRepository.findValidationStates(List.of(sampleCertificate.getId(), "missing"));
+        assertIndexScan(lastCertificateQuery(), false);
+    }
+
+    @Test
+    @DisplayName("applyValidation should find its certificate through the _id index")
+    void applyValidationUsesIndex() {
+        Certificate pending = certificateRepository.findAllByCreatedBy("user2@test.com").stream()
+                .filter(certificate -> certificate.getStatus() == CertificateStatus.PENDING)
+                .findFirst()
+                .orElseThrow();
+
+        certificateRepository.applyValidation(pending.getId(), List.of(CertificateStatus.PENDING), pending.getVersion(),
+                CertificateStatus.APPROVED, null, "admin@test.com", LocalDateTime.now());
+        assertIndexScan(lastCertificateCommand("findAndModify"), false);
+    }
+
+    @Test
+    @DisplayName("The unique index should reject a second certificate with the same user, title and category")
+    void uniqueIndexRejectsDuplicates() {
+        Certificate duplicate = Certificate.builder()
+                .createdBy(sampleCertificate.getCreatedBy())
+                .title(sampleCertificate.getTitle())
+                .category(sampleCertificate.getCategory())
+                .build();
+
+        assertThrows(DuplicateKeyException.class, () -> certificateRepository.insert(duplicate));
+    }
+
+    @Test
+    @DisplayName("Existing duplicates should fail index creation with the repeated keys instead of a bare driver error")
+    void existingDuplicatesFailWithActionableMessage() {
+        try (MongoClient client = MongoClients.create(mongo.getReplicaSetUrl("certifica_duplicates_test"))) {
+            MongoTemplate legacyTemplate = new MongoTemplate(client, "certifica_duplicates_test");
+            for (int i = 0; i < 2; i++) {
+                legacyTemplate.insert(Certificate.builder()
+                        .createdBy("legacy@test.com")
+                        .title("Certificado repetido")
+                        .category(CertificateCategory.values()[0])
+                        .build());
+            }
+
+            IllegalStateException failure = assertThrows(IllegalStateException.class,
+                    () -> new MongoIndexInitializer(legacyTemplate).ensureIndexes());
+
+            assertTrue(failure.getMessage().contains("createdBy_title_category_unique"), failure.getMessage());
+            assertTrue(failure.getMessage().contains("legacy@test.com"), failure.getMessage());
+            assertInstanceOf(DuplicateKeyException.class, failure.getCause());
+        }
+    }
+
+    private static Document lastCertificateQuery() {
+        return lastCertificateOperation(new Document("op", "query"));
+    }
+
+    private static Document lastCertificateCommand(String commandName) {
+        return lastCertificateOperation(new Document("op", "command").append("command." + commandName, new Document("$exists", true)));
+    }
+
+    private static Document lastCertificateOperation(Document filter) {
+        Document profileFilter = new Document("ns", DATABASE + ".certificates");
+        profileFilter.putAll(filter);
+        Document profileEntry = mongoTemplate.getDb().getCollection("system.profile")
+                .find(profileFilter)
+                .sort(new Document("$natural", -1))
+                .first();
+        assertNotNull(profileEntry, "No matching operation on the certificates collection was profiled: " + filter.toJson());
+        return profileEntry.get("command", Document.class);
+    }
+
+    private static void assertIndexScan(Document findCommand, boolean requireIndexSort) {
+        Document explainable = new Document();
+        findCommand.forEach((key, value) -> {
+            if (!key.startsWith("$") && !key.equals("lsid")) {
+                explainable.put(key, value);
+            }
+        });
+        Document explain = mongoTemplate.getDb().runCommand(new Document("explain", explainable).append("verbosity", "queryPlanner"));
+
+        List<String> stages = new ArrayList<>();
+        collectStages(explain.get("queryPlanner", Document.class).get("winningPlan"), stages);
+
+        assertFalse(stages.contains("COLLSCAN"), "Collection scan for " + explainable.toJson() + ": " + stages);
+        assertTrue(stages.stream().anyMatch(INDEX_STAGES::contains), "No index used for " + explainable.toJson() + ": " + stages);
+        if (requireIndexSort) {
+            assertFalse(stages.contains("SORT"), "In-memory sort for " + explainable.toJson() + ": " + stages);
+        }
+    }
+
+    private static void collectStages(Object node, List<String> stages) {
+        if (node instanceof Document document) {
+            if (document.get("stage") instanceof String stage) {
+                stages.add(stage);
+            }
+            document.values().forEach(value -> collectStages(value, stages));
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collectStages(value, stages));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package security;
+
+import com.achcar_solutions.easycomm_core.entities.authuser.AuthUser;
+import com.achcar_solutions.easycomm_core.entities.authuser.UserRole;
+import com.achcar_solutions.easycomm_core.repositories.AuthUserRepository;
+import com.ufu_solutions.certifica_ufu_api.security.SecurityFilter;
+import com.ufu_solutions.certifica_ufu_api.security.TokenRevocationRegistry;
+import com.ufu_solutions.certifica_ufu_api.security.TokenService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SecurityFilterTest {
+
+    @Mock
+    private AuthUserRepository authUserRepository;
+
+    private TokenService tokenService;
+    private TokenRevocationRegistry tokenRevocationRegistry;
+    private SecurityFilter securityFilter;
+
+    private final AuthUser admin = AuthUser.builder()
+            .email("admin@test.com")
+            .name("Admin")
+            .role(UserRole.ADMIN)
+            .build();
+
+    @BeforeEach
+    void setup() {
+        tokenService = new TokenService("test-secret", Duration.ofHours(2));
+        tokenRevocationRegistry = new TokenRevocationRegistry(authUserRepository, tokenService, 100);
+        securityFilter = new SecurityFilter(tokenService, authUserRepository, tokenRevocationRegistry, "stateless");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should authenticate from the token claims without reading the user")
+    void shouldAuthenticateFromClaims() throws Exception {
+        when(authUserRepository.findTokenVersionsChangedSince(any(), anyInt())).thenReturn(List.of());
+        tokenRevocationRegistry.refresh();
+
+        Authentication authentication = filter(tokenService.generateToken(admin));
+
+        assertNotNull(authentication);
+        assertEquals("admin@test.com", authentication.getName());
+        assertEquals(List.of("ROLE_ADMIN", "ROLE_USER"),
+                authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        verify(authUserRepository, never()).findByEmail(any());
+        verify(authUserRepository, never()).findTokenVersion(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a token whose version was revoked")
+    void shouldRejectRevokedToken() throws Exception {
+        String token = tokenService.generateToken(admin);
+        AuthUser revoked = AuthUser.builder().email("admin@test.com").tokenVersion(1L).build();
+        when(authUserRepository.findTokenVersionsChangedSince(any(), anyInt())).thenReturn(List.of(revoked));
+        tokenRevocationRegistry.refresh();
+
+        assertNull(filter(token));
+    }
+
+    @Test
+    @DisplayName("Should check the database while the revocation registry is not loaded")
+    void shouldFallBackToDatabaseBeforeFirstRefresh() throws Exception {
+        when(authUserRepository.findTokenVersion("admin@test.com")).thenReturn(Optional.of(0L));
+
+        assertNotNull(filter(tokenService.generateToken(admin)));
+        verify(authUserRepository).findTokenVersion("admin@test.com");
+    }
+
+    @Test
+    @DisplayName("Should ignore an invalid token")
+    void shouldIgnoreInvalidToken() throws Exception {
+        assertNull(filter("not-a-jwt"));
+        verifyNoInteractions(authUserRepository);
+    }
+
+    private Authentication filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        securityFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -1,24 +1,57 @@
 package services;
 import com.achcar_solutions.easycomm_core.entities.certificate.Certificate;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateBulkValidationRequest;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateBulkValidationResponse;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateCategory;
 import com.achcar_solutions.easycomm_core.entities.certificate.CertificateCreationRequest;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificatePreviews;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateUploadRequest;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateValidationRequest;
+import com.ufu_solutions.certifica_ufu_api.infra.cache.PresignedUrlCache;
+import com.ufu_solutions.certifica_ufu_api.infra.storage.ContentAddressedStorage;
 import com.ufu_solutions.certifica_ufu_api.services.CertificateService;
 import com.achcar_solutions.easycomm_core.entities.certificate.CertificateStatus;
 import com.achcar_solutions.easycomm_core.infra.ports.StoragePort;
+import com.achcar_solutions.easycomm_core.infra.ports.StoredFileMetadata;
+import com.achcar_solutions.easycomm_core.entities.outbox.OutboxEvent;
 import com.achcar_solutions.easycomm_core.repositories.CertificateRepository;
+import com.achcar_solutions.easycomm_core.repositories.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,7 +64,16 @@ public class CertificateServiceTest {
     private StoragePort storagePort;
 
     @Mock
-    private org.springframework.kafka.core.KafkaTemplate<String, String> kafkaTemplate;
+    private ContentAddressedStorage contentAddressedStorage;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private PresignedUrlCache presignedUrlCache;
 
     @InjectMocks
     private CertificateService certificateService;
@@ -41,8 +83,8 @@ public class CertificateServiceTest {
 
     @BeforeEach
     void setup() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user@test.com", null));
         certifcateCreationRequest = new CertificateCreationRequest(
-                "user@test.com",
                 "Certificado de Teste",
                 com.achcar_solutions.easycomm_core.entities.certificate.CertificateCategory.PALESTRAS_E_CURSOS,
                 8,
@@ -56,25 +98,28 @@ public class CertificateServiceTest {
         );
     }
 
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     @Test
     @DisplayName("Should create a certificate successfully when all data is valid")
     void shouldCreateCertificateSuccessfully() {
         Certificate savedCertificate = Certificate.builder()
                 .id("some-random-id")
-                .createdBy(certifcateCreationRequest.createdBy())
+                .createdBy("user@test.com")
                 .title(certifcateCreationRequest.title())
                 .s3ObjectKey("some-unique-key.pdf")
                 .status(CertificateStatus.PENDING)
                 .build();
 
-        when(certificateRepository.findByCreatedByAndTitleAndCategory(any(), any(), any()))
-                .thenReturn(Optional.empty());
-
-        when(storagePort.uploadFile(any(), any(), any()))
-                .thenReturn("https://test.com/some-unique-key.pdf");
+        when(contentAddressedStorage.store(any(), anyLong(), any(), any()))
+                .thenReturn(new ContentAddressedStorage.StoredObject("blobs/hash/some-unique-key.png", "hash", "https://test.com/blobs/hash/some-unique-key.png"));
 
         when(certificateRepository.insert(any(Certificate.class)))
                 .thenReturn(savedCertificate);
+        runTransactionsInline();
 
         Certificate createCertificateResult = certificateService.createCertificate(certifcateCreationRequest, multipartFile);
 
@@ -82,26 +127,63 @@ public class CertificateServiceTest {
         assertEquals(savedCertificate.getId(), createCertificateResult.getId());
         assertEquals(CertificateStatus.PENDING, createCertificateResult.getStatus());
 
-        verify(storagePort, times(1)).uploadFile(any(), any(), any());
+        verify(contentAddressedStorage, times(1)).store(any(), eq(multipartFile.getSize()), eq("image/png"), eq(".png"));
+        verify(storagePort, never()).uploadFile(any(byte[].class), any(), any());
         verify(certificateRepository, times(1)).insert(any(Certificate.class));
-        verify(kafkaTemplate, times(1)).send(anyString(), any());
+        verify(certificateRepository, never()).findByCreatedByAndTitleAndCategory(any(), any(), any());
+        // The processing event is written with the certificate, in the same transaction; the relay publishes it later.
+        verify(transactionTemplate, times(1)).execute(any());
+        verify(outboxEventRepository, times(1)).insert(argThat((OutboxEvent event) ->
+                "some-random-id".equals(event.getKey()) && "some-unique-key.pdf".equals(event.getPayload().s3ObjectKey())));
     }
 
     @Test
     @DisplayName("Should throw exception when trying to create a duplicated certificate")
     void shouldThrowExceptionWhenCertificateAlreadyExists() {
-        when(certificateRepository.findByCreatedByAndTitleAndCategory(
-                certifcateCreationRequest.createdBy(),
-                certifcateCreationRequest.title(),
-                certifcateCreationRequest.category()
-        )).thenReturn(Optional.of(Certificate.builder().build()));
+        when(contentAddressedStorage.store(any(), anyLong(), any(), any()))
+                .thenReturn(new ContentAddressedStorage.StoredObject("blobs/hash/some-unique-key.png", "hash", "https://test.com/blobs/hash/some-unique-key.png"));
+        when(certificateRepository.insert(any(Certificate.class)))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
+        runTransactionsInline();
 
         assertThrows(RuntimeException.class, () -> {
             certificateService.createCertificate(certifcateCreationRequest, multipartFile);
         });
 
-        verify(storagePort, never()).uploadFile(any(), any(), any());
-        verify(kafkaTemplate, never()).send(anyString(), any());
+        // The upload's reference to the shared content is released; the object itself goes only with the last one.
+        verify(contentAddressedStorage, times(1)).release("hash");
+        verify(outboxEventRepository, never()).insert(any(OutboxEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should refuse a direct upload reservation when the storage cannot sign uploads")
+    void shouldRejectDirectUploadWithoutSupport() {
+        when(storagePort.supportsDirectUpload()).thenReturn(false);
+        CertificateUploadRequest request = new CertificateUploadRequest("Certificado de Teste", CertificateCategory.PALESTRAS_E_CURSOS,
+                8, null, "certificado.pdf", "application/pdf", 1024L);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> certificateService.reserveCertificateUpload(request));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verify(certificateRepository, never()).insert(any(Certificate.class));
+        verify(storagePort, never()).generatePresignedUploadUrl(any(), any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should release the stored content when the certificate transaction fails")
+    void shouldReleaseContentWhenTransactionFails() {
+        when(contentAddressedStorage.store(any(), anyLong(), any(), any()))
+                .thenReturn(new ContentAddressedStorage.StoredObject("blobs/hash/some-unique-key.png", "hash", "https://test.com/blobs/hash/some-unique-key.png"));
+        when(certificateRepository.insert(any(Certificate.class))).thenReturn(Certificate.builder().id("some-random-id").build());
+        when(outboxEventRepository.insert(any(OutboxEvent.class))).thenThrow(new DataAccessResourceFailureException("Mongo unavailable"));
+        runTransactionsInline();
+
+        DataAccessResourceFailureException exception = assertThrows(DataAccessResourceFailureException.class,
+                () -> certificateService.createCertificate(certifcateCreationRequest, multipartFile));
+
+        assertEquals("Mongo unavailable", exception.getMessage());
+        verify(contentAddressedStorage, times(1)).release("hash");
     }
 
     @Test
@@ -112,12 +194,243 @@ public class CertificateServiceTest {
                 .s3ObjectKey("some-unique-key.pdf")
                 .build();
 
-        when(certificateRepository.findById("some-random-id")).thenReturn(Optional.of(certificate));
+        when(certificateRepository.findAndDeleteById("some-random-id")).thenReturn(Optional.of(certificate));
         doNothing().when(storagePort).deleteFile(anyString());
-        doNothing().when(certificateRepository).delete(any(Certificate.class));
         certificateService.deleteCertificate("some-random-id");
 
-        verify(certificateRepository, times(1)).delete(certificate);
-        verify(storagePort, times(1)).deleteFile("some-unique-key.pdf");
+        InOrder inOrder = inOrder(certificateRepository, storagePort);
+        inOrder.verify(certificateRepository).findAndDeleteById("some-random-id");
+        inOrder.verify(storagePort).deleteFile("some-unique-key.pdf");
+        verify(presignedUrlCache, times(1)).evict("some-random-id", "some-unique-key.pdf");
+    }
+
+    @Test
+    @DisplayName("Should only release the shared content when deleting a deduplicated certificate")
+    void shouldReleaseSharedContentWhenDeletingCertificate() {
+        Certificate certificate = Certificate.builder()
+                .id("some-random-id")
+                .s3ObjectKey("blobs/hash/some-unique-key.pdf")
+                .contentHash("hash")
+                .build();
+
+        when(certificateRepository.findAndDeleteById("some-random-id")).thenReturn(Optional.of(certificate));
+        certificateService.deleteCertificate("some-random-id");
+
+        InOrder inOrder = inOrder(certificateRepository, contentAddressedStorage);
+        inOrder.verify(certificateRepository).findAndDeleteById("some-random-id");
+        inOrder.verify(contentAddressedStorage).release("hash");
+        verify(storagePort, never()).deleteFile(anyString());
+    }
+
+    @Test
+    @DisplayName("Should not release anything when the certificate was already deleted")
+    void shouldNotReleaseWhenCertificateIsAlreadyDeleted() {
+        when(certificateRepository.findAndDeleteById("some-random-id")).thenReturn(Optional.empty());
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> certificateService.deleteCertificate("some-random-id"));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+        verifyNoInteractions(contentAddressedStorage);
+        verify(storagePort, never()).deleteFile(anyString());
+    }
+
+    @Test
+    @DisplayName("Should report a per-item outcome for a bulk validation")
+    void shouldReportPerItemOutcomeOfBulkValidation() {
+        String updatedId = "60d5f1b3e6b3f1a2b3c4d5e6";
+        String missingId = "60d5f1b3e6b3f1a2b3c4d5e7";
+        String alreadyDecidedId = "60d5f1b3e6b3f1a2b3c4d5e8";
+        Certificate updatedState = Certificate.builder().id(updatedId).validator_id("user@test.com").build();
+        Certificate alreadyDecidedState = Certificate.builder().id(alreadyDecidedId).status(CertificateStatus.DENIED)
+                .validator_id("other-admin@test.com").validationTimestamp(LocalDateTime.now().minusDays(1)).build();
+
+        when(certificateRepository.validatePending(anyCollection(), eq(CertificateStatus.APPROVED), isNull(), eq("user@test.com"), any()))
+                .thenAnswer(invocation -> {
+                    updatedState.setValidationTimestamp(invocation.getArgument(4));
+                    return 1;
+                });
+        when(certificateRepository.findValidationStates(anyCollection())).thenReturn(List.of(updatedState, alreadyDecidedState));
+
+        CertificateBulkValidationResponse response = certificateService.validateCertificates(new CertificateBulkValidationRequest(
+                List.of(updatedId, missingId, alreadyDecidedId, "not-an-id", updatedId), CertificateStatus.APPROVED, null));
+
+        assertEquals(1, response.updated());
+        assertEquals(List.of(
+                new CertificateBulkValidationResponse.ItemResult(updatedId, CertificateBulkValidationResponse.Outcome.UPDATED),
+                new CertificateBulkValidationResponse.ItemResult(missingId, CertificateBulkValidationResponse.Outcome.NOT_FOUND),
+                new CertificateBulkValidationResponse.ItemResult(alreadyDecidedId, CertificateBulkValidationResponse.Outcome.NOT_PENDING),
+                new CertificateBulkValidationResponse.ItemResult("not-an-id", CertificateBulkValidationResponse.Outcome.INVALID_ID)
+        ), response.results());
+        verify(certificateRepository, never()).save(any(Certificate.class));
+    }
+
+    @Test
+    @DisplayName("Should refuse a bulk denial without a rejection reason")
+    void shouldRequireRejectionReasonForBulkDenial() {
+        CertificateBulkValidationRequest request = new CertificateBulkValidationRequest(
+                List.of("60d5f1b3e6b3f1a2b3c4d5e6"), CertificateStatus.DENIED, " ");
+
+        assertThrows(IllegalArgumentException.class, () -> certificateService.validateCertificates(request));
+        verify(certificateRepository, never()).validatePending(anyCollection(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject a validation based on an outdated version without overwriting the certificate")
+    void shouldRejectValidationOfOutdatedVersion() {
+        String id = "60d5f1b3e6b3f1a2b3c4d5e6";
+        when(certificateRepository.applyValidation(eq(id), anyCollection(), eq(2L), eq(CertificateStatus.APPROVED), isNull(), eq("user@test.com"), any()))
+                .thenReturn(Optional.empty());
+        when(certificateRepository.findById(id))
+                .thenReturn(Optional.of(Certificate.builder().id(id).status(CertificateStatus.DENIED).version(3L).build()));
+
+        CertificateValidationRequest request = new CertificateValidationRequest(CertificateStatus.APPROVED, null, 2L);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> certificateService.validateCertificate(id, request));
+        verify(certificateRepository, never()).save(any(Certificate.class));
+    }
+
+    @Test
+    @DisplayName("Should not validate a certificate whose file was never uploaded")
+    void shouldNotValidateCertificateWaitingForUpload() {
+        String id = "60d5f1b3e6b3f1a2b3c4d5e6";
+        when(certificateRepository.applyValidation(eq(id), anyCollection(), isNull(), eq(CertificateStatus.APPROVED), isNull(), eq("user@test.com"), any()))
+                .thenReturn(Optional.empty());
+        when(certificateRepository.findById(id))
+                .thenReturn(Optional.of(Certificate.builder().id(id).status(CertificateStatus.PENDING_UPLOAD).build()));
+
+        CertificateValidationRequest request = new CertificateValidationRequest(CertificateStatus.APPROVED, null, null);
+
+        assertThrows(IllegalStateException.class, () -> certificateService.validateCertificate(id, request));
+    }
+
+    @Test
+    @DisplayName("Should not let anyone but the owner complete a direct upload")
+    void shouldRejectUploadCompletionByAnotherUser() {
+        String id = "60d5f1b3e6b3f1a2b3c4d5e6";
+        when(certificateRepository.findById(id)).thenReturn(Optional.of(uploadReservation(id, "someone-else@test.com")));
+
+        assertThrows(AccessDeniedException.class, () -> certificateService.completeCertificateUpload(id));
+        verify(storagePort, never()).getFileMetadata(any());
+        verify(certificateRepository, never()).transitionStatus(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should keep the reservation when the file has not been uploaded yet")
+    void shouldRejectUploadCompletionWithoutObject() {
+        String id = "60d5f1b3e6b3f1a2b3c4d5e6";
+        when(certificateRepository.findById(id)).thenReturn(Optional.of(uploadReservation(id, "user@test.com")));
+        when(storagePort.getFileMetadata("reserved-key.pdf")).thenReturn(Optional.empty());
+
+        assertThrows(IllegalStateException.class, () -> certificateService.completeCertificateUpload(id));
+        verify(certificateRepository, never()).transitionStatus(any(), any(), any());
+        verify(certificateRepository, never()).deleteIfStatus(any(), any());
+        verify(storagePort, never()).deleteFile(any());
+    }
+
+    @Test
+    @DisplayName("Should discard the object and the reservation when the uploaded size differs from the declared one")
+    void shouldDiscardReservationOnSizeMismatch() {
+        String id = "60d5f1b3e6b3f1a2b3c4d5e6";
+        when(certificateRepository.findById(id)).thenReturn(Optional.of(uploadReservation(id, "user@test.com")));
+        when(storagePort.getFileMetadata("reserved-key.pdf"))
+                .thenReturn(Optional.of(new StoredFileMetadata("reserved-key.pdf", 2048, "application/pdf", "\"etag\"", Instant.now())));
+        when(certificateRepository.deleteIfStatus(id, CertificateStatus.PENDING_UPLOAD)).thenReturn(true);
+
+        assertThrows(IllegalArgumentException.class, () -> certificateService.completeCertificateUpload(id));
+        verify(storagePort).deleteFile("reserved-key.pdf");
+        verify(certificateRepository).deleteIfStatus(id, CertificateStatus.PENDING_UPLOAD);
+        verify(certificateRepository, never()).transitionStatus(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should delete expired upload reservations, except those completed in the meantime")
+    void shouldSweepExpiredUploadReservations() {
+        CertificateService service = new CertificateService(certificateRepository, storagePort, contentAddressedStorage,
+                outboxEventRepository, transactionTemplate, presignedUrlCache, Duration.ofMinutes(15), Duration.ofMinutes(15));
+        Certificate abandoned = uploadReservation("abandoned", "user@test.com");
+        Certificate completed = Certificate.builder().id("completed").s3ObjectKey("completed-key.pdf").build();
+        when(certificateRepository.findUploadReservationsCreatedBefore(any(), anyInt())).thenReturn(List.of(abandoned, completed));
+        when(certificateRepository.deleteIfStatus("abandoned", CertificateStatus.PENDING_UPLOAD)).thenReturn(true);
+        when(certificateRepository.deleteIfStatus("completed", CertificateStatus.PENDING_UPLOAD)).thenReturn(false);
+
+        service.deleteExpiredUploadReservations();
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(certificateRepository).findUploadReservationsCreatedBefore(cutoff.capture(), anyInt());
+        assertTrue(cutoff.getValue().isBefore(LocalDateTime.now().minusMinutes(14)));
+        verify(storagePort).deleteFile("reserved-key.pdf");
+        verify(storagePort, never()).deleteFile("completed-key.pdf");
+    }
+
+    @Test
+    @DisplayName("Should serve the certificate file by range from the key stored on the certificate")
+    void shouldOpenRangeOfCertificateFile() throws Exception {
+        Certificate certificate = Certificate.builder().id("cert-1").s3ObjectKey("blobs/hash/file.pdf").build();
+        StoredFileMetadata metadata = new StoredFileMetadata("blobs/hash/file.pdf", 1000, "application/pdf", "\"etag\"", Instant.now());
+        when(presignedUrlCache.getObjectKey("cert-1")).thenReturn(Optional.empty());
+        when(certificateRepository.findById("cert-1")).thenReturn(Optional.of(certificate));
+        when(storagePort.getFileMetadata("blobs/hash/file.pdf")).thenReturn(Optional.of(metadata));
+        when(storagePort.openFile("blobs/hash/file.pdf", 100, 50)).thenReturn(new ByteArrayInputStream(new byte[50]));
+
+        StoredFileMetadata file = certificateService.getCertificateFileMetadata("cert-1");
+        try (InputStream inputStream = certificateService.openCertificateFile(file, 100, 50)) {
+            assertEquals(50, inputStream.readAllBytes().length);
+        }
+
+        assertEquals(metadata, file);
+        verify(presignedUrlCache).putObjectKey("cert-1", "blobs/hash/file.pdf");
+        verify(storagePort, never()).openFile("blobs/hash/file.pdf");
+    }
+
+    @Test
+    @DisplayName("Should fail when the certificate's file is missing from the storage")
+    void shouldFailWhenCertificateFileIsMissing() {
+        when(presignedUrlCache.getObjectKey("cert-1")).thenReturn(Optional.of("blobs/hash/file.pdf"));
+        when(storagePort.getFileMetadata("blobs/hash/file.pdf")).thenReturn(Optional.empty());
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> certificateService.getCertificateFileMetadata("cert-1"));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should sign view URLs through the cache when clients can reach the storage")
+    void shouldSignViewUrlWhenStorageSupportsDirectDownload() {
+        when(presignedUrlCache.getObjectKey("cert-1")).thenReturn(Optional.of("blobs/hash/file.pdf"));
+        when(storagePort.supportsDirectDownload()).thenReturn(true);
+        when(presignedUrlCache.getOrSign(eq("blobs/hash/file.pdf"), any())).thenReturn("https://bucket/blobs/hash/file.pdf?signed");
+
+        assertEquals("https://bucket/blobs/hash/file.pdf?signed", certificateService.generatePresignedUrlForCertificate("cert-1"));
+    }
+
+    @Test
+    @DisplayName("Should point view and preview URLs at the API when clients cannot reach the storage")
+    void shouldServeThroughApiWithoutDirectDownload() {
+        when(presignedUrlCache.getObjectKey("cert-1")).thenReturn(Optional.of("blobs/hash/file.pdf"));
+        when(certificateRepository.findById("cert-1"))
+                .thenReturn(Optional.of(Certificate.builder().id("cert-1").s3ObjectKey("blobs/hash/file.pdf").build()));
+        when(storagePort.supportsDirectDownload()).thenReturn(false);
+
+        assertEquals("/certificate/cert-1/file", certificateService.generatePresignedUrlForCertificate("cert-1"));
+        assertEquals("/certificate/cert-1/file",
+                certificateService.generatePresignedPreviewUrlForCertificate("cert-1", CertificatePreviews.Size.THUMBNAIL));
+        verify(storagePort, never()).generatePresignedDownloadUrl(any(), any());
+        verify(presignedUrlCache, never()).getOrSign(any(), any());
+    }
+
+    private static Certificate uploadReservation(String id, String owner) {
+        return Certificate.builder()
+                .id(id)
+                .createdBy(owner)
+                .s3ObjectKey("reserved-key.pdf")
+                .fileSize(1024L)
+                .status(CertificateStatus.PENDING_UPLOAD)
+                .build();
+    }
+
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
     }
 }
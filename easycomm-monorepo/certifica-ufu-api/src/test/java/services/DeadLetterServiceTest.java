@@ -0,0 +1,104 @@
+package services;
+
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateDeadLetter;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateRedriveResponse;
+import com.achcar_solutions.easycomm_core.infra.kafka.CertificateKafkaMessage;
+import com.achcar_solutions.easycomm_core.infra.kafka.CertificateTopics;
+import com.ufu_solutions.certifica_ufu_api.services.DeadLetterService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DeadLetterServiceTest {
+
+    private static final TopicPartition PARTITION = new TopicPartition(CertificateTopics.DEAD_LETTER_TOPIC, 0);
+
+    @Mock
+    private ConsumerFactory<String, CertificateKafkaMessage> deadLetterConsumerFactory;
+
+    @Mock
+    private KafkaTemplate<String, CertificateKafkaMessage> kafkaTemplate;
+
+    @Mock
+    private SendResult<String, CertificateKafkaMessage> sendResult;
+
+    @InjectMocks
+    private DeadLetterService deadLetterService;
+
+    private MockConsumer<String, CertificateKafkaMessage> consumer;
+
+    @BeforeEach
+    void setUp() {
+        consumer = spy(new MockConsumer<>(OffsetResetStrategy.EARLIEST));
+        consumer.updatePartitions(CertificateTopics.DEAD_LETTER_TOPIC, List.of(new PartitionInfo(CertificateTopics.DEAD_LETTER_TOPIC, 0, null, null, null)));
+        consumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+        consumer.updateEndOffsets(Map.of(PARTITION, 3L));
+        // Records can only be added once the partition is assigned, which happens inside the service.
+        consumer.schedulePollTask(() -> {
+            consumer.addRecord(deadLetter(0, "certificate-a"));
+            consumer.addRecord(deadLetter(1, "certificate-b"));
+            consumer.addRecord(deadLetter(2, "certificate-c"));
+        });
+        when(deadLetterConsumerFactory.createConsumer()).thenReturn(consumer);
+    }
+
+    @Test
+    @DisplayName("Should list dead letters with their failure metadata without committing")
+    void shouldListDeadLetters() {
+        List<CertificateDeadLetter> deadLetters = deadLetterService.listDeadLetters(10);
+
+        assertEquals(List.of("certificate-a", "certificate-b", "certificate-c"), deadLetters.stream().map(CertificateDeadLetter::certificateId).toList());
+        assertEquals(4, deadLetters.get(0).attempts());
+        assertEquals("java.io.IOException", deadLetters.get(0).exceptionClass());
+        assertEquals("corrupt PDF", deadLetters.get(0).exceptionMessage());
+        verify(consumer, never()).commitSync(anyMap());
+    }
+
+    @Test
+    @DisplayName("Should redrive up to the limit and commit only past what was sent")
+    void shouldRedriveUpToLimit() {
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(sendResult));
+
+        CertificateRedriveResponse response = deadLetterService.redrive(2);
+
+        assertEquals(2, response.redriven());
+        assertEquals(List.of("certificate-a", "certificate-b"), response.certificateIds());
+        verify(kafkaTemplate).send(eq(CertificateTopics.CERTIFICATE_TOPIC), eq("certificate-a"), any());
+        verify(kafkaTemplate).send(eq(CertificateTopics.CERTIFICATE_TOPIC), eq("certificate-b"), any());
+        verify(kafkaTemplate, never()).send(anyString(), eq("certificate-c"), any());
+        verify(consumer).commitSync(Map.of(PARTITION, new OffsetAndMetadata(2)));
+    }
+
+    private static ConsumerRecord<String, CertificateKafkaMessage> deadLetter(long offset, String certificateId) {
+        ConsumerRecord<String, CertificateKafkaMessage> record = new ConsumerRecord<>(CertificateTopics.DEAD_LETTER_TOPIC, 0, offset,
+                certificateId, new CertificateKafkaMessage(certificateId, certificateId + ".pdf"));
+        record.headers().add(CertificateTopics.ATTEMPTS_HEADER, "4".getBytes(StandardCharsets.UTF_8));
+        record.headers().add(CertificateTopics.EXCEPTION_CLASS_HEADER, "java.io.IOException".getBytes(StandardCharsets.UTF_8));
+        record.headers().add(CertificateTopics.EXCEPTION_MESSAGE_HEADER, "corrupt PDF".getBytes(StandardCharsets.UTF_8));
+        record.headers().add(CertificateTopics.FAILED_AT_HEADER, "1700000000000".getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+}
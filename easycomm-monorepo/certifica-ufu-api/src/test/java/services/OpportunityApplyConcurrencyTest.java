@@ -0,0 +1,140 @@
+package services;
+
+import com.achcar_solutions.easycomm_core.entities.opportunity.OpportunityDTO;
+import com.achcar_solutions.easycomm_core.entities.pagination.CursorPage;
+import com.achcar_solutions.easycomm_core.repositories.OpportunityApplicationRepository;
+import com.achcar_solutions.easycomm_core.repositories.OpportunityRepository;
+import com.achcar_solutions.easycomm_core.repositories.OpportunityRepositoryCustomImpl;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.ufu_solutions.certifica_ufu_api.infra.mongo.MongoIndexInitializer;
+import com.ufu_solutions.certifica_ufu_api.services.OpportunityService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Concurrent applies against a real MongoDB: many users applying to the same opportunity at once, as when a popular
+ * opportunity opens, plus repeated applies by some of them. No application may be lost or stored twice, both in the
+ * embedded list and in the overflow collection. Apply throughput under the same contention is measured by
+ * {@code OpportunityApplyBenchmark}, not here.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class OpportunityApplyConcurrencyTest {
+
+    private static final int APPLICANTS = 2_000;
+    private static final int DUPLICATE_APPLIES = 200;
+    private static final int EMBEDDED_LIMIT = 100;
+    private static final int CONCURRENCY = 64;
+
+    @Container
+    private static final MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    private static MongoClient mongoClient;
+    private static MongoTemplate mongoTemplate;
+    private static OpportunityRepository opportunityRepository;
+    private static OpportunityService opportunityService;
+
+    @BeforeAll
+    static void setup() {
+        mongoClient = MongoClients.create(mongo.getReplicaSetUrl("certifica_concurrency"));
+        mongoTemplate = new MongoTemplate(mongoClient, "certifica_concurrency");
+        MongoRepositoryFactory repositoryFactory = new MongoRepositoryFactory(mongoTemplate);
+        opportunityRepository = repositoryFactory.getRepository(OpportunityRepository.class,
+                RepositoryComposition.RepositoryFragments.just(new OpportunityRepositoryCustomImpl(mongoTemplate)));
+        OpportunityApplicationRepository applicationRepository = repositoryFactory.getRepository(OpportunityApplicationRepository.class);
+        opportunityService = new OpportunityService(opportunityRepository, applicationRepository, EMBEDDED_LIMIT);
+
+        new MongoIndexInitializer(mongoTemplate).ensureIndexes();
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mongoClient.close();
+    }
+
+    @Test
+    @DisplayName("Concurrent applies should keep every applicant exactly once")
+    void concurrentAppliesKeepEveryApplicant() throws Exception {
+        String opportunityId = createOpportunity("Popular");
+
+        runConcurrently(applicant -> {
+            SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(applicant, null));
+            opportunityService.addApplicant(opportunityId);
+        });
+
+        assertEquals(APPLICANTS, opportunityService.countApplicants(opportunityId));
+        assertEquals(EMBEDDED_LIMIT, opportunityRepository.findById(opportunityId).orElseThrow().getApplicants().size());
+        List<String> listed = listAllApplicants(opportunityId);
+        assertEquals(APPLICANTS, listed.size());
+        assertEquals(APPLICANTS, new HashSet<>(listed).size());
+    }
+
+    private static String createOpportunity(String title) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("admin@test.com", null));
+        return opportunityService.create(new OpportunityDTO(title, "Concurrency", 10)).getId();
+    }
+
+    private static void runConcurrently(ApplyCall call) throws Exception {
+        List<String> applies = new ArrayList<>(APPLICANTS + DUPLICATE_APPLIES);
+        for (int i = 0; i < APPLICANTS; i++) {
+            applies.add("student" + i + "@test.com");
+        }
+        for (int i = 0; i < DUPLICATE_APPLIES; i++) {
+            applies.add("student" + (i * 7 % APPLICANTS) + "@test.com");
+        }
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY)) {
+            List<Future<?>> futures = new ArrayList<>(applies.size());
+            for (String applicant : applies) {
+                futures.add(executor.submit(() -> {
+                    call.apply(applicant);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+    }
+
+    private static List<String> listAllApplicants(String opportunityId) {
+        List<String> applicants = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<String> page = opportunityService.findApplicants(opportunityId, cursor, 150);
+            applicants.addAll(page.items());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return applicants;
+    }
+
+    @FunctionalInterface
+    private interface ApplyCall {
+        void apply(String applicant);
+    }
+}
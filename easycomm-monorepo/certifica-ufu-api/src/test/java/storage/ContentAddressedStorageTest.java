@@ -0,0 +1,88 @@
+package storage;
+
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificatePreviews;
+import com.achcar_solutions.easycomm_core.entities.extraction.ExtractionCacheEntry;
+import com.achcar_solutions.easycomm_core.entities.storage.StoredBlob;
+import com.achcar_solutions.easycomm_core.infra.storage.InMemoryStorageAdapter;
+import com.achcar_solutions.easycomm_core.repositories.ExtractionCacheRepository;
+import com.achcar_solutions.easycomm_core.repositories.StoredBlobRepository;
+import com.ufu_solutions.certifica_ufu_api.infra.storage.ContentAddressedStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContentAddressedStorageTest {
+
+    private static final String OBJECT_KEY = "blobs/hash/6650c1e2a4b5c6d7e8f90123.pdf";
+    private static final CertificatePreviews PREVIEWS =
+            new CertificatePreviews("previews/hash/thumbnail.png", "previews/hash/preview.png");
+
+    @Mock
+    private StoredBlobRepository storedBlobRepository;
+
+    @Mock
+    private ExtractionCacheRepository extractionCacheRepository;
+
+    private InMemoryStorageAdapter storage;
+    private ContentAddressedStorage contentAddressedStorage;
+
+    @BeforeEach
+    void setup() {
+        storage = new InMemoryStorageAdapter();
+        storage.uploadFile(new byte[]{1}, OBJECT_KEY, "application/pdf");
+        storage.uploadFile(new byte[]{2}, PREVIEWS.thumbnailKey(), "image/png");
+        storage.uploadFile(new byte[]{3}, PREVIEWS.previewKey(), "image/png");
+        contentAddressedStorage = new ContentAddressedStorage(storage, storedBlobRepository, extractionCacheRepository);
+    }
+
+    @Test
+    @DisplayName("Releasing the last reference should delete the object, its previews and its cached extraction")
+    void lastReleaseDeletesDerivedData() {
+        when(storedBlobRepository.release("hash")).thenReturn(Optional.of(blob(0)));
+        when(storedBlobRepository.deleteIfUnreferenced("hash", OBJECT_KEY)).thenReturn(true);
+        when(extractionCacheRepository.findById("hash"))
+                .thenReturn(Optional.of(ExtractionCacheEntry.builder().contentHash("hash").previews(PREVIEWS).build()));
+
+        contentAddressedStorage.release("hash");
+
+        assertEquals(0, storage.size());
+        verify(extractionCacheRepository).deleteById("hash");
+    }
+
+    @Test
+    @DisplayName("Releasing a shared content should keep the object, its previews and its cached extraction")
+    void sharedReleaseKeepsDerivedData() {
+        when(storedBlobRepository.release("hash")).thenReturn(Optional.of(blob(2)));
+
+        contentAddressedStorage.release("hash");
+
+        assertEquals(3, storage.size());
+        verifyNoInteractions(extractionCacheRepository);
+    }
+
+    @Test
+    @DisplayName("Losing the race to a new upload of the same content should leave everything in place")
+    void releaseRacingNewUploadKeepsDerivedData() {
+        when(storedBlobRepository.release("hash")).thenReturn(Optional.of(blob(0)));
+        when(storedBlobRepository.deleteIfUnreferenced("hash", OBJECT_KEY)).thenReturn(false);
+
+        contentAddressedStorage.release("hash");
+
+        assertEquals(3, storage.size());
+        verify(extractionCacheRepository, never()).deleteById(any());
+    }
+
+    private static StoredBlob blob(long refCount) {
+        return StoredBlob.builder().contentHash("hash").objectKey(OBJECT_KEY).refCount(refCount).build();
+    }
+}
@@ -0,0 +1,95 @@
+package com.ufu_solutions.certifica_ufu_benchmarks;
+
+import com.achcar_solutions.easycomm_core.entities.certificate.Certificate;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateCategory;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateStatus;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateSummary;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of certificate lists as the API returns them: full {@link Certificate} documents and the
+ * {@link CertificateSummary} projection used by the paginated list endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CertificateSerializationBenchmark {
+
+    @Param({"1", "20", "100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<Certificate> certificates;
+    private List<CertificateSummary> summaries;
+
+    @Setup
+    public void setup() {
+        // Same module and date settings Spring Boot applies to the API's ObjectMapper.
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        certificates = new ArrayList<>(size);
+        summaries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Certificate certificate = certificate(i);
+            certificates.add(certificate);
+            summaries.add(CertificateSummary.of(certificate));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeCertificates() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(certificates);
+    }
+
+    @Benchmark
+    public byte[] serializeSummaries() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+
+    private static Certificate certificate(int index) {
+        String s3ObjectKey = UUID.randomUUID() + ".pdf";
+        return Certificate.builder()
+                .id(String.format("%024x", index))
+                .version(1L)
+                .createdBy("student" + index + "@ufu.br")
+                .createdDate(LocalDateTime.now().minusDays(index))
+                .lastModifiedBy("admin@ufu.br")
+                .lastModifiedDate(LocalDateTime.now())
+                .title("Workshop de Docker e Kubernetes " + index)
+                .category(CertificateCategory.values()[index % CertificateCategory.values().length])
+                .durationInHours(8)
+                .expirationDate(LocalDate.now().plusYears(1))
+                .fileUrl("https://certifica-bucket.s3.us-east-1.amazonaws.com/" + s3ObjectKey)
+                .fileName("certificado_" + index + ".pdf")
+                .fileType(".pdf")
+                .fileSize(482_133L)
+                .s3ObjectKey(s3ObjectKey)
+                .status(index % 3 == 0 ? CertificateStatus.DENIED : CertificateStatus.APPROVED)
+                .validator_id("admin@ufu.br")
+                .validationTimestamp(LocalDateTime.now())
+                .rejectionReason(index % 3 == 0 ? "O documento não contém a data de emissão." : null)
+                .build();
+    }
+}
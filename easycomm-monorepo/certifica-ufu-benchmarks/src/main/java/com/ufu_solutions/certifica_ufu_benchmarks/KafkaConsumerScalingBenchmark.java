@@ -0,0 +1,148 @@
+package com.ufu_solutions.certifica_ufu_benchmarks;
+
+import com.achcar_solutions.easycomm_core.infra.kafka.CertificateKafkaMessage;
+import com.achcar_solutions.easycomm_core.infra.kafka.CertificateKafkaMessageSerializer;
+import com.ufu_solutions.certifica_ufu_processor.infra.kafka.KafkaConsumerConfig;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.AcknowledgingMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How long the processor's consumers take to drain a keyed load from a 4-partition topic, with one consumer, four
+ * consumer threads in one instance ({@code 1x4}) and two instances of two threads each ({@code 2x2}). Processing time
+ * is simulated, so the difference between layouts is how well the partitions spread the work. Each invocation uses a
+ * fresh topic and group; broker start-up and partition assignment are outside the measurement.
+ * <p>
+ * Run with {@code java -jar certifica-ufu-benchmarks/target/benchmarks.jar KafkaConsumerScalingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class KafkaConsumerScalingBenchmark {
+
+    private static final int PARTITIONS = 4;
+    private static final int CERTIFICATES = 40;
+    private static final int MESSAGES_PER_CERTIFICATE = 5;
+    private static final long PROCESSING_MILLIS = 20;
+
+    /** Instances x consumer threads per instance. */
+    @Param({"1x1", "1x4", "2x2"})
+    private String layout;
+
+    private EmbeddedKafkaKraftBroker broker;
+    private KafkaTemplate<String, CertificateKafkaMessage> template;
+
+    private String topic;
+    private CountDownLatch processed;
+    private List<ConcurrentMessageListenerContainer<String, CertificateKafkaMessage>> containers;
+
+    @Setup(Level.Trial)
+    public void startBroker() {
+        broker = new EmbeddedKafkaKraftBroker(1, PARTITIONS);
+        broker.afterPropertiesSet();
+        Map<String, Object> props = KafkaTestUtils.producerProps(broker);
+        template = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(props, new StringSerializer(), new CertificateKafkaMessageSerializer()));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopBroker() {
+        template.destroy();
+        broker.destroy();
+    }
+
+    @Setup(Level.Invocation)
+    public void startConsumers() throws InterruptedException {
+        String[] instancesAndConcurrency = layout.split("x");
+        int instances = Integer.parseInt(instancesAndConcurrency[0]);
+        int concurrency = Integer.parseInt(instancesAndConcurrency[1]);
+
+        topic = "certificates-" + UUID.randomUUID();
+        broker.addTopics(new NewTopic(topic, PARTITIONS, (short) 1));
+        processed = new CountDownLatch(CERTIFICATES * MESSAGES_PER_CERTIFICATE);
+
+        KafkaConsumerConfig config = new KafkaConsumerConfig(broker.getBrokersAsString(), concurrency, 64, 200);
+        String groupId = "scaling-" + UUID.randomUUID();
+        containers = new ArrayList<>();
+        for (int i = 0; i < instances; i++) {
+            ConcurrentMessageListenerContainer<String, CertificateKafkaMessage> container =
+                    config.kafkaListenerContainerFactory().createContainer(topic);
+            container.setBeanName("instance-" + i);
+            container.getContainerProperties().setGroupId(groupId);
+            container.setupMessageListener((AcknowledgingMessageListener<String, CertificateKafkaMessage>) (record, acknowledgment) -> {
+                try {
+                    Thread.sleep(PROCESSING_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                acknowledgment.acknowledge();
+                processed.countDown();
+            });
+            container.start();
+            containers.add(container);
+        }
+        awaitAssignment(Math.min(instances * concurrency, PARTITIONS));
+    }
+
+    @TearDown(Level.Invocation)
+    public void stopConsumers() {
+        containers.forEach(ConcurrentMessageListenerContainer::stop);
+    }
+
+    @Benchmark
+    public long drain() throws InterruptedException {
+        for (int sequence = 0; sequence < MESSAGES_PER_CERTIFICATE; sequence++) {
+            for (int certificate = 0; certificate < CERTIFICATES; certificate++) {
+                String certificateId = "certificate-" + certificate;
+                template.send(topic, certificateId, new CertificateKafkaMessage(certificateId, certificateId + "/" + sequence));
+            }
+        }
+        template.flush();
+        if (!processed.await(60, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Only " + (CERTIFICATES * MESSAGES_PER_CERTIFICATE - processed.getCount()) + " messages processed");
+        }
+        return processed.getCount();
+    }
+
+    private void awaitAssignment(int expectedOwners) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (System.nanoTime() < deadline) {
+            long owners = containers.stream()
+                    .flatMap(container -> container.getAssignmentsByClientId().values().stream())
+                    .filter(partitions -> !partitions.isEmpty())
+                    .count();
+            if (owners == expectedOwners) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        throw new IllegalStateException("Partitions were not assigned to " + expectedOwners + " consumers in time");
+    }
+}
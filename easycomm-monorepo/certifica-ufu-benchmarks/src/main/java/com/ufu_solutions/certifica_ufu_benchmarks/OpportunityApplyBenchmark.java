@@ -0,0 +1,149 @@
+package com.ufu_solutions.certifica_ufu_benchmarks;
+
+import com.achcar_solutions.easycomm_core.entities.opportunity.OpportunityApplicationResponse;
+import com.achcar_solutions.easycomm_core.entities.opportunity.OpportunityDTO;
+import com.achcar_solutions.easycomm_core.repositories.OpportunityApplicationRepository;
+import com.achcar_solutions.easycomm_core.repositories.OpportunityRepository;
+import com.achcar_solutions.easycomm_core.repositories.OpportunityRepositoryCustomImpl;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.ufu_solutions.certifica_ufu_api.infra.mongo.MongoIndexInitializer;
+import com.ufu_solutions.certifica_ufu_api.services.OpportunityService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.testcontainers.containers.MongoDBContainer;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Apply throughput of {@link OpportunityService#addApplicant} when many users apply to the same opportunity at once,
+ * against a real MongoDB. {@code embedded} measures the atomic {@code $addToSet} path, with a limit high enough that the
+ * list never fills during an iteration; {@code overflow} measures a popular opportunity whose embedded list is already
+ * full, where each apply goes to the overflow collection. {@code reapply} is a user applying again, which must be
+ * answered as a duplicate without writing. Each iteration uses a fresh opportunity.
+ * <p>
+ * Uses the MongoDB at {@code -Dbenchmark.mongo.uri} when given, or starts one with Testcontainers (needs Docker).
+ * Run with {@code java -jar certifica-ufu-benchmarks/target/benchmarks.jar OpportunityApplyBenchmark}; {@code -t}
+ * changes the number of concurrent applicants.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(16)
+@Fork(1)
+public class OpportunityApplyBenchmark {
+
+    private static final String DATABASE = "certifica_benchmark";
+    private static final int OVERFLOW_LIMIT = 100;
+    private static final int REAPPLY_APPLICANTS = 1_000;
+
+    @Param({"embedded", "overflow"})
+    private String path;
+
+    private MongoDBContainer container;
+    private MongoClient mongoClient;
+    private MongoTemplate mongoTemplate;
+    private OpportunityService opportunityService;
+
+    private String opportunityId;
+
+    @Setup(Level.Trial)
+    public void startMongo() {
+        String uri = System.getProperty("benchmark.mongo.uri");
+        if (uri == null) {
+            container = new MongoDBContainer("mongo:7.0");
+            container.start();
+            uri = container.getReplicaSetUrl(DATABASE);
+        }
+        mongoClient = MongoClients.create(uri);
+        mongoTemplate = new MongoTemplate(mongoClient, DATABASE);
+        MongoRepositoryFactory repositoryFactory = new MongoRepositoryFactory(mongoTemplate);
+        OpportunityRepository opportunityRepository = repositoryFactory.getRepository(OpportunityRepository.class,
+                RepositoryComposition.RepositoryFragments.just(new OpportunityRepositoryCustomImpl(mongoTemplate)));
+        OpportunityApplicationRepository applicationRepository = repositoryFactory.getRepository(OpportunityApplicationRepository.class);
+        int embeddedLimit = path.equals("overflow") ? OVERFLOW_LIMIT : Integer.MAX_VALUE;
+        opportunityService = new OpportunityService(opportunityRepository, applicationRepository, embeddedLimit);
+
+        new MongoIndexInitializer(mongoTemplate).ensureIndexes();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopMongo() {
+        mongoTemplate.getDb().drop();
+        mongoClient.close();
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    /**
+     * A fresh opportunity that already has the applicants {@code reapply} uses; with the overflow limit, they also fill
+     * the embedded list, so {@code apply} starts on the overflow path.
+     */
+    @Setup(Level.Iteration)
+    public void createOpportunity() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("admin@test.com", null));
+        opportunityId = opportunityService.create(new OpportunityDTO("Popular " + UUID.randomUUID(), "Benchmark", 10)).getId();
+        for (int i = 0; i < REAPPLY_APPLICANTS; i++) {
+            applyAs(Applicant.existing(i));
+        }
+    }
+
+    @Benchmark
+    public OpportunityApplicationResponse apply(Applicant applicant) {
+        return applyAs(applicant.next());
+    }
+
+    @Benchmark
+    public OpportunityApplicationResponse reapply(Applicant applicant) {
+        return applyAs(applicant.nextExisting());
+    }
+
+    private OpportunityApplicationResponse applyAs(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(username, null));
+        return opportunityService.addApplicant(opportunityId);
+    }
+
+    /** Usernames of one benchmark thread: new ones never repeat across threads, existing ones cycle through the seeded applicants. */
+    @State(Scope.Thread)
+    public static class Applicant {
+
+        private static final AtomicInteger THREADS = new AtomicInteger();
+
+        private final int thread = THREADS.getAndIncrement();
+        private long applies;
+
+        static String existing(int index) {
+            return "seeded" + index + "@test.com";
+        }
+
+        String next() {
+            return "student" + thread + "-" + applies++ + "@test.com";
+        }
+
+        String nextExisting() {
+            return existing((int) (applies++ % REAPPLY_APPLICANTS));
+        }
+    }
+}
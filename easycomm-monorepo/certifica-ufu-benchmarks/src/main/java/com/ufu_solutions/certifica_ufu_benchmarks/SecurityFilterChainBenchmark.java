@@ -0,0 +1,134 @@
+package com.ufu_solutions.certifica_ufu_benchmarks;
+
+import com.achcar_solutions.easycomm_core.entities.authuser.AuthUser;
+import com.achcar_solutions.easycomm_core.entities.authuser.UserRole;
+import com.achcar_solutions.easycomm_core.repositories.AuthUserRepository;
+import com.ufu_solutions.certifica_ufu_api.security.SecurityConfiguration;
+import com.ufu_solutions.certifica_ufu_api.security.SecurityFilter;
+import com.ufu_solutions.certifica_ufu_api.security.TokenRevocationRegistry;
+import com.ufu_solutions.certifica_ufu_api.security.TokenService;
+import jakarta.servlet.Filter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One authenticated request through the API's real Spring Security filter chain, built from
+ * {@link SecurityConfiguration}, in both authentication modes. The user repository answers from memory, so the
+ * {@code database} numbers exclude the Mongo round trip itself; add the observed query latency when sizing pods.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityFilterChainBenchmark {
+
+    private static final String AUTHENTICATION_MODE = "api.security.authentication-mode";
+    private static final AuthUser USER = AuthUser.builder()
+            .email("student@ufu.br")
+            .name("Student")
+            .role(UserRole.USER)
+            .build();
+
+    @Param({"stateless", "database"})
+    private String authenticationMode;
+
+    private AnnotationConfigWebApplicationContext context;
+    private Filter springSecurityFilterChain;
+    private String token;
+
+    @Setup
+    public void setup() {
+        context = new AnnotationConfigWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.getEnvironment().getPropertySources()
+                .addFirst(new MapPropertySource("benchmark", Map.of(AUTHENTICATION_MODE, authenticationMode)));
+        context.register(SecurityConfiguration.class, BenchmarkSecurityBeans.class);
+        context.refresh();
+
+        springSecurityFilterChain = context.getBean("springSecurityFilterChain", Filter.class);
+        token = context.getBean(TokenService.class).generateToken(USER);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/certificate/my-documents");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        springSecurityFilterChain.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+
+    // The beans SecurityConfiguration needs, without Mongo: the MVC introspector comes from @EnableWebMvc.
+    @Configuration
+    @EnableWebMvc
+    static class BenchmarkSecurityBeans {
+
+        @Bean
+        TokenService tokenService() {
+            return new TokenService(TokenServiceBenchmark.SECRET, Duration.ofHours(2));
+        }
+
+        @Bean
+        AuthUserRepository authUserRepository() {
+            return (AuthUserRepository) Proxy.newProxyInstance(AuthUserRepository.class.getClassLoader(),
+                    new Class<?>[]{AuthUserRepository.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "findByEmail" -> USER;
+                        case "findTokenVersion" -> Optional.of(USER.currentTokenVersion());
+                        case "findTokenVersionsChangedSince" -> List.of();
+                        case "toString" -> "InMemoryAuthUserRepository";
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+
+        @Bean
+        TokenRevocationRegistry tokenRevocationRegistry(AuthUserRepository authUserRepository, TokenService tokenService) {
+            TokenRevocationRegistry tokenRevocationRegistry = new TokenRevocationRegistry(authUserRepository, tokenService, 10_000);
+            tokenRevocationRegistry.refresh();
+            return tokenRevocationRegistry;
+        }
+
+        @Bean
+        SecurityFilter securityFilter(TokenService tokenService, AuthUserRepository authUserRepository,
+                                      TokenRevocationRegistry tokenRevocationRegistry, Environment environment) {
+            return new SecurityFilter(tokenService, authUserRepository, tokenRevocationRegistry,
+                    environment.getRequiredProperty(AUTHENTICATION_MODE));
+        }
+    }
+}
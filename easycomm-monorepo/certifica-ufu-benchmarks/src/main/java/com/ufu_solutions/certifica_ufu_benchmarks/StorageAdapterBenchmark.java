@@ -0,0 +1,102 @@
+package com.ufu_solutions.certifica_ufu_benchmarks;
+
+import com.achcar_solutions.easycomm_core.infra.ports.StoragePort;
+import com.achcar_solutions.easycomm_core.infra.storage.FileSystemStorageAdapter;
+import com.achcar_solutions.easycomm_core.infra.storage.InMemoryStorageAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * The storage layer on its own, without S3: the operations the upload and processing paths make per certificate.
+ * {@code uploadStream} is the API upload, {@code copy} the promotion from staging to the content-addressed key and
+ * {@code downloadToFile} the processor's spill to a temp file. Sizes go up to the 15 MB upload limit.
+ * <p>
+ * Run with {@code java -jar certifica-ufu-benchmarks/target/benchmarks.jar StorageAdapterBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StorageAdapterBenchmark {
+
+    private static final String SOURCE_KEY = "blobs/benchmark/source.pdf";
+
+    @Param({"filesystem", "memory"})
+    private String adapter;
+
+    @Param({"65536", "1048576", "15728640"})
+    private int fileSize;
+
+    private Path root;
+    private Path downloadTarget;
+    private StoragePort storagePort;
+    private byte[] content;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        content = new byte[fileSize];
+        new Random(42).nextBytes(content);
+        root = Files.createTempDirectory("storage-benchmark-");
+        downloadTarget = Files.createTempFile(root, "download-", ".pdf");
+        storagePort = adapter.equals("filesystem") ? new FileSystemStorageAdapter(root.resolve("objects")) : new InMemoryStorageAdapter();
+        storagePort.uploadFile(content, SOURCE_KEY, "application/pdf");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public String uploadStream() {
+        return storagePort.uploadFile(new ByteArrayInputStream(content), content.length, "staging/benchmark.pdf", "application/pdf");
+    }
+
+    @Benchmark
+    public void copy() {
+        storagePort.copyFile(SOURCE_KEY, "blobs/benchmark/copy.pdf");
+    }
+
+    @Benchmark
+    public long downloadToFile() throws IOException {
+        try (InputStream inputStream = storagePort.openFile(SOURCE_KEY)) {
+            return Files.copy(inputStream, downloadTarget, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Benchmark
+    public long readFully() throws IOException {
+        try (InputStream inputStream = storagePort.openFile(SOURCE_KEY)) {
+            return inputStream.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+}
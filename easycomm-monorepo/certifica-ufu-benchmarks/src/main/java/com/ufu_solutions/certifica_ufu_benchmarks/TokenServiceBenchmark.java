@@ -0,0 +1,75 @@
+package com.ufu_solutions.certifica_ufu_benchmarks;
+
+import com.achcar_solutions.easycomm_core.entities.authuser.AuthUser;
+import com.achcar_solutions.easycomm_core.entities.authuser.UserRole;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.ufu_solutions.certifica_ufu_api.security.TokenClaims;
+import com.ufu_solutions.certifica_ufu_api.security.TokenService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of issuing and verifying a JWT. {@code verifyRebuildingVerifier} reproduces the old implementation, which
+ * built {@code Algorithm.HMAC256} and the verifier on every call, and is kept as the baseline.
+ * <p>
+ * Build with {@code mvn -pl certifica-ufu-benchmarks -am package -DskipTests} and run with
+ * {@code java -jar certifica-ufu-benchmarks/target/benchmarks.jar TokenServiceBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    static final String SECRET = "benchmark-secret";
+
+    private TokenService tokenService;
+    private AuthUser authUser;
+    private String token;
+
+    @Setup
+    public void setup() {
+        tokenService = new TokenService(SECRET, Duration.ofHours(2));
+        authUser = AuthUser.builder()
+                .email("student@ufu.br")
+                .name("Student")
+                .role(UserRole.USER)
+                .build();
+        token = tokenService.generateToken(authUser);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenService.generateToken(authUser);
+    }
+
+    @Benchmark
+    public Optional<TokenClaims> verifyToken() {
+        return tokenService.verifyToken(token);
+    }
+
+    @Benchmark
+    public String verifyRebuildingVerifier() {
+        Algorithm encryptionAlgorithm = Algorithm.HMAC256(SECRET);
+        return JWT.require(encryptionAlgorithm)
+                .withIssuer("certifica-ufu")
+                .build()
+                .verify(token)
+                .getSubject();
+    }
+}
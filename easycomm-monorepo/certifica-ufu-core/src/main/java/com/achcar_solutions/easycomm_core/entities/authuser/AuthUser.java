@@ -8,6 +8,7 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
@@ -28,6 +29,14 @@ public class AuthUser implements UserDetails {
     @Indexed(unique = true)
     private String cpf;
     private UserRole role;
+    // Incrementado para invalidar os tokens já emitidos (revogação ou mudança de papel).
+    private Long tokenVersion;
+    @Indexed(sparse = true)
+    private LocalDateTime tokenVersionChangedAt;
+
+    public long currentTokenVersion() {
+        return tokenVersion == null ? 0L : tokenVersion;
+    }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
@@ -7,6 +7,9 @@ import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedBy;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.FieldType;
 import org.springframework.data.mongodb.core.mapping.MongoId;
@@ -20,12 +23,24 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Builder
 @Document(collection = "certificates")
+@CompoundIndexes({
+        // Uma submissão por (usuário, título, categoria): a duplicidade é detectada pelo próprio insert.
+        @CompoundIndex(name = "createdBy_title_category_unique", def = "{'createdBy': 1, 'title': 1, 'category': 1}", unique = true),
+        // O _id no fim permite que as listagens paginadas por (createdDate, _id) sejam servidas pelo índice, sem SORT em memória.
+        @CompoundIndex(name = "createdBy_createdDate", def = "{'createdBy': 1, 'createdDate': -1, '_id': -1}"),
+        @CompoundIndex(name = "status_createdDate", def = "{'status': 1, 'createdDate': -1, '_id': -1}"),
+        @CompoundIndex(name = "createdDate", def = "{'createdDate': -1, '_id': -1}")
+})
 @Schema(description = "Representa um certificado e todos os seus metadados no sistema.")
 public class Certificate {
     @MongoId(FieldType.OBJECT_ID)
     @Schema(description = "ID único do certificado gerado pelo MongoDB.", example = "60d5f1b3e6b3f1a2b3c4d5e6")
     private String id;
 
+    @Version
+    @Schema(description = "Versão do documento, incrementada a cada mudança de estado (controle de concorrência otimista).", example = "3")
+    private Long version;
+
     @CreatedBy
     @Schema(description = "Identificador do usuário que submeteu o certificado.", example = "user@email.com")
     private String createdBy;
@@ -61,6 +76,13 @@ public class Certificate {
     @Schema(description = "Tipo MIME do arquivo enviado.", example = "application/pdf")
     private String fileType;
 
+    @Schema(description = "Tamanho do arquivo em bytes.", example = "482133")
+    private Long fileSize;
+
+    @Nullable
+    @Schema(description = "SHA-256 do conteúdo do arquivo, calculado no upload ou pelo processador.", example = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08")
+    private String contentHash;
+
     @Schema(description = "Chave única do objeto no bucket S3.", example = "a1b2c3d4-e5f6-4a7b-8c9d-0e1f2a3b4c5d.pdf")
     private String s3ObjectKey;
 
@@ -78,4 +100,16 @@ public class Certificate {
     @Nullable
     @Schema(description = "Motivo da rejeição, caso o status seja DENIED.")
     private String rejectionReason;
+
+    @Nullable
+    @Schema(description = "Texto extraído do documento pelo processador (camada de texto do PDF ou OCR).")
+    private String extractedText;
+
+    @Nullable
+    @Schema(description = "Tempos de cada etapa do processamento automático.")
+    private CertificateProcessingStats processingStats;
+
+    @Nullable
+    @Schema(description = "Miniatura e pré-visualização da primeira página, geradas pelo processador.")
+    private CertificatePreviews previews;
 }
@@ -0,0 +1,23 @@
+package com.achcar_solutions.easycomm_core.entities.certificate;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record CertificateBulkValidationRequest(
+        @Schema(description = "IDs of the certificates to validate.", example = "[\"60d5f1b3e6b3f1a2b3c4d5e6\", \"60d5f1b3e6b3f1a2b3c4d5e7\"]")
+        @NotEmpty(message = "At least one certificate ID is required.")
+        @Size(max = 500, message = "At most 500 certificates can be validated at once.")
+        List<String> ids,
+
+        @Schema(description = "The new status for all the certificates (APPROVED or DENIED).", example = "APPROVED")
+        @NotNull(message = "Status is required.")
+        CertificateStatus status,
+
+        @Schema(description = "Reason for rejection (required if status is DENIED).", example = "O documento não contém a data de emissão.")
+        String rejectionReason
+) {
+}
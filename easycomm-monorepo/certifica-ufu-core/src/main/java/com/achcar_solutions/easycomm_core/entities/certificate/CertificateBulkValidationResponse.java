@@ -0,0 +1,30 @@
+package com.achcar_solutions.easycomm_core.entities.certificate;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record CertificateBulkValidationResponse(
+        @Schema(description = "Number of certificates that were actually validated.", example = "42")
+        int updated,
+
+        @Schema(description = "Outcome of each requested ID, in request order.")
+        List<ItemResult> results
+) {
+
+    public record ItemResult(
+            @Schema(description = "ID do certificado.", example = "60d5f1b3e6b3f1a2b3c4d5e6")
+            String id,
+
+            @Schema(description = "Resultado da validação para este certificado.")
+            Outcome outcome
+    ) {
+    }
+
+    public enum Outcome {
+        UPDATED,
+        NOT_FOUND,
+        NOT_PENDING,
+        INVALID_ID
+    }
+}
@@ -0,0 +1,32 @@
+package com.achcar_solutions.easycomm_core.entities.certificate;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+public record CertificateDeadLetter(
+        @Schema(description = "ID do certificado.", example = "60d5f1b3e6b3f1a2b3c4d5e6")
+        String certificateId,
+
+        @Schema(description = "Storage key of the certificate file.")
+        String s3ObjectKey,
+
+        @Schema(description = "How many times processing failed before the certificate was dead-lettered.", example = "4")
+        int attempts,
+
+        @Schema(description = "Class of the last exception, when the failure came from one.", example = "java.io.IOException")
+        String exceptionClass,
+
+        @Schema(description = "Message of the last failure.")
+        String exceptionMessage,
+
+        @Schema(description = "When the last failure happened.")
+        Instant failedAt,
+
+        @Schema(description = "Partition of the dead-letter record.", example = "0")
+        int partition,
+
+        @Schema(description = "Offset of the dead-letter record.", example = "17")
+        long offset
+) {
+}
@@ -0,0 +1,26 @@
+package com.achcar_solutions.easycomm_core.entities.certificate;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Small renditions of the first page of a certificate file, rendered by the processor so the review UI does not have
+ * to download the original. They depend only on the file content, so certificates with the same hash share them.
+ */
+@Schema(description = "Chaves das miniaturas renderizadas a partir da primeira página do arquivo.")
+public record CertificatePreviews(
+        @Schema(description = "Chave da miniatura no bucket.", example = "previews/9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08/thumbnail.png")
+        String thumbnailKey,
+
+        @Schema(description = "Chave da pré-visualização de tamanho médio no bucket.", example = "previews/9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08/preview.png")
+        String previewKey
+) {
+
+    public enum Size {
+        THUMBNAIL,
+        PREVIEW
+    }
+
+    public String keyFor(Size size) {
+        return size == Size.THUMBNAIL ? thumbnailKey : previewKey;
+    }
+}
@@ -0,0 +1,16 @@
+package com.achcar_solutions.easycomm_core.entities.certificate;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * What the processor decided about a certificate: the status it should move to (PENDING means "send to admin
+ * review"), the reason when it was denied, the extracted text with its timings, the hash of the file content and the
+ * preview renditions, when they could be rendered.
+ */
+public record CertificateProcessingResult(CertificateStatus status,
+                                          @Nullable String rejectionReason,
+                                          String extractedText,
+                                          String contentHash,
+                                          CertificateProcessingStats stats,
+                                          @Nullable CertificatePreviews previews) {
+}
@@ -0,0 +1,33 @@
+package com.achcar_solutions.easycomm_core.entities.certificate;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Tempos por etapa da extração de texto de um certificado.")
+public record CertificateProcessingStats(
+        @Schema(description = "Páginas analisadas (limitadas pela configuração do processador).", example = "2")
+        int pageCount,
+
+        @Schema(description = "Páginas sem camada de texto, que passaram por OCR.", example = "1")
+        int ocrPageCount,
+
+        @Schema(description = "Tempo de download do arquivo, em milissegundos.", example = "85")
+        long downloadMillis,
+
+        @Schema(description = "Tempo de leitura da camada de texto do PDF, em milissegundos.", example = "12")
+        long textLayerMillis,
+
+        @Schema(description = "Tempo de rasterização das páginas sem texto, em milissegundos.", example = "240")
+        long rasterizeMillis,
+
+        @Schema(description = "Tempo de OCR, incluindo a espera por um motor livre, em milissegundos.", example = "1830")
+        long ocrMillis,
+
+        @Schema(description = "Se o texto veio do cache de extração (arquivo idêntico já processado) em vez de download e OCR.")
+        boolean fromCache,
+
+        @Schema(description = "Momento em que o processamento terminou.")
+        LocalDateTime processedAt
+) {
+}
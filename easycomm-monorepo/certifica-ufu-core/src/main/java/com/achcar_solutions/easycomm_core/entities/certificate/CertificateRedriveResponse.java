@@ -0,0 +1,14 @@
+package com.achcar_solutions.easycomm_core.entities.certificate;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record CertificateRedriveResponse(
+        @Schema(description = "Number of dead-lettered certificates sent back for processing.", example = "3")
+        int redriven,
+
+        @Schema(description = "IDs of the certificates sent back, in dead-letter order.")
+        List<String> certificateIds
+) {
+}
@@ -6,5 +6,6 @@ import lombok.Getter;
 public enum CertificateStatus {
     APPROVED,
     DENIED,
-    PENDING;
+    PENDING,
+    PENDING_UPLOAD;
 }
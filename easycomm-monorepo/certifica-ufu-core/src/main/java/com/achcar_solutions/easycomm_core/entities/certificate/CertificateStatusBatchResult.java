@@ -0,0 +1,10 @@
+package com.achcar_solutions.easycomm_core.entities.certificate;
+
+import java.util.Map;
+
+/**
+ * Result of one bulk write over certificates: how many changed and the write error of each one that failed,
+ * keyed by certificate id. Certificates that simply did not match the write's condition appear in neither.
+ */
+public record CertificateStatusBatchResult(int modified, Map<String, String> failures) {
+}
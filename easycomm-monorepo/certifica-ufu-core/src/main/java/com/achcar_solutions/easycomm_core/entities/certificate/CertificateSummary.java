@@ -0,0 +1,58 @@
+package com.achcar_solutions.easycomm_core.entities.certificate;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight view of a {@link Certificate} used by the list endpoints; only these fields are read from Mongo.
+ */
+@Schema(description = "Resumo de um certificado para as listagens.")
+public record CertificateSummary(
+        @Schema(description = "ID único do certificado.", example = "60d5f1b3e6b3f1a2b3c4d5e6")
+        String id,
+
+        @Schema(description = "Título do certificado.", example = "Workshop de Docker e Kubernetes")
+        String title,
+
+        @Schema(description = "Categoria do certificado.")
+        CertificateCategory category,
+
+        @Schema(description = "Carga horária em horas inteiras.", example = "8")
+        Integer durationInHours,
+
+        @Schema(description = "Status atual do processo de validação do certificado.")
+        CertificateStatus status,
+
+        @Schema(description = "Identificador do usuário que submeteu o certificado.", example = "user@email.com")
+        String createdBy,
+
+        @Schema(description = "Data e hora da criação do registro.")
+        LocalDateTime createdDate,
+
+        @Schema(description = "Nome original do arquivo enviado.", example = "certificado_docker.pdf")
+        String fileName,
+
+        @Schema(description = "Motivo da rejeição, caso o status seja DENIED.")
+        String rejectionReason,
+
+        @Schema(description = "Versão do documento, para validações com controle de concorrência.", example = "3")
+        Long version,
+
+        @Schema(description = "Chave da miniatura da primeira página, ausente enquanto o processador não a gerou.",
+                example = "previews/9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08/thumbnail.png")
+        String thumbnailKey
+) {
+
+    /**
+     * Builds the summary from a certificate read with only the summary fields; the thumbnail is nested under
+     * {@code previews} in the document, which a flat projection cannot reach.
+     */
+    public static CertificateSummary of(Certificate certificate) {
+        return new CertificateSummary(certificate.getId(), certificate.getTitle(), certificate.getCategory(),
+                certificate.getDurationInHours(), certificate.getStatus(), certificate.getCreatedBy(),
+                certificate.getCreatedDate(), certificate.getFileName(), certificate.getRejectionReason(),
+                certificate.getVersion(),
+                certificate.getPreviews() == null ? null : certificate.getPreviews().thumbnailKey());
+    }
+}
@@ -0,0 +1,38 @@
+package com.achcar_solutions.easycomm_core.entities.certificate;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.time.LocalDate;
+
+public record CertificateUploadRequest(
+        @Schema(description = "Título ou nome do certificado.", example = "Palestra sobre Microserviços")
+        @NotBlank(message = "Title is required.")
+        String title,
+
+        @Schema(description = "Categoria do certificado conforme tabela de atividades da UFU.")
+        @NotNull(message = "Category is required.")
+        CertificateCategory category,
+
+        @Schema(description = "Carga horária do certificado em horas.", example = "4")
+        Integer durationInHours,
+
+        @Schema(description = "Data de expiração do certificado, se aplicável.", example = "2025-12-31")
+        LocalDate expirationDate,
+
+        @Schema(description = "Nome original do arquivo que será enviado.", example = "certificado_docker.pdf")
+        @NotBlank(message = "File name is required.")
+        String fileName,
+
+        @Schema(description = "Tipo MIME do arquivo que será enviado.", example = "application/pdf")
+        @NotBlank(message = "Content type is required.")
+        String contentType,
+
+        @Schema(description = "Tamanho exato do arquivo em bytes.", example = "482133")
+        @NotNull(message = "File size is required.")
+        @Positive(message = "File size must be positive.")
+        Long fileSize
+) {
+}
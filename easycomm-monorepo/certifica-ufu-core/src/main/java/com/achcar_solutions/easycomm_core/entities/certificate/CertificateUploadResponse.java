@@ -0,0 +1,20 @@
+package com.achcar_solutions.easycomm_core.entities.certificate;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+public record CertificateUploadResponse(
+        @Schema(description = "ID do certificado reservado, em estado PENDING_UPLOAD.", example = "60d5f1b3e6b3f1a2b3c4d5e6")
+        String certificateId,
+
+        @Schema(description = "Chave do objeto que deve ser enviado.", example = "a1b2c3d4-e5f6-4a7b-8c9d-0e1f2a3b4c5d.pdf")
+        String s3ObjectKey,
+
+        @Schema(description = "URL pré-assinada para o PUT do arquivo. Os headers Content-Type e Content-Length devem ser idênticos aos declarados.")
+        String uploadUrl,
+
+        @Schema(description = "Instante em que a URL de upload expira.")
+        Instant expiresAt
+) {
+}
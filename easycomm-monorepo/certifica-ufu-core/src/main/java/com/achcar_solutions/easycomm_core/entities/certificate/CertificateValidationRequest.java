@@ -9,6 +9,9 @@ public record CertificateValidationRequest(
         CertificateStatus status,
 
         @Schema(description = "Reason for rejection (required if status is DENIED).", example = "O documento não contém a data de emissão.")
-        String rejectionReason
+        String rejectionReason,
+
+        @Schema(description = "Version of the certificate the decision was based on. When given, the validation fails if the certificate changed in the meantime.", example = "3")
+        Long version
 ) {
 }
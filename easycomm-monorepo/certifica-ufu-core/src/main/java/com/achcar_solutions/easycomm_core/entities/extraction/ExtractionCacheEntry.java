@@ -0,0 +1,41 @@
+package com.achcar_solutions.easycomm_core.entities.extraction;
+
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificatePreviews;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Text extracted from one file, keyed by the SHA-256 of its content. A resubmitted or shared file (the same event
+ * certificate uploaded by many students) is extracted once; later certificates with the same hash reuse the entry.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Document(collection = "extraction_cache")
+@Schema(description = "Resultado da extração de texto de um arquivo, indexado pelo hash do conteúdo.")
+public class ExtractionCacheEntry {
+    @Id
+    @Schema(description = "SHA-256 do conteúdo do arquivo, em hexadecimal.", example = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08")
+    private String contentHash;
+
+    @Schema(description = "Texto extraído do arquivo.")
+    private String extractedText;
+
+    @Schema(description = "Páginas analisadas.", example = "2")
+    private int pageCount;
+
+    @Schema(description = "Páginas que precisaram de OCR.", example = "1")
+    private int ocrPageCount;
+
+    @Schema(description = "Miniaturas renderizadas do arquivo; ausentes em entradas anteriores à geração de miniaturas.")
+    private CertificatePreviews previews;
+
+    @Schema(description = "Data e hora em que o texto foi extraído.")
+    private LocalDateTime createdDate;
+}
@@ -38,6 +38,9 @@ public class Opportunity {
     @Schema(description = "Identifier of the user who created the opportunity.", example = "admin@email.com")
     private String createdBy;
 
-    @Schema(description = "List of user IDs that applied for the opportunity.", example = "[\"user1@email.com\", \"user2@email.com\"]")
+    @Schema(description = "First user IDs that applied for the opportunity. The list is capped; later applicants are kept in opportunity_applications.", example = "[\"user1@email.com\", \"user2@email.com\"]")
     private List<String> applicants;
+
+    @Schema(description = "True once the embedded applicant list is full and new applicants go to opportunity_applications.", example = "false")
+    private Boolean applicantsOverflowed;
 }
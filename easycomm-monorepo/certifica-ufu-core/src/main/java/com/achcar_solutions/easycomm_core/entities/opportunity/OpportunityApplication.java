@@ -0,0 +1,37 @@
+package com.achcar_solutions.easycomm_core.entities.opportunity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+import org.springframework.data.mongodb.core.mapping.MongoId;
+
+import java.time.LocalDateTime;
+
+/**
+ * One application to a popular opportunity. Once the embedded {@link Opportunity#getApplicants()} list is full,
+ * further applicants are stored here, one small document each, instead of growing the opportunity document.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Document(collection = "opportunity_applications")
+// Impede candidaturas duplicadas e serve a listagem paginada por candidato.
+@CompoundIndex(name = "opportunityId_applicant_unique", def = "{'opportunityId': 1, 'applicant': 1}", unique = true)
+@Schema(description = "Represents an application to an opportunity whose embedded applicant list is full.")
+public class OpportunityApplication {
+    @MongoId(FieldType.OBJECT_ID)
+    private String id;
+
+    @Schema(description = "ID of the opportunity.", example = "60d5f1b3e6b3f1a2b3c4d5e7")
+    private String opportunityId;
+
+    @Schema(description = "Identifier of the user who applied.", example = "user@email.com")
+    private String applicant;
+
+    @Schema(description = "Date and time of the application.")
+    private LocalDateTime appliedAt;
+}
@@ -0,0 +1,15 @@
+package com.achcar_solutions.easycomm_core.entities.opportunity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record OpportunityApplicationResponse(
+        @Schema(description = "ID of the opportunity.", example = "60d5f1b3e6b3f1a2b3c4d5e7")
+        String opportunityId,
+
+        @Schema(description = "Identifier of the user who applied.", example = "user@email.com")
+        String applicant,
+
+        @Schema(description = "True if the user had already applied before this request.", example = "false")
+        boolean alreadyApplied
+) {
+}
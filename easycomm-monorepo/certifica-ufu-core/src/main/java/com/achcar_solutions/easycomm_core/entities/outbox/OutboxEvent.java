@@ -0,0 +1,56 @@
+package com.achcar_solutions.easycomm_core.entities.outbox;
+
+import com.achcar_solutions.easycomm_core.entities.certificate.Certificate;
+import com.achcar_solutions.easycomm_core.infra.kafka.CertificateKafkaMessage;
+import com.achcar_solutions.easycomm_core.infra.kafka.CertificateTopics;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Mensagem Kafka gravada na mesma transação que a mudança que a originou e publicada depois pelo relay. O
+ * {@code _id} é um ObjectId, então a ordem de publicação segue a ordem de criação.
+ * <p>
+ * {@code availableAt} é quando o evento pode ser pego por um relay: a criação, e depois o fim do lease de quem o
+ * pegou. Um relay que morre no meio do envio libera os eventos quando o lease expira.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Document(collection = "outbox")
+public class OutboxEvent {
+    @Id
+    private String id;
+
+    private String topic;
+
+    private String key;
+
+    private CertificateKafkaMessage payload;
+
+    private LocalDateTime createdDate;
+
+    @Indexed
+    private LocalDateTime availableAt;
+
+    private String leaseOwner;
+
+    private int attempts;
+
+    public static OutboxEvent certificateToProcess(Certificate certificate) {
+        LocalDateTime now = LocalDateTime.now();
+        return OutboxEvent.builder()
+                .topic(CertificateTopics.CERTIFICATE_TOPIC)
+                // Keyed by certificate: every message about the same certificate lands on the same partition, in order.
+                .key(certificate.getId())
+                .payload(CertificateKafkaMessage.from(certificate))
+                .createdDate(now)
+                .availableAt(now)
+                .build();
+    }
+}
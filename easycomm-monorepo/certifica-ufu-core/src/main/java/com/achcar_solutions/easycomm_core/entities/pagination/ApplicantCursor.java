@@ -0,0 +1,45 @@
+package com.achcar_solutions.easycomm_core.entities.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in the applicant list of an opportunity. The listing first walks the embedded array by offset and then
+ * the {@code opportunity_applications} collection by applicant, so the cursor remembers which of the two it is in.
+ */
+public record ApplicantCursor(boolean overflow, int embeddedOffset, String lastApplicant) {
+
+    private static final String EMBEDDED = "e:";
+    private static final String OVERFLOW = "o:";
+
+    public static ApplicantCursor embedded(int offset) {
+        return new ApplicantCursor(false, offset, null);
+    }
+
+    public static ApplicantCursor overflow(String lastApplicant) {
+        return new ApplicantCursor(true, 0, lastApplicant);
+    }
+
+    public String encode() {
+        String raw = overflow ? OVERFLOW + lastApplicant : EMBEDDED + embeddedOffset;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ApplicantCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (raw.startsWith(OVERFLOW)) {
+                return overflow(raw.substring(OVERFLOW.length()));
+            }
+            if (raw.startsWith(EMBEDDED)) {
+                int offset = Integer.parseInt(raw.substring(EMBEDDED.length()));
+                if (offset >= 0) {
+                    return embedded(offset);
+                }
+            }
+            throw new IllegalArgumentException("Invalid page cursor.");
+        } catch (IllegalArgumentException exception) {
+            throw new IllegalArgumentException("Invalid page cursor.", exception);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.achcar_solutions.easycomm_core.entities.pagination;
+
+import org.bson.types.ObjectId;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position over {@code (createdDate, _id)}: the date follows the indexes on {@code createdDate} and the
+ * ObjectId breaks ties between documents created in the same millisecond. Encoded as an opaque URL-safe token.
+ */
+public record CreatedDateCursor(LocalDateTime createdDate, ObjectId id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = createdDate + SEPARATOR + id.toHexString();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CreatedDateCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.lastIndexOf(SEPARATOR);
+            String id = raw.substring(separatorIndex + 1);
+            if (separatorIndex < 0 || !ObjectId.isValid(id)) {
+                throw new IllegalArgumentException("Invalid page cursor.");
+            }
+            return new CreatedDateCursor(LocalDateTime.parse(raw.substring(0, separatorIndex)), new ObjectId(id));
+        } catch (IllegalArgumentException | DateTimeParseException exception) {
+            throw new IllegalArgumentException("Invalid page cursor.", exception);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.achcar_solutions.easycomm_core.entities.pagination;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record CursorPage<T>(
+        @Schema(description = "Itens da página atual.")
+        List<T> items,
+
+        @Schema(description = "Cursor opaco para buscar a próxima página; nulo quando não há mais itens.")
+        String nextCursor
+) {
+}
@@ -0,0 +1,43 @@
+package com.achcar_solutions.easycomm_core.entities.storage;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * One stored file content, shared by every certificate whose upload had the same SHA-256. {@code refCount} counts
+ * those certificates; the object is deleted from the storage only when it drops to zero.
+ * <p>
+ * {@code objectKey} is chosen when the document is created and carries a unique suffix, so a content that is deleted
+ * and uploaded again gets a fresh object instead of racing with the deletion of the old one.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Document(collection = "stored_blobs")
+@Schema(description = "Conteúdo de arquivo armazenado uma única vez e compartilhado por certificados idênticos.")
+public class StoredBlob {
+    @Id
+    @Schema(description = "SHA-256 do conteúdo, em hexadecimal.", example = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08")
+    private String contentHash;
+
+    @Schema(description = "Chave do objeto no bucket.", example = "blobs/9f86d081.../6650c1e2a4b5c6d7e8f90123.pdf")
+    private String objectKey;
+
+    @Schema(description = "Número de certificados que apontam para este conteúdo.", example = "37")
+    private long refCount;
+
+    @Schema(description = "Tamanho do conteúdo em bytes.", example = "482133")
+    private long size;
+
+    @Schema(description = "Tipo MIME do primeiro envio.", example = "application/pdf")
+    private String contentType;
+
+    @Schema(description = "Data e hora do primeiro envio.")
+    private LocalDateTime createdDate;
+}
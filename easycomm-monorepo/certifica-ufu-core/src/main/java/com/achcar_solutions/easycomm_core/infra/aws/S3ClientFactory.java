@@ -0,0 +1,59 @@
+package com.achcar_solutions.easycomm_core.infra.aws;
+
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.retry.RetryMode;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.metrics.MetricPublisher;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+/**
+ * Único lugar onde os clientes do S3 são montados, para a API e o processor. Antes cada adapter criava o seu com as
+ * configurações padrão do SDK; aqui o pool HTTP, os timeouts e as retentativas vêm de {@link S3ClientSettings} e
+ * toda chamada publica suas métricas (latência por operação, uso do pool) no {@link MetricPublisher} informado.
+ */
+public class S3ClientFactory {
+
+    private final S3ClientSettings settings;
+    private final MetricPublisher metricPublisher;
+
+    public S3ClientFactory(S3ClientSettings settings, MetricPublisher metricPublisher) {
+        this.settings = settings;
+        this.metricPublisher = metricPublisher;
+    }
+
+    public S3Client createClient() {
+        ApacheHttpClient.Builder httpClient = ApacheHttpClient.builder()
+                .maxConnections(settings.maxConnections())
+                .connectionAcquisitionTimeout(settings.connectionAcquireTimeout())
+                .connectionTimeout(settings.connectionTimeout())
+                .socketTimeout(settings.socketTimeout())
+                .connectionMaxIdleTime(settings.connectionMaxIdleTime())
+                .tcpKeepAlive(settings.tcpKeepAlive());
+
+        ClientOverrideConfiguration overrideConfiguration = ClientOverrideConfiguration.builder()
+                // STANDARD: backoff exponencial com jitter e um orçamento de retentativas que para de insistir quando
+                // o S3 está falhando em massa, em vez de multiplicar a carga.
+                .retryPolicy(RetryPolicy.builder(RetryMode.STANDARD).numRetries(settings.maxRetries()).build())
+                .apiCallTimeout(settings.apiCallTimeout())
+                .addMetricPublisher(metricPublisher)
+                .build();
+
+        return S3Client.builder()
+                .region(Region.of(settings.region()))
+                .httpClientBuilder(httpClient)
+                .overrideConfiguration(overrideConfiguration)
+                .build();
+    }
+
+    /**
+     * Presigning is local (it only signs), so the presigner needs neither the pool nor the metrics.
+     */
+    public S3Presigner createPresigner() {
+        return S3Presigner.builder()
+                .region(Region.of(settings.region()))
+                .build();
+    }
+}
@@ -0,0 +1,246 @@
+package com.achcar_solutions.easycomm_core.infra.aws;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricPublisher;
+import software.amazon.awssdk.metrics.SdkMetric;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agrega as métricas que o SDK publica a cada chamada ao S3, por janela de {@code aws.s3.metrics.log-interval}:
+ * <ul>
+ *     <li>por operação: chamadas, falhas, retentativas, latência média e máxima da chamada inteira e o tempo médio
+ *     gasto no S3 (da requisição à resposta, sem a espera pelo pool nem o backoff entre tentativas);</li>
+ *     <li>do pool HTTP: pico de conexões em uso, pico de chamadas esperando conexão e o tempo de espera.</li>
+ * </ul>
+ * Latência alta com tempo no S3 baixo aponta para o pool ou para o nosso lado; as duas altas, para o S3. Ao fim de
+ * cada janela o resumo vai para o log e os contadores recomeçam; {@link #snapshotAndReset()} faz o mesmo sob demanda.
+ * <p>
+ * Registrado como {@link MeterBinder} (o actuator faz isso com os beans), o mesmo dado vira métricas do Micrometer,
+ * sem janela: os timers {@code s3.client.calls} (por {@code operation} e {@code outcome}), {@code s3.client.service.time}
+ * e {@code s3.client.pool.acquire}, o contador {@code s3.client.retries} e os gauges {@code s3.client.pool.leased},
+ * {@code s3.client.pool.pending} e {@code s3.client.pool.max} com o último estado do pool informado pelo SDK.
+ */
+public class S3ClientMetrics implements MetricPublisher, MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(S3ClientMetrics.class);
+
+    private static final String ATTEMPT_COLLECTION = "ApiCallAttempt";
+    private static final String HTTP_CLIENT_COLLECTION = "HttpClient";
+
+    private final Map<String, OperationStats> operations = new ConcurrentHashMap<>();
+    private final PoolStats pool = new PoolStats();
+    private final long logIntervalNanos;
+    private final AtomicLong nextLogAt;
+    private volatile MeterRegistry registry;
+
+    public S3ClientMetrics(Duration logInterval) {
+        this.logIntervalNanos = logInterval.toNanos();
+        this.nextLogAt = new AtomicLong(System.nanoTime() + logIntervalNanos);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("s3.client.pool.leased", pool.leased, AtomicInteger::get)
+                .description("Connections in use, as last reported by the SDK")
+                .register(registry);
+        Gauge.builder("s3.client.pool.pending", pool.pending, AtomicInteger::get)
+                .description("Calls waiting for a connection, as last reported by the SDK")
+                .register(registry);
+        Gauge.builder("s3.client.pool.max", pool, stats -> stats.maxConnections)
+                .description("Connection pool size (aws.s3.max-connections)")
+                .register(registry);
+        this.registry = registry;
+    }
+
+    @Override
+    public void publish(MetricCollection metrics) {
+        MeterRegistry meters = registry;
+        String operation = first(metrics, CoreMetric.OPERATION_NAME).orElse("Unknown");
+        OperationStats stats = operations.computeIfAbsent(operation, name -> new OperationStats());
+        stats.calls.increment();
+        boolean successful = first(metrics, CoreMetric.API_CALL_SUCCESSFUL).orElse(false);
+        first(metrics, CoreMetric.API_CALL_DURATION).ifPresent(duration -> {
+            stats.latency.record(duration.toNanos());
+            if (meters != null) {
+                Timer.builder("s3.client.calls")
+                        .description("Whole S3 calls, including pool waits and retries")
+                        .tag("operation", operation)
+                        .tag("outcome", successful ? "success" : "failure")
+                        .register(meters)
+                        .record(duration);
+            }
+        });
+        if (!successful) {
+            stats.failures.increment();
+        }
+        first(metrics, CoreMetric.RETRY_COUNT).ifPresent(retries -> {
+            stats.retries.add(retries);
+            if (meters != null && retries > 0) {
+                Counter.builder("s3.client.retries").tag("operation", operation).register(meters).increment(retries);
+            }
+        });
+
+        metrics.childrenWithName(ATTEMPT_COLLECTION).forEach(attempt -> {
+            first(attempt, CoreMetric.SERVICE_CALL_DURATION).ifPresent(duration -> {
+                stats.serviceTime.record(duration.toNanos());
+                if (meters != null) {
+                    Timer.builder("s3.client.service.time")
+                            .description("Time in S3 per attempt, from request to response")
+                            .tag("operation", operation)
+                            .register(meters)
+                            .record(duration);
+                }
+            });
+            attempt.childrenWithName(HTTP_CLIENT_COLLECTION).forEach(httpClient -> pool.record(httpClient, meters));
+        });
+
+        logIfDue();
+    }
+
+    public Snapshot snapshotAndReset() {
+        Map<String, OperationSnapshot> operationSnapshots = new TreeMap<>();
+        operations.forEach((name, stats) -> {
+            OperationSnapshot snapshot = stats.snapshotAndReset();
+            if (snapshot.calls() > 0) {
+                operationSnapshots.put(name, snapshot);
+            }
+        });
+        return new Snapshot(operationSnapshots, pool.snapshotAndReset());
+    }
+
+    @Override
+    public void close() {
+        logSnapshot(snapshotAndReset());
+    }
+
+    private void logIfDue() {
+        long now = System.nanoTime();
+        long due = nextLogAt.get();
+        // Só quem ganha o CAS loga; as outras threads seguem sem esperar.
+        if (now - due >= 0 && nextLogAt.compareAndSet(due, now + logIntervalNanos)) {
+            logSnapshot(snapshotAndReset());
+        }
+    }
+
+    private static void logSnapshot(Snapshot snapshot) {
+        snapshot.operations().forEach((name, operation) -> logger.info(
+                "S3 {}: {} chamadas, {} falhas, {} retentativas; latência média {} ms (no S3 {} ms), máxima {} ms.",
+                name, operation.calls(), operation.failures(), operation.retries(), operation.averageLatency().toMillis(),
+                operation.averageServiceTime().toMillis(), operation.maxLatency().toMillis()));
+        PoolSnapshot pool = snapshot.pool();
+        if (pool.acquires() > 0) {
+            logger.info("Pool S3: pico de {} de {} conexões em uso, pico de {} chamadas esperando; espera média {} ms, máxima {} ms.",
+                    pool.peakLeased(), pool.maxConnections(), pool.peakPendingAcquires(),
+                    pool.averageAcquireTime().toMillis(), pool.maxAcquireTime().toMillis());
+        }
+    }
+
+    private static <T> Optional<T> first(MetricCollection metrics, SdkMetric<T> metric) {
+        return metrics.metricValues(metric).stream().findFirst();
+    }
+
+    public record Snapshot(Map<String, OperationSnapshot> operations, PoolSnapshot pool) {
+    }
+
+    public record OperationSnapshot(long calls, long failures, long retries, Duration averageLatency, Duration maxLatency,
+                                    Duration averageServiceTime) {
+    }
+
+    public record PoolSnapshot(int maxConnections, int peakLeased, int peakPendingAcquires, long acquires,
+                               Duration averageAcquireTime, Duration maxAcquireTime) {
+    }
+
+    private static final class OperationStats {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final DurationStats latency = new DurationStats();
+        private final DurationStats serviceTime = new DurationStats();
+
+        private OperationSnapshot snapshotAndReset() {
+            long callCount = calls.sumThenReset();
+            DurationStats.Window latencyWindow = latency.snapshotAndReset();
+            DurationStats.Window serviceWindow = serviceTime.snapshotAndReset();
+            return new OperationSnapshot(callCount, failures.sumThenReset(), retries.sumThenReset(),
+                    latencyWindow.average(), latencyWindow.max(), serviceWindow.average());
+        }
+    }
+
+    private static final class PoolStats {
+        private volatile int maxConnections;
+        private final AtomicInteger leased = new AtomicInteger();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final LongAccumulator peakLeased = new LongAccumulator(Math::max, 0);
+        private final LongAccumulator peakPending = new LongAccumulator(Math::max, 0);
+        private final DurationStats acquireTime = new DurationStats();
+
+        private void record(MetricCollection httpClient, MeterRegistry meters) {
+            first(httpClient, HttpMetric.MAX_CONCURRENCY).ifPresent(max -> maxConnections = max);
+            first(httpClient, HttpMetric.LEASED_CONCURRENCY).ifPresent(value -> {
+                leased.set(value);
+                peakLeased.accumulate(value);
+            });
+            first(httpClient, HttpMetric.PENDING_CONCURRENCY_ACQUIRES).ifPresent(value -> {
+                pending.set(value);
+                peakPending.accumulate(value);
+            });
+            first(httpClient, HttpMetric.CONCURRENCY_ACQUIRE_DURATION).ifPresent(duration -> {
+                acquireTime.record(duration.toNanos());
+                if (meters != null) {
+                    Timer.builder("s3.client.pool.acquire")
+                            .description("Wait for a pooled connection")
+                            .register(meters)
+                            .record(duration.toNanos(), TimeUnit.NANOSECONDS);
+                }
+            });
+        }
+
+        private PoolSnapshot snapshotAndReset() {
+            DurationStats.Window acquireWindow = acquireTime.snapshotAndReset();
+            return new PoolSnapshot(maxConnections, (int) peakLeased.getThenReset(), (int) peakPending.getThenReset(),
+                    acquireWindow.count(), acquireWindow.average(), acquireWindow.max());
+        }
+    }
+
+    private static final class DurationStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        private Window snapshotAndReset() {
+            long windowCount = count.sumThenReset();
+            long windowTotal = totalNanos.sumThenReset();
+            long windowMax = maxNanos.getThenReset();
+            Duration average = windowCount == 0 ? Duration.ZERO : Duration.ofNanos(windowTotal / windowCount);
+            return new Window(windowCount, average, Duration.ofNanos(windowMax));
+        }
+
+        private record Window(long count, Duration average, Duration max) {
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.achcar_solutions.easycomm_core.infra.aws;
+
+import java.time.Duration;
+
+/**
+ * Connection pool, timeouts and retries of the S3 client. The pool has to cover every caller that may hit S3 at the
+ * same time (in the processor, {@code certificate.processing.max-in-flight} virtual threads); callers beyond it wait
+ * up to {@code connectionAcquireTimeout} for a connection, which shows up as pool pressure in {@link S3ClientMetrics}.
+ */
+public record S3ClientSettings(String region,
+                               int maxConnections,
+                               Duration connectionAcquireTimeout,
+                               Duration connectionTimeout,
+                               Duration socketTimeout,
+                               Duration connectionMaxIdleTime,
+                               boolean tcpKeepAlive,
+                               int maxRetries,
+                               Duration apiCallTimeout) {
+
+    public S3ClientSettings {
+        if (maxConnections < 1) {
+            throw new IllegalArgumentException("aws.s3.max-connections must be positive.");
+        }
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("aws.s3.max-retries must not be negative.");
+        }
+    }
+}
@@ -1,31 +1,67 @@
 package com.achcar_solutions.easycomm_core.infra.aws;
 
+import com.achcar_solutions.easycomm_core.infra.ports.PresignedUrl;
 import com.achcar_solutions.easycomm_core.infra.ports.StoragePort;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.stereotype.Component;
+import com.achcar_solutions.easycomm_core.infra.ports.StoredFileMetadata;
 import software.amazon.awssdk.core.ResponseBytes;
 import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 
-@Component
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link StoragePort} no S3. Os clientes vêm do {@link S3ClientFactory} e são compartilhados; quem monta o adapter é
+ * a {@link com.achcar_solutions.easycomm_core.infra.storage.StorageConfiguration}.
+ */
 public class S3StorageAdapter implements StoragePort {
 
+    // S3 rejects multipart parts smaller than 5 MB (except the last one).
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+
     private final S3Client s3Client;
+    private final S3Presigner s3Presigner;
     private final String bucketName;
     private final String region;
+    private final long multipartThreshold;
+    private final int partSize;
 
-    public S3StorageAdapter(@Value("${aws.s3.region}") String region,
-                            @Value("${aws.s3.bucket-name}") String bucketName) {
+    public S3StorageAdapter(S3Client s3Client, S3Presigner s3Presigner, String region, String bucketName,
+                            long multipartThreshold, int partSize) {
+        if (partSize < MIN_PART_SIZE) {
+            throw new IllegalArgumentException("aws.s3.multipart-part-size must be at least " + MIN_PART_SIZE + " bytes.");
+        }
+        this.s3Client = s3Client;
+        this.s3Presigner = s3Presigner;
         this.bucketName = bucketName;
         this.region = region;
-        this.s3Client = S3Client.builder()
-                .region(Region.of(this.region))
-                .build();
+        this.multipartThreshold = multipartThreshold;
+        this.partSize = partSize;
     }
 
     @Override
@@ -37,8 +73,24 @@ public class S3StorageAdapter implements StoragePort {
                 .build();
 
         s3Client.putObject(putObjectRequest, RequestBody.fromBytes(fileData));
-        return String.format("https://%s.s3.%s.amazonaws.com/%s",
-                bucketName, region, fileName);
+        return buildFileUrl(fileName);
+    }
+
+    @Override
+    public String uploadFile(InputStream inputStream, long contentLength, String fileName, String contentType) {
+        if (contentLength <= multipartThreshold) {
+            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(fileName)
+                    .contentType(contentType)
+                    .contentLength(contentLength)
+                    .build();
+
+            s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(inputStream, contentLength));
+        } else {
+            uploadMultipart(inputStream, contentLength, fileName, contentType);
+        }
+        return buildFileUrl(fileName);
     }
 
     @Override
@@ -51,6 +103,26 @@ public class S3StorageAdapter implements StoragePort {
         return s3ObjectBytes.asByteArray();
     }
 
+    @Override
+    public InputStream openFile(String s3ObjectKey) {
+        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(s3ObjectKey)
+                .build();
+        // The response body is read straight off the HTTP connection, which is released when the stream is closed.
+        return s3Client.getObject(getObjectRequest);
+    }
+
+    @Override
+    public InputStream openFile(String s3ObjectKey, long offset, long length) {
+        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(s3ObjectKey)
+                .range("bytes=" + offset + "-" + (offset + length - 1))
+                .build();
+        return s3Client.getObject(getObjectRequest);
+    }
+
     @Override
     public void deleteFile(String s3ObjectKey) {
         DeleteObjectRequest deleteObjectRequest = DeleteObjectRequest.builder()
@@ -59,4 +131,146 @@ public class S3StorageAdapter implements StoragePort {
                 .build();
         s3Client.deleteObject(deleteObjectRequest);
     }
+
+    @Override
+    public void copyFile(String sourceKey, String targetKey) {
+        CopyObjectRequest copyObjectRequest = CopyObjectRequest.builder()
+                .sourceBucket(bucketName)
+                .sourceKey(sourceKey)
+                .destinationBucket(bucketName)
+                .destinationKey(targetKey)
+                .build();
+        s3Client.copyObject(copyObjectRequest);
+    }
+
+    @Override
+    public String getFileUrl(String s3ObjectKey) {
+        return buildFileUrl(s3ObjectKey);
+    }
+
+    @Override
+    public Optional<StoredFileMetadata> getFileMetadata(String s3ObjectKey) {
+        HeadObjectRequest headObjectRequest = HeadObjectRequest.builder()
+                .bucket(bucketName)
+                .key(s3ObjectKey)
+                .build();
+        try {
+            HeadObjectResponse headObjectResponse = s3Client.headObject(headObjectRequest);
+            return Optional.of(new StoredFileMetadata(s3ObjectKey,
+                    headObjectResponse.contentLength(),
+                    headObjectResponse.contentType(),
+                    headObjectResponse.eTag(),
+                    headObjectResponse.lastModified()));
+        } catch (S3Exception exception) {
+            if (exception.statusCode() == 404) {
+                return Optional.empty();
+            }
+            throw exception;
+        }
+    }
+
+    @Override
+    public boolean supportsDirectUpload() {
+        return true;
+    }
+
+    @Override
+    public PresignedUrl generatePresignedUploadUrl(String s3ObjectKey, String contentType, long contentLength, Duration expiration) {
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(s3ObjectKey)
+                .contentType(contentType)
+                .contentLength(contentLength)
+                .build();
+        PutObjectPresignRequest presignRequest = PutObjectPresignRequest.builder()
+                .signatureDuration(expiration)
+                .putObjectRequest(putObjectRequest)
+                .build();
+
+        PresignedPutObjectRequest presignedRequest = s3Presigner.presignPutObject(presignRequest);
+        return new PresignedUrl(presignedRequest.url().toString(), presignedRequest.expiration());
+    }
+
+    @Override
+    public boolean supportsDirectDownload() {
+        return true;
+    }
+
+    @Override
+    public PresignedUrl generatePresignedDownloadUrl(String s3ObjectKey, Duration expiration) {
+        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(s3ObjectKey)
+                .build();
+        GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
+                .signatureDuration(expiration)
+                .getObjectRequest(getObjectRequest)
+                .build();
+
+        PresignedGetObjectRequest presignedRequest = s3Presigner.presignGetObject(presignRequest);
+        return new PresignedUrl(presignedRequest.url().toString(), presignedRequest.expiration());
+    }
+
+    /**
+     * Uploads the stream part by part, reusing a single part-sized buffer, so heap usage does not grow with the file.
+     */
+    private void uploadMultipart(InputStream inputStream, long contentLength, String fileName, String contentType) {
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                        .bucket(bucketName)
+                        .key(fileName)
+                        .contentType(contentType)
+                        .build())
+                .uploadId();
+
+        try {
+            List<CompletedPart> completedParts = new ArrayList<>();
+            byte[] partBuffer = new byte[partSize];
+            long remaining = contentLength;
+            int partNumber = 1;
+
+            while (remaining > 0) {
+                int partLength = inputStream.readNBytes(partBuffer, 0, (int) Math.min(partBuffer.length, remaining));
+                if (partLength == 0) {
+                    throw new IOException("Stream ended after " + (contentLength - remaining) + " of " + contentLength + " bytes.");
+                }
+
+                UploadPartRequest uploadPartRequest = UploadPartRequest.builder()
+                        .bucket(bucketName)
+                        .key(fileName)
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .contentLength((long) partLength)
+                        .build();
+                String eTag = s3Client.uploadPart(uploadPartRequest,
+                                RequestBody.fromInputStream(new ByteArrayInputStream(partBuffer, 0, partLength), partLength))
+                        .eTag();
+
+                completedParts.add(CompletedPart.builder().partNumber(partNumber).eTag(eTag).build());
+                remaining -= partLength;
+                partNumber++;
+            }
+
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(fileName)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                    .build());
+        } catch (IOException | RuntimeException exception) {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(fileName)
+                    .uploadId(uploadId)
+                    .build());
+            if (exception instanceof IOException ioException) {
+                throw new UncheckedIOException(ioException);
+            }
+            throw (RuntimeException) exception;
+        }
+    }
+
+    private String buildFileUrl(String fileName) {
+        return String.format("https://%s.s3.%s.amazonaws.com/%s",
+                bucketName, region, fileName);
+    }
 }
@@ -0,0 +1,34 @@
+package com.achcar_solutions.easycomm_core.infra.hash;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 do conteúdo de um arquivo, em hexadecimal minúsculo. Identifica arquivos byte a byte idênticos,
+ * independentemente do nome ou de quem enviou.
+ */
+public final class ContentHashes {
+
+    private ContentHashes() {
+    }
+
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Todo JRE é obrigado a oferecer SHA-256.
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+
+    public static String toHex(MessageDigest digest) {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public static String sha256(byte[] content) {
+        MessageDigest digest = newDigest();
+        digest.update(content);
+        return toHex(digest);
+    }
+}
@@ -1,4 +1,37 @@
 package com.achcar_solutions.easycomm_core.infra.kafka;
 
-public record CertificateKafkaMessage(String certificateId, String s3ObjectKey) {
+import com.achcar_solutions.easycomm_core.entities.certificate.Certificate;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateCategory;
+
+/**
+ * Mensagem do tópico de certificados. Além do ID e da chave do arquivo, carrega os dados do certificado que o
+ * processor precisa, para que ele processe sem ler o certificado no Mongo antes. Mensagens antigas (só ID e chave)
+ * continuam válidas: nelas os demais campos vêm nulos e o processor faz a leitura como antes.
+ * <p>
+ * Serializada em binário por {@link CertificateKafkaMessageSerializer}; veja lá as regras de evolução do formato.
+ */
+public record CertificateKafkaMessage(String certificateId,
+                                      String s3ObjectKey,
+                                      String fileType,
+                                      Long fileSize,
+                                      String contentHash,
+                                      CertificateCategory category,
+                                      Integer durationInHours) {
+
+    public CertificateKafkaMessage(String certificateId, String s3ObjectKey) {
+        this(certificateId, s3ObjectKey, null, null, null, null, null);
+    }
+
+    public static CertificateKafkaMessage from(Certificate certificate) {
+        return new CertificateKafkaMessage(certificate.getId(), certificate.getS3ObjectKey(), certificate.getFileType(),
+                certificate.getFileSize(), certificate.getContentHash(), certificate.getCategory(), certificate.getDurationInHours());
+    }
+
+    /**
+     * Whether the message was built from the certificate itself, so the processor can skip looking it up. Every
+     * certificate has a file type, so only messages from before the extended schema come without one.
+     */
+    public boolean carriesCertificateData() {
+        return fileType != null;
+    }
 }
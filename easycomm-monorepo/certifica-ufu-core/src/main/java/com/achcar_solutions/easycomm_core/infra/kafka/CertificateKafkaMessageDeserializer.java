@@ -0,0 +1,82 @@
+package com.achcar_solutions.easycomm_core.infra.kafka;
+
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateCategory;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+
+/**
+ * Lê o formato binário do {@link CertificateKafkaMessageSerializer} e, como fallback, as mensagens JSON gravadas
+ * antes dele, que ainda podem estar nos tópicos de retry e na DLT.
+ */
+public class CertificateKafkaMessageDeserializer implements Deserializer<CertificateKafkaMessage> {
+
+    private static final ObjectMapper JSON = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Override
+    public CertificateKafkaMessage deserialize(String topic, byte[] data) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        if (data[0] == '{') {
+            return fromJson(data);
+        }
+        if (data[0] != CertificateKafkaMessageSerializer.FORMAT_VERSION) {
+            throw new SerializationException("Unsupported certificate message format version " + data[0] + ".");
+        }
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, 1, data.length - 1))) {
+            String certificateId = readString(in);
+            String s3ObjectKey = readString(in);
+            String fileType = readString(in);
+            Long fileSize = readLong(in);
+            String contentHash = readString(in);
+            String category = readString(in);
+            Integer durationInHours = readInt(in);
+            // Bytes left over are fields added by a newer writer; this reader does not know them yet.
+            return new CertificateKafkaMessage(certificateId, s3ObjectKey, fileType, fileSize, contentHash,
+                    toCategory(category), durationInHours);
+        } catch (IOException e) {
+            throw new SerializationException("Malformed certificate message.", e);
+        }
+    }
+
+    private static CertificateKafkaMessage fromJson(byte[] data) {
+        try {
+            return JSON.readValue(data, CertificateKafkaMessage.class);
+        } catch (IOException e) {
+            throw new SerializationException("Malformed JSON certificate message.", e);
+        }
+    }
+
+    // A field missing at the end of the message was added after the message was written: it reads as null.
+    private static String readString(DataInputStream in) throws IOException {
+        return in.available() > 0 && in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static Long readLong(DataInputStream in) throws IOException {
+        return in.available() > 0 && in.readBoolean() ? in.readLong() : null;
+    }
+
+    private static Integer readInt(DataInputStream in) throws IOException {
+        return in.available() > 0 && in.readBoolean() ? in.readInt() : null;
+    }
+
+    // Constants removed from the enum (a category that was discontinued) should not make the message unreadable.
+    private static CertificateCategory toCategory(String name) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return CertificateCategory.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.achcar_solutions.easycomm_core.infra.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Formato binário do {@link CertificateKafkaMessage}: um byte de versão seguido dos campos, na ordem da declaração,
+ * cada um com um byte de presença (0 = nulo). Textos em UTF-8 modificado ({@code writeUTF}), números em big-endian e
+ * enums pelo nome, para que reordenar as constantes não mude o significado.
+ * <p>
+ * Regras de evolução:
+ * <ul>
+ *     <li>Campos novos só entram no final. Um leitor antigo ignora os bytes que sobram; um leitor novo lê como nulo
+ *     o campo que uma mensagem antiga não tem.</li>
+ *     <li>Um campo nunca é removido nem muda de tipo: quando deixar de ser usado, passa a ser escrito como nulo.</li>
+ *     <li>Qualquer mudança que quebre isso aumenta {@link #FORMAT_VERSION}; o leitor recusa versões que não conhece.</li>
+ * </ul>
+ * O primeiro byte nunca é {@code '{'}, o que separa este formato das mensagens JSON antigas ainda nos tópicos.
+ * <p>
+ * Versões anteriores a este formato só leem JSON: o processor nos tópicos de certificados e de retry, a API na DLT.
+ * Por isso os produtores escrevem {@link Format#JSON} ({@code certificate.kafka.message-format}) até que a API e todos
+ * os processors estejam com o {@link CertificateKafkaMessageDeserializer}, que lê os dois formatos; só então a
+ * propriedade passa a {@code BINARY}.
+ */
+public class CertificateKafkaMessageSerializer implements Serializer<CertificateKafkaMessage> {
+
+    static final byte FORMAT_VERSION = 1;
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    /** Formato escrito nos tópicos. */
+    public enum Format {
+        /** O JSON que os processors antigos esperam, com os campos novos que eles ignoram. */
+        JSON,
+        /** O formato binário versionado descrito acima. */
+        BINARY
+    }
+
+    private final Format format;
+
+    public CertificateKafkaMessageSerializer() {
+        this(Format.BINARY);
+    }
+
+    public CertificateKafkaMessageSerializer(Format format) {
+        this.format = format;
+    }
+
+    @Override
+    public byte[] serialize(String topic, CertificateKafkaMessage message) {
+        if (message == null) {
+            return null;
+        }
+        return format == Format.JSON ? toJson(message) : toBinary(message);
+    }
+
+    private static byte[] toJson(CertificateKafkaMessage message) {
+        try {
+            return JSON.writeValueAsBytes(message);
+        } catch (JsonProcessingException e) {
+            throw new SerializationException("Failed to serialize certificate message " + message.certificateId() + ".", e);
+        }
+    }
+
+    private static byte[] toBinary(CertificateKafkaMessage message) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            writeString(out, message.certificateId());
+            writeString(out, message.s3ObjectKey());
+            writeString(out, message.fileType());
+            writeLong(out, message.fileSize());
+            writeString(out, message.contentHash());
+            writeString(out, message.category() == null ? null : message.category().name());
+            writeInt(out, message.durationInHours());
+        } catch (IOException e) {
+            throw new SerializationException("Failed to serialize certificate message " + message.certificateId() + ".", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static void writeInt(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.achcar_solutions.easycomm_core.infra.kafka;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Tópicos e headers do processamento de certificados, compartilhados entre a API (que cria os tópicos e reenvia a
+ * DLT) e o processor (que consome e roteia as falhas).
+ * <p>
+ * Um certificado que falha no tópico principal vai para o primeiro tópico de retry, depois para o seguinte, e após
+ * a última tentativa para a DLT. Cada tópico de retry tem um atraso fixo, então os registros nele ficam em ordem de
+ * vencimento e o consumidor só espera pelo primeiro.
+ */
+public final class CertificateTopics {
+
+    public static final String CERTIFICATE_TOPIC = "certificates-to-process";
+    public static final String RETRY_TOPIC_1M = CERTIFICATE_TOPIC + "-retry-1m";
+    public static final String RETRY_TOPIC_5M = CERTIFICATE_TOPIC + "-retry-5m";
+    public static final String RETRY_TOPIC_30M = CERTIFICATE_TOPIC + "-retry-30m";
+    public static final String DEAD_LETTER_TOPIC = CERTIFICATE_TOPIC + "-dlt";
+
+    public static final List<RetryStage> RETRY_STAGES = List.of(
+            new RetryStage(RETRY_TOPIC_1M, Duration.ofMinutes(1)),
+            new RetryStage(RETRY_TOPIC_5M, Duration.ofMinutes(5)),
+            new RetryStage(RETRY_TOPIC_30M, Duration.ofMinutes(30)));
+
+    // Quantas vezes o certificado já falhou; ausente no tópico principal.
+    public static final String ATTEMPTS_HEADER = "certificate-attempts";
+    // Epoch millis a partir do qual o registro de retry pode ser processado.
+    public static final String DUE_AT_HEADER = "certificate-due-at";
+    public static final String ORIGINAL_PARTITION_HEADER = "certificate-original-partition";
+    public static final String ORIGINAL_OFFSET_HEADER = "certificate-original-offset";
+    public static final String EXCEPTION_CLASS_HEADER = "certificate-exception-class";
+    public static final String EXCEPTION_MESSAGE_HEADER = "certificate-exception-message";
+    public static final String FAILED_AT_HEADER = "certificate-failed-at";
+
+    private CertificateTopics() {
+    }
+
+    public record RetryStage(String topic, Duration delay) {
+    }
+}
@@ -0,0 +1,6 @@
+package com.achcar_solutions.easycomm_core.infra.ports;
+
+import java.time.Instant;
+
+public record PresignedUrl(String url, Instant expiresAt) {
+}
@@ -1,9 +1,62 @@
 package com.achcar_solutions.easycomm_core.infra.ports;
 
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Optional;
+
 public interface StoragePort {
     String uploadFile(byte[] fileData, String fileName, String contentType);
 
+    /**
+     * Streams the content straight to the storage without materializing it on the heap.
+     * The stream is read exactly {@code contentLength} bytes and is not closed by the adapter.
+     */
+    String uploadFile(InputStream inputStream, long contentLength, String fileName, String contentType);
+
     byte[] downloadFile(String s3ObjectKey);
 
+    /**
+     * Opens the stored content as a stream, without buffering it in memory. The caller must close the stream.
+     */
+    InputStream openFile(String s3ObjectKey);
+
+    /**
+     * Opens only the bytes {@code [offset, offset + length)} of the stored content, for HTTP range requests. The range
+     * must lie inside the object; the stream ends after {@code length} bytes. The caller must close the stream.
+     */
+    InputStream openFile(String s3ObjectKey, long offset, long length);
+
     void deleteFile(String s3ObjectKey);
+
+    /**
+     * Server-side copy inside the storage; the content does not pass through the application.
+     */
+    void copyFile(String sourceKey, String targetKey);
+
+    /**
+     * Where the object lives, to be recorded with it. It is only a URL a client can open when
+     * {@link #supportsDirectDownload()} is true; otherwise it is an opaque locator that says nothing about the server.
+     */
+    String getFileUrl(String s3ObjectKey);
+
+    Optional<StoredFileMetadata> getFileMetadata(String s3ObjectKey);
+
+    /**
+     * Whether {@link #generatePresignedUploadUrl} returns a URL a client can really PUT to. Callers check it before
+     * reserving anything for a direct upload.
+     */
+    boolean supportsDirectUpload();
+
+    /**
+     * Signs a PUT for exactly this key, content type and length, so clients can upload without going through the API.
+     */
+    PresignedUrl generatePresignedUploadUrl(String s3ObjectKey, String contentType, long contentLength, Duration expiration);
+
+    /**
+     * Whether {@link #generatePresignedDownloadUrl} returns a URL a client can really GET. When it does not, the content
+     * has to be served through the API ({@code GET /certificate/{id}/file}).
+     */
+    boolean supportsDirectDownload();
+
+    PresignedUrl generatePresignedDownloadUrl(String s3ObjectKey, Duration expiration);
 }
@@ -0,0 +1,6 @@
+package com.achcar_solutions.easycomm_core.infra.ports;
+
+import java.time.Instant;
+
+public record StoredFileMetadata(String s3ObjectKey, long contentLength, String contentType, String eTag, Instant lastModified) {
+}
@@ -0,0 +1,448 @@
+package com.achcar_solutions.easycomm_core.infra.storage;
+
+import com.achcar_solutions.easycomm_core.infra.hash.ContentHashes;
+import com.achcar_solutions.easycomm_core.infra.ports.PresignedUrl;
+import com.achcar_solutions.easycomm_core.infra.ports.StoragePort;
+import com.achcar_solutions.easycomm_core.infra.ports.StoredFileMetadata;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Cache de leitura em disco na frente de outro {@link StoragePort}. A primeira leitura de uma chave baixa o objeto
+ * para {@code storage.cache.directory} (sem ele, um diretório temporário próprio da instância); as seguintes (retentativas, reprocessamentos, a API servindo o mesmo arquivo)
+ * leem do disco local. O espaço é limitado a {@code storage.cache.max-size} bytes e os arquivos menos usados saem
+ * primeiro.
+ * <p>
+ * Leituras simultâneas da mesma chave que não estão no cache fazem um único download: a primeira baixa e as outras
+ * esperam por ela. Escritas e remoções passam direto para o storage de baixo e invalidam a chave; um download que
+ * estava em andamento quando a chave foi invalidada ainda é servido a quem o pediu, mas não entra no cache.
+ * <p>
+ * O índice fica só em memória, então os arquivos do cache são apagados na inicialização e no {@link #close()}. Só saem
+ * arquivos com os nomes que o próprio cache dá, num diretório marcado com {@value #MARKER_FILE}: um diretório que não
+ * está vazio e não tem a marca é recusado, para que um {@code storage.cache.directory} mal apontado (o {@code /tmp},
+ * um volume compartilhado, a raiz do storage em disco) não apague dados de outros. Arquivos removidos do cache
+ * enquanto alguém os lê continuam legíveis até o leitor fechar o stream (o inode só some no último close).
+ * <p>
+ * Os contadores de {@link #stats()} também viram métricas do Micrometer ({@code storage.cache.*}) quando o bean é
+ * registrado como {@link MeterBinder}, o que o actuator faz sozinho.
+ */
+public class DiskCachingStorageAdapter implements StoragePort, MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiskCachingStorageAdapter.class);
+
+    // Uma entrada pode sumir entre ser encontrada e ser aberta; depois de algumas tentativas a leitura vai direto ao storage.
+    private static final int MAX_READ_ATTEMPTS = 3;
+    private static final String TEMP_SUFFIX = ".tmp";
+    static final String MARKER_FILE = ".certifica-ufu-cache";
+    // Cached files are named by the SHA-256 of their key; downloads in progress are ".<uuid>.tmp".
+    private static final Pattern CACHE_FILE = Pattern.compile("[0-9a-f]{64}|\\.[0-9a-f-]{36}\\.tmp");
+
+    private final StoragePort delegate;
+    private final Path directory;
+    private final boolean temporaryDirectory;
+    private final long maxBytes;
+    private final Map<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, CompletableFuture<CacheEntry>> inFlight = new ConcurrentHashMap<>();
+    private long cachedBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final long logIntervalNanos;
+    private final AtomicLong nextLogAt;
+
+    public DiskCachingStorageAdapter(StoragePort delegate, @Nullable Path directory, long maxBytes, Duration logInterval) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("storage.cache.max-size must be positive.");
+        }
+        this.delegate = delegate;
+        this.temporaryDirectory = directory == null;
+        this.directory = prepareDirectory(directory);
+        this.maxBytes = maxBytes;
+        this.logIntervalNanos = logInterval.toNanos();
+        this.nextLogAt = new AtomicLong(System.nanoTime() + logIntervalNanos);
+    }
+
+    @Override
+    public InputStream openFile(String s3ObjectKey) {
+        return openCached(s3ObjectKey, Files::newInputStream, () -> delegate.openFile(s3ObjectKey));
+    }
+
+    /**
+     * A range of a key that is not cached yet still downloads the whole object once, so the ranges that follow (a PDF
+     * viewer fetching page after page) are served from disk.
+     */
+    @Override
+    public InputStream openFile(String s3ObjectKey, long offset, long length) {
+        return openCached(s3ObjectKey, path -> FileRangeInputStream.open(path, offset, length),
+                () -> delegate.openFile(s3ObjectKey, offset, length));
+    }
+
+    @Override
+    public byte[] downloadFile(String s3ObjectKey) {
+        try (InputStream inputStream = openFile(s3ObjectKey)) {
+            return inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String uploadFile(byte[] fileData, String fileName, String contentType) {
+        invalidate(fileName);
+        return delegate.uploadFile(fileData, fileName, contentType);
+    }
+
+    @Override
+    public String uploadFile(InputStream inputStream, long contentLength, String fileName, String contentType) {
+        invalidate(fileName);
+        return delegate.uploadFile(inputStream, contentLength, fileName, contentType);
+    }
+
+    @Override
+    public void deleteFile(String s3ObjectKey) {
+        invalidate(s3ObjectKey);
+        delegate.deleteFile(s3ObjectKey);
+    }
+
+    @Override
+    public void copyFile(String sourceKey, String targetKey) {
+        invalidate(targetKey);
+        delegate.copyFile(sourceKey, targetKey);
+    }
+
+    @Override
+    public String getFileUrl(String s3ObjectKey) {
+        return delegate.getFileUrl(s3ObjectKey);
+    }
+
+    @Override
+    public Optional<StoredFileMetadata> getFileMetadata(String s3ObjectKey) {
+        return delegate.getFileMetadata(s3ObjectKey);
+    }
+
+    @Override
+    public boolean supportsDirectUpload() {
+        return delegate.supportsDirectUpload();
+    }
+
+    @Override
+    public PresignedUrl generatePresignedUploadUrl(String s3ObjectKey, String contentType, long contentLength, Duration expiration) {
+        // The client writes straight to the storage, past this cache, so whatever was cached for the key is stale.
+        invalidate(s3ObjectKey);
+        return delegate.generatePresignedUploadUrl(s3ObjectKey, contentType, contentLength, expiration);
+    }
+
+    @Override
+    public boolean supportsDirectDownload() {
+        return delegate.supportsDirectDownload();
+    }
+
+    @Override
+    public PresignedUrl generatePresignedDownloadUrl(String s3ObjectKey, Duration expiration) {
+        return delegate.generatePresignedDownloadUrl(s3ObjectKey, expiration);
+    }
+
+    /**
+     * Apaga os arquivos do cache no desligamento; o Spring chama este método sozinho ao destruir o bean. O diretório
+     * temporário criado pelo próprio cache sai junto; um diretório configurado fica, com a marca.
+     */
+    public synchronized void close() {
+        entries.clear();
+        cachedBytes = 0;
+        try {
+            deleteCacheFiles(directory);
+            if (temporaryDirectory) {
+                Files.deleteIfExists(directory.resolve(MARKER_FILE));
+                Files.deleteIfExists(directory);
+            }
+        } catch (IOException e) {
+            logger.warn("Não foi possível esvaziar o cache de arquivos em {}: {}", directory, e.getMessage());
+        }
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), coalesced.sum(), evictions.sum(), entries.size(), cachedBytes);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        requestCounter(registry, "hit", hits);
+        requestCounter(registry, "miss", misses);
+        requestCounter(registry, "coalesced", coalesced);
+        FunctionCounter.builder("storage.cache.evictions", evictions, LongAdder::sum)
+                .description("Files evicted to stay under storage.cache.max-size")
+                .register(registry);
+        gauge(registry, "storage.cache.entries", "Files in the cache", null, cache -> cache.stats().entries());
+        gauge(registry, "storage.cache.size", "Bytes of cached files on disk", "bytes", cache -> cache.stats().bytes());
+        gauge(registry, "storage.cache.max.size", "Configured size limit", "bytes", cache -> cache.maxBytes);
+    }
+
+    private static void requestCounter(MeterRegistry registry, String result, LongAdder counter) {
+        FunctionCounter.builder("storage.cache.requests", counter, LongAdder::sum)
+                .description("Reads by outcome; coalesced reads waited for another reader's download")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private void gauge(MeterRegistry registry, String name, String description, @Nullable String baseUnit,
+                       ToDoubleFunction<DiskCachingStorageAdapter> value) {
+        Gauge.builder(name, this, value)
+                .description(description)
+                .baseUnit(baseUnit)
+                .register(registry);
+    }
+
+    private InputStream openCached(String key, FileOpener opener, Supplier<InputStream> fallback) {
+        for (int attempt = 1; attempt <= MAX_READ_ATTEMPTS; attempt++) {
+            CacheEntry entry = lookupOrLoad(key);
+            try {
+                InputStream inputStream = opener.open(entry.path());
+                if (!entry.cached()) {
+                    // Served once and never indexed; the open stream keeps the data readable after the unlink.
+                    deleteQuietly(entry.path());
+                }
+                logIfDue();
+                return inputStream;
+            } catch (NoSuchFileException e) {
+                // Evicted or invalidated between the lookup and the open: look it up again.
+                forget(key, entry);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return fallback.get();
+    }
+
+    private CacheEntry lookupOrLoad(String key) {
+        CacheEntry cached = cachedEntry(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<CacheEntry> load = new CompletableFuture<>();
+        CompletableFuture<CacheEntry> running = inFlight.putIfAbsent(key, load);
+        if (running != null) {
+            coalesced.increment();
+            return await(running);
+        }
+
+        try {
+            // Another reader may have finished the download between the lookup above and claiming the key.
+            CacheEntry entry = cachedEntry(key);
+            if (entry == null) {
+                misses.increment();
+                entry = download(key, load);
+            }
+            load.complete(entry);
+            return entry;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, load);
+        }
+    }
+
+    private synchronized CacheEntry cachedEntry(String key) {
+        CacheEntry entry = entries.get(key);
+        if (entry != null) {
+            hits.increment();
+        }
+        return entry;
+    }
+
+    private CacheEntry download(String key, CompletableFuture<CacheEntry> load) {
+        Path temp = directory.resolve("." + UUID.randomUUID() + TEMP_SUFFIX);
+        long size;
+        try (InputStream inputStream = delegate.openFile(key)) {
+            size = Files.copy(inputStream, temp);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            deleteQuietly(temp);
+            throw e;
+        }
+
+        CacheEntry entry;
+        List<Path> evicted;
+        synchronized (this) {
+            // Invalidated while downloading (or too large to keep): serve it from the temp file, but do not index it.
+            if (inFlight.get(key) != load || size > maxBytes) {
+                return new CacheEntry(temp, size, false);
+            }
+            // The rename happens under the lock so a newer download of the same key cannot be overwritten by this one.
+            entry = new CacheEntry(pathOf(key), size, true);
+            try {
+                Files.move(temp, entry.path(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                deleteQuietly(temp);
+                throw new UncheckedIOException(e);
+            }
+            entries.put(key, entry);
+            cachedBytes += size;
+            evicted = evictOverflow(key);
+        }
+        evicted.forEach(DiskCachingStorageAdapter::deleteQuietly);
+        return entry;
+    }
+
+    // Caller holds the lock. Returns the files to delete, so the disk I/O happens outside it.
+    private List<Path> evictOverflow(String keep) {
+        List<Path> evicted = new ArrayList<>();
+        Iterator<Map.Entry<String, CacheEntry>> eldest = entries.entrySet().iterator();
+        while (cachedBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, CacheEntry> candidate = eldest.next();
+            if (candidate.getKey().equals(keep)) {
+                continue;
+            }
+            eldest.remove();
+            cachedBytes -= candidate.getValue().size();
+            evicted.add(candidate.getValue().path());
+            evictions.increment();
+        }
+        return evicted;
+    }
+
+    private void invalidate(String key) {
+        CacheEntry removed;
+        synchronized (this) {
+            // Dropping the in-flight load makes the running download skip the index when it finishes.
+            inFlight.remove(key);
+            removed = entries.remove(key);
+            if (removed != null) {
+                cachedBytes -= removed.size();
+            }
+        }
+        if (removed != null) {
+            deleteQuietly(removed.path());
+        }
+    }
+
+    private synchronized void forget(String key, CacheEntry stale) {
+        if (entries.remove(key, stale)) {
+            cachedBytes -= stale.size();
+        }
+    }
+
+    private static CacheEntry await(CompletableFuture<CacheEntry> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Path pathOf(String key) {
+        // Um nível só: o cache é limitado em tamanho, então não chega a encher um diretório.
+        return directory.resolve(ContentHashes.sha256(key.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Takes ownership of the directory: an empty (or new) one gets the marker, one with the marker is emptied of the
+     * files a previous run left, and anything else is refused.
+     */
+    private static Path prepareDirectory(@Nullable Path directory) {
+        try {
+            Path root = directory == null
+                    ? Files.createTempDirectory("certifica-ufu-cache-")
+                    : Files.createDirectories(directory.toAbsolutePath().normalize());
+            Path marker = root.resolve(MARKER_FILE);
+            if (Files.exists(marker)) {
+                deleteCacheFiles(root);
+            } else if (isEmpty(root)) {
+                Files.createFile(marker);
+            } else {
+                throw new IllegalStateException("storage.cache.directory " + root + " is not empty and was not created by the cache "
+                        + "(no " + MARKER_FILE + " file). Point it at an empty directory used only by the cache.");
+            }
+            return root;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not prepare the storage cache directory " + directory, e);
+        }
+    }
+
+    private static boolean isEmpty(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.findAny().isEmpty();
+        }
+    }
+
+    // Only files named the way the cache names them, one level deep: nothing else in the directory is touched.
+    private static void deleteCacheFiles(Path root) throws IOException {
+        try (Stream<Path> files = Files.list(root)) {
+            for (Path file : files.filter(path -> CACHE_FILE.matcher(path.getFileName().toString()).matches()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private void logIfDue() {
+        long now = System.nanoTime();
+        long due = nextLogAt.get();
+        if (now - due >= 0 && nextLogAt.compareAndSet(due, now + logIntervalNanos)) {
+            Stats stats = stats();
+            logger.info("Cache de arquivos: {} acertos, {} faltas, {} leituras agrupadas, {} remoções; {} arquivos, {} MB em disco.",
+                    stats.hits(), stats.misses(), stats.coalesced(), stats.evictions(), stats.entries(), stats.bytes() / (1024 * 1024));
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Não foi possível apagar o arquivo de cache {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Counters since startup. {@code coalesced} counts reads that waited for another reader's download instead of
+     * starting their own.
+     */
+    public record Stats(long hits, long misses, long coalesced, long evictions, int entries, long bytes) {
+    }
+
+    private record CacheEntry(Path path, long size, boolean cached) {
+    }
+
+    @FunctionalInterface
+    private interface FileOpener {
+        InputStream open(Path path) throws IOException;
+    }
+}
@@ -0,0 +1,81 @@
+package com.achcar_solutions.easycomm_core.infra.storage;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Um trecho de um arquivo local como stream: o canal já começa posicionado no início do trecho, sem ler o que vem
+ * antes, e o stream termina ao fim dele.
+ */
+final class FileRangeInputStream extends InputStream {
+
+    private final FileChannel channel;
+    private long remaining;
+
+    private FileRangeInputStream(FileChannel channel, long length) {
+        this.channel = channel;
+        this.remaining = length;
+    }
+
+    static InputStream open(Path file, long offset, long length) throws IOException {
+        if (offset < 0 || length < 0) {
+            throw new IllegalArgumentException("Invalid range " + offset + "+" + length);
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (offset + length > size) {
+                throw new EOFException("Range " + offset + "+" + length + " is past the end of " + file + " (" + size + " bytes)");
+            }
+            channel.position(offset);
+            return new FileRangeInputStream(channel, length);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (remaining == 0) {
+            return -1;
+        }
+        int read = channel.read(ByteBuffer.wrap(buffer, offset, (int) Math.min(length, remaining)));
+        if (read > 0) {
+            remaining -= read;
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long count) throws IOException {
+        long skipped = Math.max(0, Math.min(count, remaining));
+        channel.position(channel.position() + skipped);
+        remaining -= skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(remaining, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
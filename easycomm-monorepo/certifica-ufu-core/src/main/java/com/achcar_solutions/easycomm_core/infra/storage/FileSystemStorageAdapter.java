@@ -0,0 +1,239 @@
+package com.achcar_solutions.easycomm_core.infra.storage;
+
+import com.achcar_solutions.easycomm_core.infra.hash.ContentHashes;
+import com.achcar_solutions.easycomm_core.infra.ports.PresignedUrl;
+import com.achcar_solutions.easycomm_core.infra.ports.StoragePort;
+import com.achcar_solutions.easycomm_core.infra.ports.StoredFileMetadata;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URLConnection;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * {@link StoragePort} em um diretório local, para rodar tudo numa máquina só, sem S3. Cada chave vira um arquivo em
+ * {@code <root>/<aa>/<bb>/<chave codificada>}, onde {@code aa/bb} são os primeiros bytes do SHA-256 da chave: os
+ * arquivos se espalham por até 65536 diretórios em vez de acumular num só.
+ * <p>
+ * Escritas vão para um temporário no mesmo diretório, sincronizado com o disco e renomeado atomicamente para o nome
+ * final, então um leitor nunca vê um arquivo pela metade. Cópias usam {@link FileChannel#transferTo}, que o kernel
+ * resolve sem passar os bytes pela JVM; uploads usam {@link FileChannel#transferFrom}. O tipo do conteúdo não é
+ * guardado: vem da extensão da chave.
+ * <p>
+ * Não há servidor HTTP na frente do diretório, então nem uploads nem downloads diretos pelo cliente são suportados: o
+ * arquivo passa pela API. {@link #getFileUrl} devolve só {@code filesystem://<chave>}, sem o caminho no servidor.
+ */
+public class FileSystemStorageAdapter implements StoragePort {
+
+    private static final String URL_PREFIX = "filesystem://";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private final Path root;
+
+    public FileSystemStorageAdapter(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(this.root);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create the storage directory " + this.root, e);
+        }
+    }
+
+    @Override
+    public String uploadFile(byte[] fileData, String fileName, String contentType) {
+        writeAtomically(fileName, channel -> {
+            ByteBuffer buffer = ByteBuffer.wrap(fileData);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        });
+        return getFileUrl(fileName);
+    }
+
+    @Override
+    public String uploadFile(InputStream inputStream, long contentLength, String fileName, String contentType) {
+        writeAtomically(fileName, channel -> {
+            ReadableByteChannel source = Channels.newChannel(inputStream);
+            long position = 0;
+            while (position < contentLength) {
+                long transferred = channel.transferFrom(source, position, contentLength - position);
+                if (transferred == 0) {
+                    throw new IOException("Stream ended after " + position + " of " + contentLength + " bytes.");
+                }
+                position += transferred;
+            }
+        });
+        return getFileUrl(fileName);
+    }
+
+    @Override
+    public byte[] downloadFile(String s3ObjectKey) {
+        try {
+            return Files.readAllBytes(existingPath(s3ObjectKey));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The stream is backed by a {@link FileChannel}; copying it into another file channel ({@code Files.copy} to a
+     * path, for instance) is done by the kernel.
+     */
+    @Override
+    public InputStream openFile(String s3ObjectKey) {
+        try {
+            return Files.newInputStream(existingPath(s3ObjectKey));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public InputStream openFile(String s3ObjectKey, long offset, long length) {
+        try {
+            return FileRangeInputStream.open(existingPath(s3ObjectKey), offset, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void deleteFile(String s3ObjectKey) {
+        try {
+            Files.deleteIfExists(pathOf(s3ObjectKey));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void copyFile(String sourceKey, String targetKey) {
+        Path source = existingPath(sourceKey);
+        writeAtomically(targetKey, target -> {
+            try (FileChannel sourceChannel = FileChannel.open(source, StandardOpenOption.READ)) {
+                long size = sourceChannel.size();
+                long position = 0;
+                while (position < size) {
+                    position += sourceChannel.transferTo(position, size - position, target);
+                }
+            }
+        });
+    }
+
+    @Override
+    public String getFileUrl(String s3ObjectKey) {
+        return URL_PREFIX + s3ObjectKey;
+    }
+
+    @Override
+    public Optional<StoredFileMetadata> getFileMetadata(String s3ObjectKey) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(pathOf(s3ObjectKey), BasicFileAttributes.class);
+            Instant lastModified = attributes.lastModifiedTime().toInstant();
+            // Same idea as the ETag of most static file servers: it changes whenever the file is rewritten.
+            String eTag = Long.toHexString(attributes.size()) + "-" + Long.toHexString(lastModified.toEpochMilli());
+            return Optional.of(new StoredFileMetadata(s3ObjectKey, attributes.size(), contentTypeOf(s3ObjectKey), eTag, lastModified));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsDirectUpload() {
+        return false;
+    }
+
+    @Override
+    public PresignedUrl generatePresignedUploadUrl(String s3ObjectKey, String contentType, long contentLength, Duration expiration) {
+        throw new UnsupportedOperationException("Direct uploads are not available with the filesystem storage; upload through the API.");
+    }
+
+    @Override
+    public boolean supportsDirectDownload() {
+        return false;
+    }
+
+    @Override
+    public PresignedUrl generatePresignedDownloadUrl(String s3ObjectKey, Duration expiration) {
+        throw new UnsupportedOperationException("Direct downloads are not available with the filesystem storage; download through the API.");
+    }
+
+    private Path pathOf(String key) {
+        if (key == null || key.isEmpty()) {
+            throw new IllegalArgumentException("Storage key must not be empty.");
+        }
+        MessageDigest digest = ContentHashes.newDigest();
+        byte[] hash = digest.digest(key.getBytes(StandardCharsets.UTF_8));
+        HexFormat hex = HexFormat.of();
+        // A chave inteira vira um único nome de arquivo: barras e "..", codificados, não saem do diretório do shard.
+        String fileName = URLEncoder.encode(key, StandardCharsets.UTF_8).replace(".", "%2E");
+        return root.resolve(hex.formatHex(hash, 0, 1)).resolve(hex.formatHex(hash, 1, 2)).resolve(fileName);
+    }
+
+    private Path existingPath(String key) {
+        Path path = pathOf(key);
+        if (!Files.isRegularFile(path)) {
+            throw new UncheckedIOException(new NoSuchFileException(key));
+        }
+        return path;
+    }
+
+    private void writeAtomically(String key, ChannelWriter writer) {
+        Path target = pathOf(key);
+        Path temp = target.resolveSibling("." + UUID.randomUUID() + TEMP_SUFFIX);
+        try {
+            Files.createDirectories(target.getParent());
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                writer.write(channel);
+                // Sem o force, uma queda logo após o rename pode deixar o nome final apontando para um arquivo vazio.
+                channel.force(false);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            deleteQuietly(temp);
+            throw e;
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // The write already failed; a leftover temp file is harmless and is named so it never matches a key.
+        }
+    }
+
+    private static String contentTypeOf(String key) {
+        String contentType = URLConnection.guessContentTypeFromName(key);
+        return contentType != null ? contentType : DEFAULT_CONTENT_TYPE;
+    }
+
+    @FunctionalInterface
+    private interface ChannelWriter {
+        void write(FileChannel channel) throws IOException;
+    }
+}
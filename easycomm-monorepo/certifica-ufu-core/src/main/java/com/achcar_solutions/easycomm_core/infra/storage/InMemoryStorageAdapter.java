@@ -0,0 +1,141 @@
+package com.achcar_solutions.easycomm_core.infra.storage;
+
+import com.achcar_solutions.easycomm_core.infra.hash.ContentHashes;
+import com.achcar_solutions.easycomm_core.infra.ports.PresignedUrl;
+import com.achcar_solutions.easycomm_core.infra.ports.StoragePort;
+import com.achcar_solutions.easycomm_core.infra.ports.StoredFileMetadata;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.NoSuchFileException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link StoragePort} em memória, para testes e benchmarks. Os objetos ficam num {@link ConcurrentHashMap} e o
+ * conteúdo nunca é alterado depois de gravado, então leituras e cópias compartilham o mesmo array sem cópia extra.
+ * <p>
+ * O conteúdo só existe dentro da JVM: a API e o processor não enxergam os objetos um do outro.
+ */
+public class InMemoryStorageAdapter implements StoragePort {
+
+    private static final String URL_PREFIX = "memory://";
+
+    private final Map<String, StoredObject> objects = new ConcurrentHashMap<>();
+
+    @Override
+    public String uploadFile(byte[] fileData, String fileName, String contentType) {
+        put(fileName, fileData.clone(), contentType);
+        return getFileUrl(fileName);
+    }
+
+    @Override
+    public String uploadFile(InputStream inputStream, long contentLength, String fileName, String contentType) {
+        if (contentLength > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("In-memory storage holds at most " + Integer.MAX_VALUE + " bytes per object.");
+        }
+        try {
+            byte[] content = inputStream.readNBytes((int) contentLength);
+            if (content.length < contentLength) {
+                throw new IOException("Stream ended after " + content.length + " of " + contentLength + " bytes.");
+            }
+            put(fileName, content, contentType);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return getFileUrl(fileName);
+    }
+
+    @Override
+    public byte[] downloadFile(String s3ObjectKey) {
+        return get(s3ObjectKey).content().clone();
+    }
+
+    @Override
+    public InputStream openFile(String s3ObjectKey) {
+        return new ByteArrayInputStream(get(s3ObjectKey).content());
+    }
+
+    @Override
+    public InputStream openFile(String s3ObjectKey, long offset, long length) {
+        byte[] content = get(s3ObjectKey).content();
+        if (offset < 0 || length < 0 || offset + length > content.length) {
+            throw new IllegalArgumentException("Range " + offset + "+" + length + " is outside the " + content.length + " bytes of " + s3ObjectKey);
+        }
+        return new ByteArrayInputStream(content, (int) offset, (int) length);
+    }
+
+    @Override
+    public void deleteFile(String s3ObjectKey) {
+        objects.remove(s3ObjectKey);
+    }
+
+    @Override
+    public void copyFile(String sourceKey, String targetKey) {
+        StoredObject source = get(sourceKey);
+        put(targetKey, source.content(), source.contentType());
+    }
+
+    @Override
+    public String getFileUrl(String s3ObjectKey) {
+        return URL_PREFIX + s3ObjectKey;
+    }
+
+    @Override
+    public Optional<StoredFileMetadata> getFileMetadata(String s3ObjectKey) {
+        return Optional.ofNullable(objects.get(s3ObjectKey))
+                .map(object -> new StoredFileMetadata(s3ObjectKey, object.content().length, object.contentType(),
+                        object.eTag(), object.lastModified()));
+    }
+
+    /**
+     * The {@code memory://} URLs are not reachable over HTTP, so nothing can be PUT to them.
+     */
+    @Override
+    public boolean supportsDirectUpload() {
+        return false;
+    }
+
+    @Override
+    public PresignedUrl generatePresignedUploadUrl(String s3ObjectKey, String contentType, long contentLength, Duration expiration) {
+        throw new UnsupportedOperationException("Direct uploads are not available with the in-memory storage; upload through the API.");
+    }
+
+    @Override
+    public boolean supportsDirectDownload() {
+        return false;
+    }
+
+    @Override
+    public PresignedUrl generatePresignedDownloadUrl(String s3ObjectKey, Duration expiration) {
+        throw new UnsupportedOperationException("Direct downloads are not available with the in-memory storage; download through the API.");
+    }
+
+    public int size() {
+        return objects.size();
+    }
+
+    public void clear() {
+        objects.clear();
+    }
+
+    private void put(String key, byte[] content, String contentType) {
+        objects.put(key, new StoredObject(content, contentType, ContentHashes.sha256(content), Instant.now()));
+    }
+
+    private StoredObject get(String key) {
+        StoredObject object = objects.get(key);
+        if (object == null) {
+            throw new UncheckedIOException(new NoSuchFileException(key));
+        }
+        return object;
+    }
+
+    private record StoredObject(byte[] content, String contentType, String eTag, Instant lastModified) {
+    }
+}
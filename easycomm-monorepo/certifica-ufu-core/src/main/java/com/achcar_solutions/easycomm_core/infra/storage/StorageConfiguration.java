@@ -0,0 +1,114 @@
+package com.achcar_solutions.easycomm_core.infra.storage;
+
+import com.achcar_solutions.easycomm_core.infra.aws.S3ClientFactory;
+import com.achcar_solutions.easycomm_core.infra.aws.S3ClientMetrics;
+import com.achcar_solutions.easycomm_core.infra.aws.S3ClientSettings;
+import com.achcar_solutions.easycomm_core.infra.aws.S3StorageAdapter;
+import com.achcar_solutions.easycomm_core.infra.ports.StoragePort;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * O {@link StoragePort} da aplicação, escolhido por profile: {@value #FILESYSTEM_PROFILE} grava em
+ * {@code storage.filesystem.root}, {@value #MEMORY_PROFILE} mantém tudo em memória e, sem nenhum dos dois, vale o S3.
+ * O core não é escaneado, então a API e o processor importam esta configuração.
+ * <p>
+ * No S3, o cliente é um só por aplicação, montado pelo {@link S3ClientFactory} com o pool e os timeouts de
+ * {@code aws.s3.*}, e suas métricas vão para o {@link S3ClientMetrics}.
+ * <p>
+ * Com {@code storage.cache.enabled=true}, o storage escolhido fica atrás de um {@link DiskCachingStorageAdapter}, que
+ * passa a ser o {@link StoragePort} injetado; o de baixo continua disponível com o qualifier {@value #BACKEND_QUALIFIER}.
+ * O diretório do cache precisa estar vazio ou já ser do cache (veja o {@link DiskCachingStorageAdapter}).
+ */
+@Configuration
+public class StorageConfiguration {
+
+    public static final String FILESYSTEM_PROFILE = "storage-filesystem";
+    public static final String MEMORY_PROFILE = "storage-memory";
+    public static final String S3_PROFILE_EXPRESSION = "!" + FILESYSTEM_PROFILE + " & !" + MEMORY_PROFILE;
+    public static final String BACKEND_QUALIFIER = "storageBackend";
+
+    @Bean
+    @Profile(S3_PROFILE_EXPRESSION)
+    public S3ClientSettings s3ClientSettings(@Value("${aws.s3.region}") String region,
+                                             @Value("${aws.s3.max-connections:64}") int maxConnections,
+                                             @Value("${aws.s3.connection-acquire-timeout:PT10S}") Duration connectionAcquireTimeout,
+                                             @Value("${aws.s3.connection-timeout:PT2S}") Duration connectionTimeout,
+                                             @Value("${aws.s3.socket-timeout:PT30S}") Duration socketTimeout,
+                                             @Value("${aws.s3.connection-max-idle-time:PT60S}") Duration connectionMaxIdleTime,
+                                             @Value("${aws.s3.tcp-keep-alive:true}") boolean tcpKeepAlive,
+                                             @Value("${aws.s3.max-retries:3}") int maxRetries,
+                                             @Value("${aws.s3.api-call-timeout:PT2M}") Duration apiCallTimeout) {
+        return new S3ClientSettings(region, maxConnections, connectionAcquireTimeout, connectionTimeout, socketTimeout,
+                connectionMaxIdleTime, tcpKeepAlive, maxRetries, apiCallTimeout);
+    }
+
+    @Bean
+    @Profile(S3_PROFILE_EXPRESSION)
+    public S3ClientMetrics s3ClientMetrics(@Value("${aws.s3.metrics.log-interval:PT1M}") Duration logInterval) {
+        return new S3ClientMetrics(logInterval);
+    }
+
+    @Bean
+    @Profile(S3_PROFILE_EXPRESSION)
+    public S3ClientFactory s3ClientFactory(S3ClientSettings s3ClientSettings, S3ClientMetrics s3ClientMetrics) {
+        return new S3ClientFactory(s3ClientSettings, s3ClientMetrics);
+    }
+
+    @Bean(destroyMethod = "close")
+    @Profile(S3_PROFILE_EXPRESSION)
+    public S3Client s3Client(S3ClientFactory s3ClientFactory) {
+        return s3ClientFactory.createClient();
+    }
+
+    @Bean(destroyMethod = "close")
+    @Profile(S3_PROFILE_EXPRESSION)
+    public S3Presigner s3Presigner(S3ClientFactory s3ClientFactory) {
+        return s3ClientFactory.createPresigner();
+    }
+
+    @Bean
+    @Profile(S3_PROFILE_EXPRESSION)
+    @Qualifier(BACKEND_QUALIFIER)
+    public StoragePort s3StorageAdapter(S3Client s3Client, S3Presigner s3Presigner, S3ClientSettings s3ClientSettings,
+                                        @Value("${aws.s3.bucket-name}") String bucketName,
+                                        @Value("${aws.s3.multipart-threshold:8388608}") long multipartThreshold,
+                                        @Value("${aws.s3.multipart-part-size:5242880}") int partSize) {
+        return new S3StorageAdapter(s3Client, s3Presigner, s3ClientSettings.region(), bucketName, multipartThreshold, partSize);
+    }
+
+    @Bean
+    @Profile(FILESYSTEM_PROFILE)
+    @Qualifier(BACKEND_QUALIFIER)
+    public StoragePort fileSystemStorageAdapter(@Value("${storage.filesystem.root:./storage}") Path root) {
+        return new FileSystemStorageAdapter(root);
+    }
+
+    @Bean
+    @Profile(MEMORY_PROFILE)
+    @Qualifier(BACKEND_QUALIFIER)
+    public StoragePort inMemoryStorageAdapter() {
+        return new InMemoryStorageAdapter();
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "storage.cache.enabled", havingValue = "true")
+    public DiskCachingStorageAdapter diskCachingStorageAdapter(@Qualifier(BACKEND_QUALIFIER) StoragePort backend,
+                                                               @Value("${storage.cache.directory:}") String directory,
+                                                               @Value("${storage.cache.max-size:2147483648}") long maxSize,
+                                                               @Value("${storage.cache.metrics.log-interval:PT1M}") Duration logInterval) {
+        Path cacheDirectory = directory == null || directory.isBlank() ? null : Path.of(directory);
+        return new DiskCachingStorageAdapter(backend, cacheDirectory, maxSize, logInterval);
+    }
+}
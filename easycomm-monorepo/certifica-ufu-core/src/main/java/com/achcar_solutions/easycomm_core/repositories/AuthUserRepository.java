@@ -5,7 +5,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.security.core.userdetails.UserDetails;
 
 
-public interface AuthUserRepository extends MongoRepository<AuthUser, String> {
+public interface AuthUserRepository extends MongoRepository<AuthUser, String>, AuthUserRepositoryCustom {
     UserDetails findByEmail(String email);
 
     AuthUser findByCpf(String cpf);
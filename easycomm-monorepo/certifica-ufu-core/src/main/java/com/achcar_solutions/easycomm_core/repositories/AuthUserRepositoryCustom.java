@@ -0,0 +1,29 @@
+package com.achcar_solutions.easycomm_core.repositories;
+
+import com.achcar_solutions.easycomm_core.entities.authuser.AuthUser;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Token version operations for {@link AuthUser}, implemented with {@code MongoTemplate}.
+ */
+public interface AuthUserRepositoryCustom {
+
+    /**
+     * Increments the user's token version, invalidating every token issued before. Returns the new version, or empty
+     * if the user does not exist.
+     */
+    Optional<Long> incrementTokenVersion(String email);
+
+    /**
+     * Users whose token version changed at or after {@code since}, with only email and token version read.
+     */
+    List<AuthUser> findTokenVersionsChangedSince(LocalDateTime since, int limit);
+
+    /**
+     * Reads only the current token version of the user, or empty if the user does not exist.
+     */
+    Optional<Long> findTokenVersion(String email);
+}
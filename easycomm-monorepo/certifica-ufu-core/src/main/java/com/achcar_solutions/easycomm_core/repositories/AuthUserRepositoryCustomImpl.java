@@ -0,0 +1,46 @@
+package com.achcar_solutions.easycomm_core.repositories;
+
+import com.achcar_solutions.easycomm_core.entities.authuser.AuthUser;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public class AuthUserRepositoryCustomImpl implements AuthUserRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public AuthUserRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Optional<Long> incrementTokenVersion(String email) {
+        Update update = new Update()
+                .inc("tokenVersion", 1)
+                .set("tokenVersionChangedAt", LocalDateTime.now());
+        Query query = Query.query(Criteria.where("email").is(email));
+        query.fields().include("tokenVersion");
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), AuthUser.class))
+                .map(AuthUser::currentTokenVersion);
+    }
+
+    @Override
+    public List<AuthUser> findTokenVersionsChangedSince(LocalDateTime since, int limit) {
+        Query query = Query.query(Criteria.where("tokenVersionChangedAt").gte(since)).limit(limit);
+        query.fields().include("email", "tokenVersion");
+        return mongoTemplate.find(query, AuthUser.class);
+    }
+
+    @Override
+    public Optional<Long> findTokenVersion(String email) {
+        Query query = Query.query(Criteria.where("email").is(email));
+        query.fields().include("tokenVersion");
+        return Optional.ofNullable(mongoTemplate.findOne(query, AuthUser.class)).map(AuthUser::currentTokenVersion);
+    }
+}
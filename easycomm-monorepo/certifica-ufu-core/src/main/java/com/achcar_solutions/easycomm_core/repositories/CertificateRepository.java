@@ -8,7 +8,7 @@ import java.util.List;
 import java.util.Optional;
 
 
-public interface CertificateRepository extends MongoRepository<Certificate, String> {
+public interface CertificateRepository extends MongoRepository<Certificate, String>, CertificateRepositoryCustom {
     Optional<Certificate> findById(String certificateId);
 
     List<Certificate> findAllByCreatedBy(String createdBy);
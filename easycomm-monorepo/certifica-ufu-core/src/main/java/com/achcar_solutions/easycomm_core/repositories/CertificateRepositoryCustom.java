@@ -0,0 +1,97 @@
+package com.achcar_solutions.easycomm_core.repositories;
+
+import com.achcar_solutions.easycomm_core.entities.certificate.Certificate;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateCategory;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateProcessingResult;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateStatus;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateStatusBatchResult;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateSummary;
+import com.achcar_solutions.easycomm_core.entities.pagination.CursorPage;
+import org.springframework.lang.Nullable;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Queries that derived repository methods cannot express, implemented with {@code MongoTemplate}.
+ */
+public interface CertificateRepositoryCustom {
+
+    /**
+     * Newest-first keyset page of certificate summaries. Every filter is optional; only the summary fields are read.
+     */
+    CursorPage<CertificateSummary> findSummaries(@Nullable String createdBy,
+                                                 @Nullable CertificateStatus status,
+                                                 @Nullable CertificateCategory category,
+                                                 @Nullable String cursor,
+                                                 int pageSize);
+
+    /**
+     * Oldest-first keyset page of PENDING certificates, i.e. the admin review queue.
+     */
+    CursorPage<CertificateSummary> findReviewQueue(@Nullable String cursor, int pageSize);
+
+    /**
+     * Applies the same decision to every given certificate that is still PENDING, as one unordered bulk write of
+     * targeted {@code $set} updates. Returns how many certificates were updated.
+     */
+    int validatePending(Collection<String> ids, CertificateStatus status, @Nullable String rejectionReason,
+                        String validatorId, LocalDateTime validationTimestamp);
+
+    /**
+     * Records an admin decision on a single certificate, but only if it is currently in one of {@code expectedStatuses}
+     * and, when {@code expectedVersion} is given, still at that version. Returns the updated certificate, or empty if
+     * the conditions did not hold.
+     */
+    Optional<Certificate> applyValidation(String id, Collection<CertificateStatus> expectedStatuses, @Nullable Long expectedVersion,
+                                          CertificateStatus status, @Nullable String rejectionReason,
+                                          String validatorId, LocalDateTime validationTimestamp);
+
+    /**
+     * Moves a certificate from {@code expected} to {@code next} and returns the updated document, or empty if it was
+     * not in {@code expected}.
+     */
+    Optional<Certificate> transitionStatus(String id, CertificateStatus expected, CertificateStatus next);
+
+    /**
+     * Same as {@link #transitionStatus} without reading the document back. Returns whether the certificate was updated.
+     */
+    boolean updateStatus(String id, CertificateStatus expected, CertificateStatus next);
+
+    /**
+     * Stores the processor's result (status, extracted text and timings) on a certificate that is still PENDING.
+     * Returns false if an admin already decided it, in which case nothing is written.
+     */
+    boolean saveProcessingResult(String id, CertificateProcessingResult result);
+
+    /**
+     * {@link #saveProcessingResult} for many certificates in one unordered bulk write. A write error on one certificate
+     * does not stop the rest.
+     */
+    CertificateStatusBatchResult saveProcessingResults(Map<String, CertificateProcessingResult> results);
+
+    /**
+     * Reads only the validation fields of the given certificates; missing ids are simply absent from the result.
+     */
+    List<Certificate> findValidationStates(Collection<String> ids);
+
+    /**
+     * Oldest-first PENDING_UPLOAD reservations created before {@code createdBefore}, i.e. direct uploads that were never
+     * completed. Only the id and the object key are read.
+     */
+    List<Certificate> findUploadReservationsCreatedBefore(LocalDateTime createdBefore, int limit);
+
+    /**
+     * Deletes a certificate only if it is still in {@code expected}. Returns whether it was deleted.
+     */
+    boolean deleteIfStatus(String id, CertificateStatus expected);
+
+    /**
+     * Deletes a certificate by id, whatever its version, and returns the document as it was when deleted, or empty if
+     * it did not exist (or another request deleted it first).
+     */
+    Optional<Certificate> findAndDeleteById(String id);
+}
@@ -0,0 +1,253 @@
+package com.achcar_solutions.easycomm_core.repositories;
+
+import com.achcar_solutions.easycomm_core.entities.certificate.Certificate;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateCategory;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateProcessingResult;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateStatus;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateStatusBatchResult;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateSummary;
+import com.achcar_solutions.easycomm_core.entities.pagination.CreatedDateCursor;
+import com.achcar_solutions.easycomm_core.entities.pagination.CursorPage;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.lang.Nullable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class CertificateRepositoryCustomImpl implements CertificateRepositoryCustom {
+
+    private static final String[] SUMMARY_FIELDS = {
+            "title", "category", "durationInHours", "status", "createdBy", "createdDate", "fileName", "rejectionReason", "version",
+            "previews.thumbnailKey"
+    };
+
+    private final MongoTemplate mongoTemplate;
+
+    public CertificateRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public CursorPage<CertificateSummary> findSummaries(@Nullable String createdBy,
+                                                        @Nullable CertificateStatus status,
+                                                        @Nullable CertificateCategory category,
+                                                        @Nullable String cursor,
+                                                        int pageSize) {
+        List<Criteria> filters = new ArrayList<>();
+        if (createdBy != null) {
+            filters.add(Criteria.where("createdBy").is(createdBy));
+        }
+        if (status != null) {
+            filters.add(Criteria.where("status").is(status));
+        }
+        if (category != null) {
+            filters.add(Criteria.where("category").is(category));
+        }
+        if (cursor != null) {
+            // Written as "createdDate <= d, except (createdDate = d and _id >= id)" instead of an $or, so the
+            // bound stays a single index range and the sort keeps coming from the index.
+            CreatedDateCursor position = CreatedDateCursor.decode(cursor);
+            filters.add(Criteria.where("createdDate").lte(position.createdDate()));
+            filters.add(new Criteria().norOperator(
+                    Criteria.where("createdDate").is(position.createdDate()).and("id").gte(position.id())));
+        }
+
+        Query query = new Query(filters.isEmpty() ? new Criteria() : new Criteria().andOperator(filters))
+                .with(Sort.by(Sort.Direction.DESC, "createdDate", "id"))
+                .limit(pageSize + 1);
+
+        return querySummaries(query, pageSize);
+    }
+
+    @Override
+    public CursorPage<CertificateSummary> findReviewQueue(@Nullable String cursor, int pageSize) {
+        Criteria criteria = Criteria.where("status").is(CertificateStatus.PENDING);
+        if (cursor != null) {
+            // Mirror of the newest-first predicate: "createdDate >= d, except (createdDate = d and _id <= id)".
+            // The status_createdDate index is simply walked backwards.
+            CreatedDateCursor position = CreatedDateCursor.decode(cursor);
+            criteria = new Criteria().andOperator(criteria,
+                    Criteria.where("createdDate").gte(position.createdDate()),
+                    new Criteria().norOperator(
+                            Criteria.where("createdDate").is(position.createdDate()).and("id").lte(position.id())));
+        }
+
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "createdDate", "id"))
+                .limit(pageSize + 1);
+
+        return querySummaries(query, pageSize);
+    }
+
+    @Override
+    public int validatePending(Collection<String> ids, CertificateStatus status, @Nullable String rejectionReason,
+                               String validatorId, LocalDateTime validationTimestamp) {
+        Update update = validationUpdate(status, rejectionReason, validatorId, validationTimestamp);
+
+        // The status filter makes each update a no-op for certificates another admin already decided.
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Certificate.class);
+        for (String id : ids) {
+            bulkOperations.updateOne(Query.query(Criteria.where("id").is(id).and("status").is(CertificateStatus.PENDING)), update);
+        }
+        return bulkOperations.execute().getModifiedCount();
+    }
+
+    @Override
+    public Optional<Certificate> applyValidation(String id, Collection<CertificateStatus> expectedStatuses, @Nullable Long expectedVersion,
+                                                 CertificateStatus status, @Nullable String rejectionReason,
+                                                 String validatorId, LocalDateTime validationTimestamp) {
+        Criteria criteria = Criteria.where("id").is(id).and("status").in(expectedStatuses);
+        if (expectedVersion != null) {
+            criteria.and("version").is(expectedVersion);
+        }
+        return Optional.ofNullable(mongoTemplate.findAndModify(Query.query(criteria),
+                validationUpdate(status, rejectionReason, validatorId, validationTimestamp),
+                FindAndModifyOptions.options().returnNew(true),
+                Certificate.class));
+    }
+
+    @Override
+    public Optional<Certificate> transitionStatus(String id, CertificateStatus expected, CertificateStatus next) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(statusQuery(id, expected), statusUpdate(next),
+                FindAndModifyOptions.options().returnNew(true), Certificate.class));
+    }
+
+    @Override
+    public boolean updateStatus(String id, CertificateStatus expected, CertificateStatus next) {
+        return mongoTemplate.updateFirst(statusQuery(id, expected), statusUpdate(next), Certificate.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public boolean saveProcessingResult(String id, CertificateProcessingResult result) {
+        return mongoTemplate.updateFirst(statusQuery(id, CertificateStatus.PENDING), processingUpdate(result), Certificate.class)
+                .getModifiedCount() > 0;
+    }
+
+    @Override
+    public CertificateStatusBatchResult saveProcessingResults(Map<String, CertificateProcessingResult> results) {
+        if (results.isEmpty()) {
+            return new CertificateStatusBatchResult(0, Map.of());
+        }
+        List<String> ids = new ArrayList<>(results.size());
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Certificate.class);
+        results.forEach((id, result) -> {
+            ids.add(id);
+            bulkOperations.updateOne(statusQuery(id, CertificateStatus.PENDING), processingUpdate(result));
+        });
+
+        try {
+            return new CertificateStatusBatchResult(bulkOperations.execute().getModifiedCount(), Map.of());
+        } catch (BulkOperationException e) {
+            // Unordered: every operation without an error was still applied. Errors point back by operation index.
+            Map<String, String> failures = new LinkedHashMap<>();
+            for (BulkWriteError error : e.getErrors()) {
+                failures.put(ids.get(error.getIndex()), error.getMessage());
+            }
+            return new CertificateStatusBatchResult(e.getResult().getModifiedCount(), failures);
+        }
+    }
+
+    @Override
+    public List<Certificate> findValidationStates(Collection<String> ids) {
+        Query query = Query.query(Criteria.where("id").in(ids));
+        query.fields().include("status", "validator_id", "validationTimestamp");
+        return mongoTemplate.find(query, Certificate.class);
+    }
+
+    @Override
+    public List<Certificate> findUploadReservationsCreatedBefore(LocalDateTime createdBefore, int limit) {
+        Query query = Query.query(Criteria.where("status").is(CertificateStatus.PENDING_UPLOAD).and("createdDate").lt(createdBefore))
+                .with(Sort.by(Sort.Direction.ASC, "createdDate"))
+                .limit(limit);
+        query.fields().include("s3ObjectKey");
+        return mongoTemplate.find(query, Certificate.class);
+    }
+
+    @Override
+    public boolean deleteIfStatus(String id, CertificateStatus expected) {
+        return mongoTemplate.remove(statusQuery(id, expected), Certificate.class).getDeletedCount() > 0;
+    }
+
+    @Override
+    public Optional<Certificate> findAndDeleteById(String id) {
+        return Optional.ofNullable(mongoTemplate.findAndRemove(Query.query(Criteria.where("id").is(id)), Certificate.class));
+    }
+
+    private static Query statusQuery(String id, CertificateStatus expected) {
+        return Query.query(Criteria.where("id").is(id).and("status").is(expected));
+    }
+
+    // State changes touch only the fields that change and bump the version, so they compose with @Version-based saves.
+    private static Update statusUpdate(CertificateStatus next) {
+        return new Update()
+                .set("status", next)
+                .set("lastModifiedDate", LocalDateTime.now())
+                .inc("version", 1);
+    }
+
+    private static Update processingUpdate(CertificateProcessingResult result) {
+        Update update = statusUpdate(result.status())
+                .set("extractedText", result.extractedText())
+                .set("contentHash", result.contentHash())
+                .set("processingStats", result.stats());
+        if (result.rejectionReason() != null) {
+            update.set("rejectionReason", result.rejectionReason());
+        }
+        if (result.previews() != null) {
+            update.set("previews", result.previews());
+        }
+        return update;
+    }
+
+    private static Update validationUpdate(CertificateStatus status, @Nullable String rejectionReason,
+                                           String validatorId, LocalDateTime validationTimestamp) {
+        Update update = new Update()
+                .set("status", status)
+                .set("validator_id", validatorId)
+                .set("validationTimestamp", validationTimestamp)
+                .set("lastModifiedBy", validatorId)
+                .set("lastModifiedDate", validationTimestamp)
+                .inc("version", 1);
+        if (rejectionReason != null) {
+            update.set("rejectionReason", rejectionReason);
+        } else {
+            update.unset("rejectionReason");
+        }
+        return update;
+    }
+
+    private CursorPage<CertificateSummary> querySummaries(Query query, int pageSize) {
+        query.fields().include(SUMMARY_FIELDS);
+
+        List<CertificateSummary> summaries = mongoTemplate.find(query, Certificate.class).stream()
+                .map(CertificateSummary::of)
+                .toList();
+
+        return toPage(summaries, pageSize);
+    }
+
+    // One extra document is fetched to know whether another page exists without a count query.
+    private static CursorPage<CertificateSummary> toPage(List<CertificateSummary> summaries, int pageSize) {
+        if (summaries.size() <= pageSize) {
+            return new CursorPage<>(summaries, null);
+        }
+        List<CertificateSummary> items = summaries.subList(0, pageSize);
+        CertificateSummary last = items.get(pageSize - 1);
+        String nextCursor = new CreatedDateCursor(last.createdDate(), new ObjectId(last.id())).encode();
+        return new CursorPage<>(List.copyOf(items), nextCursor);
+    }
+}
@@ -0,0 +1,7 @@
+package com.achcar_solutions.easycomm_core.repositories;
+
+import com.achcar_solutions.easycomm_core.entities.extraction.ExtractionCacheEntry;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface ExtractionCacheRepository extends MongoRepository<ExtractionCacheEntry, String> {
+}
@@ -0,0 +1,11 @@
+package com.achcar_solutions.easycomm_core.repositories;
+
+import com.achcar_solutions.easycomm_core.entities.opportunity.OpportunityApplication;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface OpportunityApplicationRepository extends MongoRepository<OpportunityApplication, String> {
+
+    long countByOpportunityId(String opportunityId);
+
+    void deleteAllByOpportunityId(String opportunityId);
+}
@@ -3,6 +3,7 @@ package com.achcar_solutions.easycomm_core.repositories;
 import com.achcar_solutions.easycomm_core.entities.opportunity.Opportunity;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
-public interface OpportunityRepository extends MongoRepository<Opportunity, String> {
+public interface OpportunityRepository extends MongoRepository<Opportunity, String>, OpportunityRepositoryCustom {
 
-}
\ No newline at end of file
+    boolean existsByIdAndApplicants(String id, String applicant);
+}
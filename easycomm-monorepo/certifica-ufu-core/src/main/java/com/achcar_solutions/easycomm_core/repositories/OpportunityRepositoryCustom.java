@@ -0,0 +1,41 @@
+package com.achcar_solutions.easycomm_core.repositories;
+
+import com.achcar_solutions.easycomm_core.entities.opportunity.Opportunity;
+import com.achcar_solutions.easycomm_core.entities.pagination.CursorPage;
+import org.springframework.lang.Nullable;
+
+import java.util.Optional;
+
+/**
+ * Atomic applicant operations for {@link Opportunity}. Applicants are embedded in the opportunity up to a limit and
+ * kept in the {@code opportunity_applications} collection after that, so the document never grows without bound.
+ */
+public interface OpportunityRepositoryCustom {
+
+    /**
+     * Adds the applicant to the embedded list with a single {@code $addToSet}, as long as the list has room and has
+     * never overflowed. Returns false when nothing was added: unknown opportunity, duplicate applicant or full list.
+     */
+    boolean addEmbeddedApplicant(String opportunityId, String applicant, int embeddedLimit);
+
+    /**
+     * Flags the opportunity so that new applicants and listings use the overflow collection.
+     */
+    void markApplicantsOverflowed(String opportunityId);
+
+    /**
+     * Sets only the editable details, leaving the applicants untouched. Returns empty if the opportunity does not exist.
+     */
+    Optional<Opportunity> updateDetails(String opportunityId, String title, String description, Integer hours);
+
+    /**
+     * Page of applicants: the embedded ones in application order, then the overflow ones by applicant.
+     * Returns empty if the opportunity does not exist.
+     */
+    Optional<CursorPage<String>> findApplicants(String opportunityId, @Nullable String cursor, int pageSize);
+
+    /**
+     * Total number of applicants, embedded plus overflow. Returns empty if the opportunity does not exist.
+     */
+    Optional<Long> countApplicants(String opportunityId);
+}
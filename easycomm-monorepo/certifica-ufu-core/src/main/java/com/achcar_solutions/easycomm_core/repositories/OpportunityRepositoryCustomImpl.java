@@ -0,0 +1,120 @@
+package com.achcar_solutions.easycomm_core.repositories;
+
+import com.achcar_solutions.easycomm_core.entities.opportunity.Opportunity;
+import com.achcar_solutions.easycomm_core.entities.opportunity.OpportunityApplication;
+import com.achcar_solutions.easycomm_core.entities.pagination.ApplicantCursor;
+import com.achcar_solutions.easycomm_core.entities.pagination.CursorPage;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public class OpportunityRepositoryCustomImpl implements OpportunityRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public OpportunityRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public boolean addEmbeddedApplicant(String opportunityId, String applicant, int embeddedLimit) {
+        // "applicants.<limit-1> does not exist" means the array still has room; the check and the push are one atomic update.
+        Query query = Query.query(Criteria.where("id").is(opportunityId)
+                .and("applicants").ne(applicant)
+                .and("applicants." + (embeddedLimit - 1)).exists(false)
+                .and("applicantsOverflowed").ne(true));
+        Update update = new Update().addToSet("applicants", applicant);
+        return mongoTemplate.updateFirst(query, update, Opportunity.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public void markApplicantsOverflowed(String opportunityId) {
+        Query query = Query.query(Criteria.where("id").is(opportunityId).and("applicantsOverflowed").ne(true));
+        mongoTemplate.updateFirst(query, new Update().set("applicantsOverflowed", true), Opportunity.class);
+    }
+
+    @Override
+    public Optional<Opportunity> updateDetails(String opportunityId, String title, String description, Integer hours) {
+        Update update = new Update()
+                .set("title", title)
+                .set("description", description)
+                .set("hours", hours);
+        return Optional.ofNullable(mongoTemplate.findAndModify(Query.query(Criteria.where("id").is(opportunityId)), update,
+                FindAndModifyOptions.options().returnNew(true), Opportunity.class));
+    }
+
+    @Override
+    public Optional<CursorPage<String>> findApplicants(String opportunityId, @Nullable String cursor, int pageSize) {
+        ApplicantCursor position = cursor == null ? ApplicantCursor.embedded(0) : ApplicantCursor.decode(cursor);
+        List<String> items = new ArrayList<>(pageSize);
+
+        if (!position.overflow()) {
+            // Only the requested window of the array is read, plus one element to know whether there is more.
+            Query query = Query.query(Criteria.where("id").is(opportunityId));
+            query.fields().slice("applicants", position.embeddedOffset(), pageSize + 1).include("applicantsOverflowed");
+            Opportunity window = mongoTemplate.findOne(query, Opportunity.class);
+            if (window == null) {
+                return Optional.empty();
+            }
+
+            List<String> embedded = window.getApplicants() == null ? List.of() : window.getApplicants();
+            if (embedded.size() > pageSize) {
+                String nextCursor = ApplicantCursor.embedded(position.embeddedOffset() + pageSize).encode();
+                return Optional.of(new CursorPage<>(List.copyOf(embedded.subList(0, pageSize)), nextCursor));
+            }
+            items.addAll(embedded);
+            if (!Boolean.TRUE.equals(window.getApplicantsOverflowed())) {
+                return Optional.of(new CursorPage<>(items, null));
+            }
+            if (items.size() == pageSize) {
+                return Optional.of(new CursorPage<>(items, ApplicantCursor.overflow("").encode()));
+            }
+        }
+
+        // Served by the unique (opportunityId, applicant) index, in index order.
+        String lastApplicant = position.overflow() ? position.lastApplicant() : "";
+        int remaining = pageSize - items.size();
+        Query query = Query.query(Criteria.where("opportunityId").is(opportunityId).and("applicant").gt(lastApplicant))
+                .with(Sort.by(Sort.Direction.ASC, "applicant"))
+                .limit(remaining + 1);
+        query.fields().include("applicant");
+        List<OpportunityApplication> applications = mongoTemplate.find(query, OpportunityApplication.class);
+
+        applications.stream().limit(remaining).map(OpportunityApplication::getApplicant).forEach(items::add);
+        String nextCursor = applications.size() > remaining
+                ? ApplicantCursor.overflow(items.get(items.size() - 1)).encode()
+                : null;
+        return Optional.of(new CursorPage<>(items, nextCursor));
+    }
+
+    @Override
+    public Optional<Long> countApplicants(String opportunityId) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("id").is(opportunityId)),
+                Aggregation.project("applicantsOverflowed")
+                        .and(ArrayOperators.Size.lengthOfArray(ConditionalOperators.ifNull("applicants").then(List.of())))
+                        .as("embeddedCount"));
+        Document result = mongoTemplate.aggregate(aggregation, Opportunity.class, Document.class).getUniqueMappedResult();
+        if (result == null) {
+            return Optional.empty();
+        }
+
+        long count = result.getInteger("embeddedCount");
+        if (Boolean.TRUE.equals(result.getBoolean("applicantsOverflowed"))) {
+            count += mongoTemplate.count(Query.query(Criteria.where("opportunityId").is(opportunityId)), OpportunityApplication.class);
+        }
+        return Optional.of(count);
+    }
+}
@@ -0,0 +1,7 @@
+package com.achcar_solutions.easycomm_core.repositories;
+
+import com.achcar_solutions.easycomm_core.entities.outbox.OutboxEvent;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface OutboxEventRepository extends MongoRepository<OutboxEvent, String>, OutboxEventRepositoryCustom {
+}
@@ -0,0 +1,15 @@
+package com.achcar_solutions.easycomm_core.repositories;
+
+import com.achcar_solutions.easycomm_core.entities.outbox.OutboxEvent;
+
+import java.time.Duration;
+import java.util.List;
+
+public interface OutboxEventRepositoryCustom {
+
+    /**
+     * Takes a lease on up to {@code limit} of the oldest available events and returns the ones this owner got, oldest
+     * first. Events another relay claimed in between are left out, so concurrent relays never publish the same batch.
+     */
+    List<OutboxEvent> claimBatch(String leaseOwner, int limit, Duration lease);
+}
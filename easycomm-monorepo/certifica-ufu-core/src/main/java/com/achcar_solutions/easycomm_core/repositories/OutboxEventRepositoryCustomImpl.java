@@ -0,0 +1,46 @@
+package com.achcar_solutions.easycomm_core.repositories;
+
+import com.achcar_solutions.easycomm_core.entities.outbox.OutboxEvent;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class OutboxEventRepositoryCustomImpl implements OutboxEventRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public OutboxEventRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<OutboxEvent> claimBatch(String leaseOwner, int limit, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        Query available = Query.query(Criteria.where("availableAt").lte(now))
+                .with(Sort.by(Sort.Direction.ASC, "id"))
+                .limit(limit);
+        available.fields().include("id");
+        List<String> candidateIds = mongoTemplate.find(available, OutboxEvent.class).stream().map(OutboxEvent::getId).toList();
+        if (candidateIds.isEmpty()) {
+            return List.of();
+        }
+
+        // The availableAt condition is checked again in the update: whatever another relay claimed since the read is skipped.
+        Query claimable = Query.query(Criteria.where("id").in(candidateIds).and("availableAt").lte(now));
+        Update claim = new Update()
+                .set("leaseOwner", leaseOwner)
+                .set("availableAt", now.plus(lease))
+                .inc("attempts", 1);
+        mongoTemplate.updateMulti(claimable, claim, OutboxEvent.class);
+
+        Query claimed = Query.query(Criteria.where("id").in(candidateIds).and("leaseOwner").is(leaseOwner).and("availableAt").gt(now))
+                .with(Sort.by(Sort.Direction.ASC, "id"));
+        return mongoTemplate.find(claimed, OutboxEvent.class);
+    }
+}
@@ -0,0 +1,7 @@
+package com.achcar_solutions.easycomm_core.repositories;
+
+import com.achcar_solutions.easycomm_core.entities.storage.StoredBlob;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface StoredBlobRepository extends MongoRepository<StoredBlob, String>, StoredBlobRepositoryCustom {
+}
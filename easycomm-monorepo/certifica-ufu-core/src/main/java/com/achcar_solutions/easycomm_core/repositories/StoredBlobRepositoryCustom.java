@@ -0,0 +1,29 @@
+package com.achcar_solutions.easycomm_core.repositories;
+
+import com.achcar_solutions.easycomm_core.entities.storage.StoredBlob;
+
+import java.util.Optional;
+
+/**
+ * Atomic reference counting for {@link StoredBlob}, implemented with {@code MongoTemplate}.
+ */
+public interface StoredBlobRepositoryCustom {
+
+    /**
+     * Adds a reference to the content, creating the document with {@code objectKey} if this is the first one.
+     * Returns the document after the increment; its {@code objectKey} is the one to use, which is not necessarily
+     * the one passed in.
+     */
+    StoredBlob acquire(String contentHash, String objectKey, long size, String contentType);
+
+    /**
+     * Removes a reference and returns the document after the decrement, or empty if there was no reference to remove.
+     */
+    Optional<StoredBlob> release(String contentHash);
+
+    /**
+     * Deletes the document if it still has no references and still points to {@code objectKey}. Returns whether it was
+     * deleted, i.e. whether the caller now owns the deletion of the object.
+     */
+    boolean deleteIfUnreferenced(String contentHash, String objectKey);
+}
@@ -0,0 +1,47 @@
+package com.achcar_solutions.easycomm_core.repositories;
+
+import com.achcar_solutions.easycomm_core.entities.storage.StoredBlob;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public class StoredBlobRepositoryCustomImpl implements StoredBlobRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public StoredBlobRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public StoredBlob acquire(String contentHash, String objectKey, long size, String contentType) {
+        Update update = new Update()
+                .inc("refCount", 1)
+                .setOnInsert("objectKey", objectKey)
+                .setOnInsert("size", size)
+                .setOnInsert("contentType", contentType)
+                .setOnInsert("createdDate", LocalDateTime.now());
+        return mongoTemplate.findAndModify(Query.query(Criteria.where("contentHash").is(contentHash)), update,
+                FindAndModifyOptions.options().upsert(true).returnNew(true), StoredBlob.class);
+    }
+
+    @Override
+    public Optional<StoredBlob> release(String contentHash) {
+        Query query = Query.query(Criteria.where("contentHash").is(contentHash).and("refCount").gt(0));
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, new Update().inc("refCount", -1),
+                FindAndModifyOptions.options().returnNew(true), StoredBlob.class));
+    }
+
+    @Override
+    public boolean deleteIfUnreferenced(String contentHash, String objectKey) {
+        Query query = Query.query(Criteria.where("contentHash").is(contentHash)
+                .and("objectKey").is(objectKey)
+                .and("refCount").lte(0));
+        return mongoTemplate.remove(query, StoredBlob.class).getDeletedCount() > 0;
+    }
+}
@@ -0,0 +1,89 @@
+package com.achcar_solutions.easycomm_core.infra.aws;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricCollector;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class S3ClientMetricsTest {
+
+    @Test
+    @DisplayName("Calls should be aggregated per operation and the pool peaks tracked until the window is reset")
+    void aggregatesPerOperationAndPool() {
+        S3ClientMetrics metrics = new S3ClientMetrics(Duration.ofHours(1));
+
+        metrics.publish(call("GetObject", true, 0, Duration.ofMillis(100), Duration.ofMillis(80), 10, 0, Duration.ofMillis(1)));
+        metrics.publish(call("GetObject", false, 2, Duration.ofMillis(300), Duration.ofMillis(40), 64, 5, Duration.ofMillis(200)));
+        metrics.publish(call("PutObject", true, 0, Duration.ofMillis(50), Duration.ofMillis(45), 3, 0, Duration.ZERO));
+
+        S3ClientMetrics.Snapshot snapshot = metrics.snapshotAndReset();
+
+        S3ClientMetrics.OperationSnapshot getObject = snapshot.operations().get("GetObject");
+        assertEquals(2, getObject.calls());
+        assertEquals(1, getObject.failures());
+        assertEquals(2, getObject.retries());
+        assertEquals(Duration.ofMillis(200), getObject.averageLatency());
+        assertEquals(Duration.ofMillis(300), getObject.maxLatency());
+        assertEquals(Duration.ofMillis(60), getObject.averageServiceTime());
+        assertEquals(1, snapshot.operations().get("PutObject").calls());
+
+        assertEquals(64, snapshot.pool().maxConnections());
+        assertEquals(64, snapshot.pool().peakLeased());
+        assertEquals(5, snapshot.pool().peakPendingAcquires());
+        assertEquals(Duration.ofMillis(200), snapshot.pool().maxAcquireTime());
+
+        S3ClientMetrics.Snapshot empty = metrics.snapshotAndReset();
+        assertTrue(empty.operations().isEmpty());
+        assertEquals(0, empty.pool().peakLeased());
+    }
+
+    @Test
+    @DisplayName("Calls should also be published as per-operation timers and pool gauges")
+    void publishesMeters() {
+        S3ClientMetrics metrics = new S3ClientMetrics(Duration.ofHours(1));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        metrics.bindTo(registry);
+
+        metrics.publish(call("GetObject", true, 0, Duration.ofMillis(100), Duration.ofMillis(80), 10, 0, Duration.ofMillis(1)));
+        metrics.publish(call("GetObject", false, 2, Duration.ofMillis(300), Duration.ofMillis(40), 64, 5, Duration.ofMillis(200)));
+        metrics.publish(call("PutObject", true, 0, Duration.ofMillis(50), Duration.ofMillis(45), 3, 0, Duration.ZERO));
+        // The log window resetting must not reset the meters.
+        metrics.snapshotAndReset();
+
+        assertEquals(1, registry.get("s3.client.calls").tags("operation", "GetObject", "outcome", "success").timer().count());
+        assertEquals(300, registry.get("s3.client.calls").tags("operation", "GetObject", "outcome", "failure").timer()
+                .totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(2, registry.get("s3.client.retries").tag("operation", "GetObject").counter().count());
+        assertEquals(2, registry.get("s3.client.service.time").tag("operation", "GetObject").timer().count());
+        assertEquals(3, registry.get("s3.client.pool.acquire").timer().count());
+        assertEquals(3, registry.get("s3.client.pool.leased").gauge().value());
+        assertEquals(0, registry.get("s3.client.pool.pending").gauge().value());
+        assertEquals(64, registry.get("s3.client.pool.max").gauge().value());
+    }
+
+    private static MetricCollection call(String operation, boolean successful, int retries, Duration latency,
+                                         Duration serviceTime, int leased, int pending, Duration acquireTime) {
+        MetricCollector apiCall = MetricCollector.create("ApiCall");
+        apiCall.reportMetric(CoreMetric.OPERATION_NAME, operation);
+        apiCall.reportMetric(CoreMetric.API_CALL_SUCCESSFUL, successful);
+        apiCall.reportMetric(CoreMetric.RETRY_COUNT, retries);
+        apiCall.reportMetric(CoreMetric.API_CALL_DURATION, latency);
+
+        MetricCollector attempt = apiCall.createChild("ApiCallAttempt");
+        attempt.reportMetric(CoreMetric.SERVICE_CALL_DURATION, serviceTime);
+        MetricCollector httpClient = attempt.createChild("HttpClient");
+        httpClient.reportMetric(HttpMetric.MAX_CONCURRENCY, 64);
+        httpClient.reportMetric(HttpMetric.LEASED_CONCURRENCY, leased);
+        httpClient.reportMetric(HttpMetric.PENDING_CONCURRENCY_ACQUIRES, pending);
+        httpClient.reportMetric(HttpMetric.CONCURRENCY_ACQUIRE_DURATION, acquireTime);
+        return apiCall.collect();
+    }
+}
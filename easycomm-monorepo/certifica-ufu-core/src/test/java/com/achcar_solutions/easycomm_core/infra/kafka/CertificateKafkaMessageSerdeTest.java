@@ -0,0 +1,83 @@
+package com.achcar_solutions.easycomm_core.infra.kafka;
+
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateCategory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CertificateKafkaMessageSerdeTest {
+
+    private final CertificateKafkaMessageSerializer serializer = new CertificateKafkaMessageSerializer();
+    private final CertificateKafkaMessageDeserializer deserializer = new CertificateKafkaMessageDeserializer();
+
+    private final CertificateKafkaMessage message = new CertificateKafkaMessage("6650c1e2a4b5c6d7e8f90123", "blobs/9f86d081/6650c1e2.pdf",
+            ".pdf", 482_133L, "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08", CertificateCategory.PALESTRAS_E_CURSOS, 8);
+
+    @Test
+    @DisplayName("Binary messages should round-trip and be smaller than the JSON they replace")
+    void roundTrips() {
+        byte[] bytes = serializer.serialize("certificates-to-process", message);
+
+        assertEquals(message, deserializer.deserialize("certificates-to-process", bytes));
+        assertTrue(deserializer.deserialize("certificates-to-process", bytes).carriesCertificateData());
+        String json = "{\"certificateId\":\"6650c1e2a4b5c6d7e8f90123\",\"s3ObjectKey\":\"blobs/9f86d081/6650c1e2.pdf\",\"fileType\":\".pdf\","
+                + "\"fileSize\":482133,\"contentHash\":\"9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08\","
+                + "\"category\":\"PALESTRAS_E_CURSOS\",\"durationInHours\":8}";
+        assertTrue(bytes.length < json.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    @DisplayName("Legacy JSON messages should still be read, without certificate data")
+    void readsLegacyJson() {
+        byte[] json = "{\"certificateId\":\"abc\",\"s3ObjectKey\":\"abc.pdf\"}".getBytes(StandardCharsets.UTF_8);
+
+        CertificateKafkaMessage legacy = deserializer.deserialize("certificates-to-process-dlt", json);
+
+        assertEquals(new CertificateKafkaMessage("abc", "abc.pdf"), legacy);
+        assertFalse(legacy.carriesCertificateData());
+    }
+
+    @Test
+    @DisplayName("The JSON format should be readable by the JSON deserializer of processors older than the binary format")
+    void jsonFormatIsReadableByLegacyConsumers() {
+        byte[] json = new CertificateKafkaMessageSerializer(CertificateKafkaMessageSerializer.Format.JSON)
+                .serialize("certificates-to-process", message);
+
+        try (JsonDeserializer<CertificateKafkaMessage> legacyDeserializer = new JsonDeserializer<>(CertificateKafkaMessage.class)) {
+            legacyDeserializer.setUseTypeHeaders(false);
+            legacyDeserializer.addTrustedPackages("*");
+            assertEquals(message, legacyDeserializer.deserialize("certificates-to-process", json));
+        }
+        assertEquals(message, deserializer.deserialize("certificates-to-process", json));
+    }
+
+    @Test
+    @DisplayName("Fields appended by a newer writer should be ignored and fields missing from an older one read as null")
+    void toleratesAppendedAndMissingFields() {
+        byte[] bytes = serializer.serialize("certificates-to-process", message);
+
+        byte[] fromNewerWriter = Arrays.copyOf(bytes, bytes.length + 9);
+        fromNewerWriter[bytes.length] = 1;
+        assertEquals(message, deserializer.deserialize("certificates-to-process", fromNewerWriter));
+
+        byte[] onlyIdAndKey = serializer.serialize("certificates-to-process", new CertificateKafkaMessage("abc", "abc.pdf"));
+        // Drops the five absent-field markers, as a writer that only knew the first two fields would have.
+        byte[] fromOlderWriter = Arrays.copyOf(onlyIdAndKey, onlyIdAndKey.length - 5);
+        assertEquals(new CertificateKafkaMessage("abc", "abc.pdf"), deserializer.deserialize("certificates-to-process", fromOlderWriter));
+    }
+
+    @Test
+    @DisplayName("An unknown format version should be rejected")
+    void rejectsUnknownVersion() {
+        byte[] bytes = serializer.serialize("certificates-to-process", message);
+        bytes[0] = 2;
+
+        assertThrows(SerializationException.class, () -> deserializer.deserialize("certificates-to-process", bytes));
+    }
+}
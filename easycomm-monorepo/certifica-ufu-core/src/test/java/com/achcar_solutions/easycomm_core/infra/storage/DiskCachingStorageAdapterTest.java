@@ -0,0 +1,177 @@
+package com.achcar_solutions.easycomm_core.infra.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiskCachingStorageAdapterTest {
+
+    private static final byte[] CONTENT = "%PDF-1.7 certificado".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Concurrent reads of an uncached key should share a single download")
+    void concurrentMissesShareOneDownload() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountingStorage backend = new CountingStorage(release);
+        backend.uploadFile(CONTENT, "blobs/abc/certificado.pdf", "application/pdf");
+        DiskCachingStorageAdapter cache = new DiskCachingStorageAdapter(backend, directory, 1024, Duration.ofMinutes(1));
+
+        int readers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(readers);
+        try {
+            List<Future<byte[]>> reads = new ArrayList<>();
+            for (int i = 0; i < readers; i++) {
+                reads.add(executor.submit(() -> cache.downloadFile("blobs/abc/certificado.pdf")));
+            }
+            // Hold the first download until every reader has reached the cache.
+            while (cache.stats().misses() + cache.stats().coalesced() < readers) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            for (Future<byte[]> read : reads) {
+                assertArrayEquals(CONTENT, read.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, backend.opens.get());
+        assertEquals(1, cache.stats().misses());
+        assertEquals(readers - 1, cache.stats().coalesced());
+
+        try (InputStream inputStream = cache.openFile("blobs/abc/certificado.pdf")) {
+            assertArrayEquals(CONTENT, inputStream.readAllBytes());
+        }
+        assertEquals(1, backend.opens.get());
+        assertEquals(1, cache.stats().hits());
+    }
+
+    @Test
+    @DisplayName("Going over the size limit should evict the least recently read key")
+    void evictsLeastRecentlyUsed() {
+        CountingStorage backend = new CountingStorage(new CountDownLatch(0));
+        backend.uploadFile(new byte[400], "a", "application/pdf");
+        backend.uploadFile(new byte[400], "b", "application/pdf");
+        backend.uploadFile(new byte[400], "c", "application/pdf");
+        DiskCachingStorageAdapter cache = new DiskCachingStorageAdapter(backend, directory, 1000, Duration.ofMinutes(1));
+
+        cache.downloadFile("a");
+        cache.downloadFile("b");
+        cache.downloadFile("a");
+        cache.downloadFile("c");
+
+        assertEquals(1, cache.stats().evictions());
+        assertEquals(800, cache.stats().bytes());
+        int opens = backend.opens.get();
+        cache.downloadFile("a");
+        assertEquals(opens, backend.opens.get(), "a was read more recently than b and should still be cached");
+        cache.downloadFile("b");
+        assertEquals(opens + 1, backend.opens.get());
+    }
+
+    @Test
+    @DisplayName("Writing to a cached key should drop the cached copy")
+    void writesInvalidate() {
+        CountingStorage backend = new CountingStorage(new CountDownLatch(0));
+        backend.uploadFile(CONTENT, "previews/abc/thumbnail.png", "image/png");
+        DiskCachingStorageAdapter cache = new DiskCachingStorageAdapter(backend, directory, 1024, Duration.ofMinutes(1));
+        cache.downloadFile("previews/abc/thumbnail.png");
+
+        byte[] updated = "nova miniatura".getBytes(StandardCharsets.UTF_8);
+        cache.uploadFile(updated, "previews/abc/thumbnail.png", "image/png");
+
+        assertArrayEquals(updated, cache.downloadFile("previews/abc/thumbnail.png"));
+        assertEquals(2, backend.opens.get());
+    }
+
+    @Test
+    @DisplayName("A non-empty directory that the cache did not create should be refused and left untouched")
+    void refusesForeignDirectory() throws Exception {
+        Path certificate = Files.write(directory.resolve("certificado.pdf"), CONTENT);
+        CountingStorage backend = new CountingStorage(new CountDownLatch(0));
+
+        assertThrows(IllegalStateException.class, () -> new DiskCachingStorageAdapter(backend, directory, 1024, Duration.ofMinutes(1)));
+        assertArrayEquals(CONTENT, Files.readAllBytes(certificate));
+    }
+
+    @Test
+    @DisplayName("Start-up and close should delete only the files the cache itself wrote")
+    void cleansOnlyItsOwnFiles() throws Exception {
+        CountingStorage backend = new CountingStorage(new CountDownLatch(0));
+        backend.uploadFile(CONTENT, "blobs/abc/certificado.pdf", "application/pdf");
+        DiskCachingStorageAdapter cache = new DiskCachingStorageAdapter(backend, directory, 1024, Duration.ofMinutes(1));
+        cache.downloadFile("blobs/abc/certificado.pdf");
+        Path unrelated = Files.write(directory.resolve("notas.txt"), CONTENT);
+        cache.close();
+
+        assertTrue(Files.exists(directory.resolve(DiskCachingStorageAdapter.MARKER_FILE)));
+        assertTrue(Files.exists(unrelated));
+        try (var files = Files.list(directory)) {
+            assertEquals(2, files.count(), "only the marker and the unrelated file should be left");
+        }
+
+        // The marker lets a later run reuse the directory even though it is not empty.
+        DiskCachingStorageAdapter restarted = new DiskCachingStorageAdapter(backend, directory, 1024, Duration.ofMinutes(1));
+        assertArrayEquals(CONTENT, restarted.downloadFile("blobs/abc/certificado.pdf"));
+        assertTrue(Files.exists(unrelated));
+    }
+
+    @Test
+    @DisplayName("Cache counters should be published as meters")
+    void publishesMeters() {
+        CountingStorage backend = new CountingStorage(new CountDownLatch(0));
+        backend.uploadFile(CONTENT, "blobs/abc/certificado.pdf", "application/pdf");
+        DiskCachingStorageAdapter cache = new DiskCachingStorageAdapter(backend, directory, 1024, Duration.ofMinutes(1));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.downloadFile("blobs/abc/certificado.pdf");
+        cache.downloadFile("blobs/abc/certificado.pdf");
+
+        assertEquals(1, registry.get("storage.cache.requests").tag("result", "miss").functionCounter().count());
+        assertEquals(1, registry.get("storage.cache.requests").tag("result", "hit").functionCounter().count());
+        assertEquals(1, registry.get("storage.cache.entries").gauge().value());
+        assertEquals(CONTENT.length, registry.get("storage.cache.size").gauge().value());
+    }
+
+    private static final class CountingStorage extends InMemoryStorageAdapter {
+        private final AtomicInteger opens = new AtomicInteger();
+        private final CountDownLatch release;
+
+        private CountingStorage(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public InputStream openFile(String s3ObjectKey) {
+            opens.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            return super.openFile(s3ObjectKey);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.achcar_solutions.easycomm_core.infra.storage;
+
+import com.achcar_solutions.easycomm_core.infra.ports.StoredFileMetadata;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileSystemStorageAdapterTest {
+
+    private static final byte[] CONTENT = "%PDF-1.7 certificado".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path root;
+
+    @Test
+    @DisplayName("Streamed uploads should land in a sharded file under the root and read back intact")
+    void uploadsIntoShardedLayout() throws Exception {
+        FileSystemStorageAdapter storage = new FileSystemStorageAdapter(root);
+
+        String url = storage.uploadFile(new ByteArrayInputStream(CONTENT), CONTENT.length, "blobs/abc/certificado.pdf", "application/pdf");
+
+        // The URL is only a locator: the server path must not reach clients.
+        assertEquals("filesystem://blobs/abc/certificado.pdf", url);
+        assertFalse(url.contains(root.toString()));
+        assertFalse(storage.supportsDirectDownload());
+        assertThrows(UnsupportedOperationException.class,
+                () -> storage.generatePresignedDownloadUrl("blobs/abc/certificado.pdf", Duration.ofMinutes(5)));
+        List<Path> files = storedFiles(root);
+        assertEquals(1, files.size());
+        Path file = files.get(0);
+        assertEquals(root, file.getParent().getParent().getParent());
+        assertEquals(2, file.getParent().getFileName().toString().length());
+        try (InputStream inputStream = storage.openFile("blobs/abc/certificado.pdf")) {
+            assertArrayEquals(CONTENT, inputStream.readAllBytes());
+        }
+        StoredFileMetadata metadata = storage.getFileMetadata("blobs/abc/certificado.pdf").orElseThrow();
+        assertEquals(CONTENT.length, metadata.contentLength());
+        assertEquals("application/pdf", metadata.contentType());
+    }
+
+    @Test
+    @DisplayName("Ranged reads should return exactly the requested bytes and reject ranges past the end")
+    void opensByteRanges() throws Exception {
+        FileSystemStorageAdapter storage = new FileSystemStorageAdapter(root);
+        storage.uploadFile(CONTENT, "blobs/abc/certificado.pdf", "application/pdf");
+
+        try (InputStream inputStream = storage.openFile("blobs/abc/certificado.pdf", 1, 3)) {
+            assertArrayEquals("PDF".getBytes(StandardCharsets.UTF_8), inputStream.readAllBytes());
+        }
+        assertThrows(UncheckedIOException.class, () -> storage.openFile("blobs/abc/certificado.pdf", CONTENT.length - 1, 2));
+    }
+
+    @Test
+    @DisplayName("A short stream should fail the upload without leaving the object or a temp file behind")
+    void shortStreamLeavesNothingBehind() throws Exception {
+        FileSystemStorageAdapter storage = new FileSystemStorageAdapter(root);
+
+        assertThrows(UncheckedIOException.class,
+                () -> storage.uploadFile(new ByteArrayInputStream(CONTENT), CONTENT.length + 10, "staging/x.pdf", "application/pdf"));
+
+        assertTrue(storage.getFileMetadata("staging/x.pdf").isEmpty());
+        try (Stream<Path> files = Files.walk(root)) {
+            assertTrue(files.noneMatch(Files::isRegularFile));
+        }
+    }
+
+    @Test
+    @DisplayName("Copies should be independent of the source, and deletes should only remove their own key")
+    void copiesAndDeletes() {
+        FileSystemStorageAdapter storage = new FileSystemStorageAdapter(root);
+        storage.uploadFile(CONTENT, "staging/x.pdf", "application/pdf");
+
+        storage.copyFile("staging/x.pdf", "blobs/abc/x.pdf");
+        storage.deleteFile("staging/x.pdf");
+
+        assertTrue(storage.getFileMetadata("staging/x.pdf").isEmpty());
+        assertArrayEquals(CONTENT, storage.downloadFile("blobs/abc/x.pdf"));
+        assertThrows(UncheckedIOException.class, () -> storage.openFile("staging/x.pdf"));
+    }
+
+    @Test
+    @DisplayName("Keys with path segments should never escape the storage root")
+    void keysStayInsideRoot() throws Exception {
+        FileSystemStorageAdapter storage = new FileSystemStorageAdapter(root.resolve("storage"));
+
+        storage.uploadFile(CONTENT, "../../escape.pdf", "application/pdf");
+
+        List<Path> files = storedFiles(root);
+        assertEquals(1, files.size());
+        assertTrue(files.get(0).startsWith(root.resolve("storage")));
+        assertArrayEquals(CONTENT, storage.downloadFile("../../escape.pdf"));
+    }
+
+    private static List<Path> storedFiles(Path directory) throws Exception {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths.filter(Files::isRegularFile).toList();
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package com.ufu_solutions.certifica_ufu_processor;
 
+import com.achcar_solutions.easycomm_core.infra.storage.StorageConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
 
 @EnableMongoRepositories(basePackages = "com.achcar_solutions.easycomm_core.repositories")
 @SpringBootApplication
+@Import(StorageConfiguration.class)
 public class CertificaufuProcessorApplication {
 
 	public static void main(String[] args) {
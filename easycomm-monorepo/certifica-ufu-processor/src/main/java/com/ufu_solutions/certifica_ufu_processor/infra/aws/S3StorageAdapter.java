@@ -1,62 +0,0 @@
-package com.ufu_solutions.certifica_ufu_processor.infra.aws;
-
-import com.achcar_solutions.easycomm_core.infra.ports.StoragePort;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.stereotype.Component;
-import software.amazon.awssdk.core.ResponseBytes;
-import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
-import software.amazon.awssdk.services.s3.model.GetObjectRequest;
-import software.amazon.awssdk.services.s3.model.GetObjectResponse;
-import software.amazon.awssdk.services.s3.model.PutObjectRequest;
-
-@Component
-public class S3StorageAdapter implements StoragePort {
-
-    private final S3Client s3Client;
-    private final String bucketName;
-    private final String region;
-
-    public S3StorageAdapter(@Value("${aws.s3.region}") String region,
-                            @Value("${aws.s3.bucket-name}") String bucketName) {
-        this.bucketName = bucketName;
-        this.region = region;
-        this.s3Client = S3Client.builder()
-                .region(Region.of(this.region))
-                .build();
-    }
-
-    @Override
-    public String uploadFile(byte[] fileData, String fileName, String contentType) {
-        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
-                .bucket(bucketName)
-                .key(fileName)
-                .contentType(contentType)
-                .build();
-
-        s3Client.putObject(putObjectRequest, RequestBody.fromBytes(fileData));
-        return String.format("https://%s.s3.%s.amazonaws.com/%s",
-                bucketName, region, fileName);
-    }
-
-    @Override
-    public byte[] downloadFile(String s3ObjectKey) {
-        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
-                .bucket(bucketName)
-                .key(s3ObjectKey)
-                .build();
-        ResponseBytes<GetObjectResponse> s3ObjectBytes = s3Client.getObjectAsBytes(getObjectRequest);
-        return s3ObjectBytes.asByteArray();
-    }
-
-    @Override
-    public void deleteFile(String s3ObjectKey) {
-        DeleteObjectRequest deleteObjectRequest = DeleteObjectRequest.builder()
-                .bucket(bucketName)
-                .key(s3ObjectKey)
-                .build();
-        s3Client.deleteObject(deleteObjectRequest);
-    }
-}
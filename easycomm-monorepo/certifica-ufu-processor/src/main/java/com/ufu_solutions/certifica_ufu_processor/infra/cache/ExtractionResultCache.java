@@ -0,0 +1,58 @@
+package com.ufu_solutions.certifica_ufu_processor.infra.cache;
+
+import com.achcar_solutions.easycomm_core.entities.extraction.ExtractionCacheEntry;
+import com.achcar_solutions.easycomm_core.repositories.ExtractionCacheRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cache de resultados de extração por hash do conteúdo, em dois níveis: um LRU limitado em memória na frente da
+ * coleção {@code extraction_cache}, que é compartilhada entre as réplicas do processor e sobrevive a restarts.
+ */
+@Component
+public class ExtractionResultCache {
+
+    private final ExtractionCacheRepository extractionCacheRepository;
+    private final Map<String, ExtractionCacheEntry> entriesByHash;
+
+    public ExtractionResultCache(ExtractionCacheRepository extractionCacheRepository,
+                                 @Value("${certificate.extraction-cache.size:2000}") int maxEntries) {
+        this.extractionCacheRepository = extractionCacheRepository;
+        this.entriesByHash = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ExtractionCacheEntry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public Optional<ExtractionCacheEntry> get(String contentHash) {
+        synchronized (this) {
+            ExtractionCacheEntry cached = entriesByHash.get(contentHash);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+        // A leitura no Mongo fica fora do lock; duas buscas simultâneas pelo mesmo hash só leem duas vezes.
+        Optional<ExtractionCacheEntry> stored = extractionCacheRepository.findById(contentHash);
+        stored.ifPresent(this::remember);
+        return stored;
+    }
+
+    /**
+     * Grava o resultado nos dois níveis. Como o conteúdo é o mesmo para o mesmo hash, uma réplica que grave o mesmo
+     * hash ao mesmo tempo só sobrescreve o documento com um equivalente.
+     */
+    public void put(ExtractionCacheEntry entry) {
+        extractionCacheRepository.save(entry);
+        remember(entry);
+    }
+
+    private synchronized void remember(ExtractionCacheEntry entry) {
+        entriesByHash.put(entry.getContentHash(), entry);
+    }
+}
@@ -0,0 +1,119 @@
+package com.ufu_solutions.certifica_ufu_processor.infra.kafka;
+
+import com.achcar_solutions.easycomm_core.infra.kafka.CertificateKafkaMessage;
+import com.achcar_solutions.easycomm_core.infra.kafka.CertificateTopics;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Encaminha um certificado cujo processamento falhou para o próximo tópico de retry, ou para a DLT depois da última
+ * tentativa. A falha sai do caminho do tópico principal: a partição segue consumindo e só o certificado com problema
+ * espera o backoff.
+ * <p>
+ * O envio é síncrono porque o registro de origem é confirmado logo depois; se o envio falhar a exceção sobe.
+ */
+@Component
+public class CertificateRetryRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CertificateRetryRouter.class);
+
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+    private static final long SEND_TIMEOUT_SECONDS = 10;
+
+    private final KafkaTemplate<String, CertificateKafkaMessage> kafkaTemplate;
+
+    public CertificateRetryRouter(KafkaTemplate<String, CertificateKafkaMessage> kafkaTemplate) {
+        this.kafkaTemplate = kafkaTemplate;
+    }
+
+    public void routeFailure(ConsumerRecord<String, CertificateKafkaMessage> failed, Throwable error) {
+        routeFailure(failed, error.getClass().getName(), error.getMessage());
+    }
+
+    /**
+     * {@code exceptionClass} pode ser nulo quando a falha não veio de uma exceção, como um erro de escrita no bulk.
+     */
+    public void routeFailure(ConsumerRecord<String, CertificateKafkaMessage> failed, String exceptionClass, String exceptionMessage) {
+        int attempts = attemptsOf(failed) + 1;
+        long now = System.currentTimeMillis();
+        boolean exhausted = attempts > CertificateTopics.RETRY_STAGES.size();
+        CertificateTopics.RetryStage stage = exhausted ? null : CertificateTopics.RETRY_STAGES.get(attempts - 1);
+        String topic = exhausted ? CertificateTopics.DEAD_LETTER_TOPIC : stage.topic();
+
+        ProducerRecord<String, CertificateKafkaMessage> routed = new ProducerRecord<>(topic, failed.key(), failed.value());
+        Headers headers = routed.headers();
+        putHeader(headers, CertificateTopics.ATTEMPTS_HEADER, String.valueOf(attempts));
+        if (!exhausted) {
+            putHeader(headers, CertificateTopics.DUE_AT_HEADER, String.valueOf(now + stage.delay().toMillis()));
+        }
+        // The first failure is the one that points at the record the student actually submitted.
+        putHeader(headers, CertificateTopics.ORIGINAL_PARTITION_HEADER,
+                headerOr(failed, CertificateTopics.ORIGINAL_PARTITION_HEADER, String.valueOf(failed.partition())));
+        putHeader(headers, CertificateTopics.ORIGINAL_OFFSET_HEADER,
+                headerOr(failed, CertificateTopics.ORIGINAL_OFFSET_HEADER, String.valueOf(failed.offset())));
+        putHeader(headers, CertificateTopics.EXCEPTION_CLASS_HEADER, exceptionClass);
+        putHeader(headers, CertificateTopics.EXCEPTION_MESSAGE_HEADER, truncate(exceptionMessage));
+        putHeader(headers, CertificateTopics.FAILED_AT_HEADER, String.valueOf(now));
+
+        try {
+            kafkaTemplate.send(routed).get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while routing certificate " + failed.key() + " to " + topic + ".", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Failed to route certificate " + failed.key() + " to " + topic + ".", e);
+        }
+
+        if (exhausted) {
+            logger.error("Certificado {} falhou {} vezes e foi para a DLT: {}", failed.key(), attempts, exceptionMessage);
+        } else {
+            logger.warn("Certificado {} falhou (tentativa {}); nova tentativa em {} via {}: {}",
+                    failed.key(), attempts, stage.delay(), topic, exceptionMessage);
+        }
+    }
+
+    public static int attemptsOf(ConsumerRecord<?, ?> record) {
+        String attempts = header(record, CertificateTopics.ATTEMPTS_HEADER);
+        return attempts == null ? 0 : Integer.parseInt(attempts);
+    }
+
+    /**
+     * Epoch millis a partir do qual um registro de retry pode ser processado; 0 quando não há espera.
+     */
+    public static long dueAtOf(ConsumerRecord<?, ?> record) {
+        String dueAt = header(record, CertificateTopics.DUE_AT_HEADER);
+        return dueAt == null ? 0 : Long.parseLong(dueAt);
+    }
+
+    private static String headerOr(ConsumerRecord<?, ?> record, String name, String fallback) {
+        String value = header(record, name);
+        return value == null ? fallback : value;
+    }
+
+    private static String header(ConsumerRecord<?, ?> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+
+    private static void putHeader(Headers headers, String name, String value) {
+        headers.add(name, (value == null ? "" : value).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_MESSAGE_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_MESSAGE_LENGTH);
+    }
+}
@@ -1,39 +1,116 @@
 package com.ufu_solutions.certifica_ufu_processor.infra.kafka;
 
 import com.achcar_solutions.easycomm_core.infra.kafka.CertificateKafkaMessage;
+import com.achcar_solutions.easycomm_core.infra.kafka.CertificateKafkaMessageDeserializer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.MessageListenerContainer;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Properties;
 
+/**
+ * Consumidores do tópico de certificados. Cada instância do processor abre {@code certificate.processing.concurrency}
+ * consumidores no mesmo grupo, então o paralelismo total é réplicas x concorrência, limitado pelo número de partições
+ * do tópico ({@code certificate.kafka.partitions} na API). Consumidores além disso ficam ociosos.
+ * <p>
+ * O ack é manual e assíncrono: o listener entrega o registro ao {@link KeyOrderedRecordPipeline} e o ack vem da
+ * virtual thread quando o processamento termina.
+ */
 @Configuration
 public class KafkaConsumerConfig {
 
+    public static final String CERTIFICATE_LISTENER_ID = "certificate-processor";
+    public static final String CERTIFICATE_BATCH_LISTENER_ID = "certificate-batch-processor";
+
+    private final String bootstrapServers;
+    private final int concurrency;
+    private final int maxInFlight;
+    private final int batchSize;
+
+    public KafkaConsumerConfig(@Value("${spring.kafka.bootstrap-servers:localhost:9092}") String bootstrapServers,
+                               @Value("${certificate.processing.concurrency:3}") int concurrency,
+                               @Value("${certificate.processing.max-in-flight:64}") int maxInFlight,
+                               @Value("${certificate.processing.batch-size:200}") int batchSize) {
+        this.bootstrapServers = bootstrapServers;
+        this.concurrency = concurrency;
+        this.maxInFlight = maxInFlight;
+        this.batchSize = batchSize;
+    }
+
     @Bean
     public ConsumerFactory<String, CertificateKafkaMessage> consumerFactory() {
         Map<String, Object> props = new HashMap<>();
-        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, "certificate-processors");
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        // A new group starts from the beginning so certificates submitted before the first deploy are not skipped.
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
 
-        JsonDeserializer<CertificateKafkaMessage> jsonDeserializer = new JsonDeserializer<>(CertificateKafkaMessage.class);
-        jsonDeserializer.setUseTypeHeaders(false);
-        jsonDeserializer.addTrustedPackages("*");
-
-        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), jsonDeserializer);
+        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), new CertificateKafkaMessageDeserializer());
     }
 
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, CertificateKafkaMessage> kafkaListenerContainerFactory() {
         ConcurrentKafkaListenerContainerFactory<String, CertificateKafkaMessage> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        factory.setConcurrency(concurrency);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        // Acks fora de ordem ficam retidos até o buraco fechar; o commit nunca passa de um registro inacabado.
+        factory.getContainerProperties().setAsyncAcks(true);
+        return factory;
+    }
+
+    /**
+     * Usado com {@code certificate.processing.mode=batch}: o listener recebe até {@code batch-size} registros por poll
+     * e o commit acontece depois que o lote inteiro foi gravado. Se o lote falhar, o error handler o reentrega.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, CertificateKafkaMessage> batchKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, CertificateKafkaMessage> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.setConcurrency(concurrency);
+        factory.setBatchListener(true);
+        Properties consumerProperties = new Properties();
+        consumerProperties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(batchSize));
+        factory.getContainerProperties().setKafkaConsumerProperties(consumerProperties);
         return factory;
     }
-}
\ No newline at end of file
+
+    /**
+     * Tópicos de retry: ack manual síncrono, porque o {@code nack} com espera (que pausa o consumidor até o registro
+     * vencer) não funciona com acks assíncronos. Um consumidor por tópico basta para o volume de falhas.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, CertificateKafkaMessage> retryKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, CertificateKafkaMessage> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.setConcurrency(1);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        return factory;
+    }
+
+    @Bean(destroyMethod = "close")
+    public KeyOrderedRecordPipeline certificateProcessingPipeline(KafkaListenerEndpointRegistry registry) {
+        return new KeyOrderedRecordPipeline(maxInFlight,
+                () -> certificateListenerContainer(registry).pause(),
+                () -> certificateListenerContainer(registry).resume());
+    }
+
+    private static MessageListenerContainer certificateListenerContainer(KafkaListenerEndpointRegistry registry) {
+        MessageListenerContainer container = registry.getListenerContainer(CERTIFICATE_LISTENER_ID);
+        if (container == null) {
+            throw new IllegalStateException("Listener container '" + CERTIFICATE_LISTENER_ID + "' is not registered.");
+        }
+        return container;
+    }
+}
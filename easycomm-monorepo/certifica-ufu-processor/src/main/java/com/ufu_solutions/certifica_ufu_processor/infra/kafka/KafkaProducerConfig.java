@@ -0,0 +1,49 @@
+package com.ufu_solutions.certifica_ufu_processor.infra.kafka;
+
+import com.achcar_solutions.easycomm_core.infra.kafka.CertificateKafkaMessage;
+import com.achcar_solutions.easycomm_core.infra.kafka.CertificateKafkaMessageSerializer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Produtor usado só para rotear falhas para os tópicos de retry e para a DLT.
+ */
+@Configuration
+public class KafkaProducerConfig {
+
+    private final String bootstrapServers;
+    private final CertificateKafkaMessageSerializer.Format messageFormat;
+
+    // The format stays JSON until the API's DLT consumer and every processor read the binary one; see
+    // CertificateKafkaMessageSerializer.
+    public KafkaProducerConfig(@Value("${spring.kafka.bootstrap-servers:localhost:9092}") String bootstrapServers,
+                               @Value("${certificate.kafka.message-format:JSON}") CertificateKafkaMessageSerializer.Format messageFormat) {
+        this.bootstrapServers = bootstrapServers;
+        this.messageFormat = messageFormat;
+    }
+
+    @Bean
+    public ProducerFactory<String, CertificateKafkaMessage> producerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        // A failure that is routed twice would only be retried twice; one that is lost stays PENDING forever.
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+
+        return new DefaultKafkaProducerFactory<>(configProps, new StringSerializer(), new CertificateKafkaMessageSerializer(messageFormat));
+    }
+
+    @Bean
+    public KafkaTemplate<String, CertificateKafkaMessage> kafkaTemplate() {
+        return new KafkaTemplate<>(producerFactory());
+    }
+}
@@ -0,0 +1,113 @@
+package com.ufu_solutions.certifica_ufu_processor.infra.kafka;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tira o processamento da thread do listener: cada registro roda numa virtual thread, encadeado atrás do registro
+ * anterior com a mesma chave, então registros de um certificado seguem em ordem e chaves diferentes se sobrepõem.
+ * <p>
+ * O ack de cada registro só é feito depois que o trabalho termina sem erro. Com {@code asyncAcks} o container guarda acks fora
+ * de ordem e só faz commit até o maior offset contíguo concluído, então um restart reprocessa o que não terminou
+ * (at-least-once). No máximo {@code maxInFlight} registros ficam em andamento; ao atingir o limite o consumidor é
+ * pausado e volta a consumir quando metade deles terminar.
+ */
+public class KeyOrderedRecordPipeline implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeyOrderedRecordPipeline.class);
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, CompletableFuture<Boolean>> tailsByKey = new ConcurrentHashMap<>();
+    private final Semaphore permits;
+    private final int maxInFlight;
+    private final int resumeThreshold;
+    private final Runnable pause;
+    private final Runnable resume;
+    private boolean paused;
+
+    public KeyOrderedRecordPipeline(int maxInFlight, Runnable pause, Runnable resume) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be at least 1.");
+        }
+        this.permits = new Semaphore(maxInFlight);
+        this.maxInFlight = maxInFlight;
+        this.resumeThreshold = maxInFlight / 2;
+        this.pause = pause;
+        this.resume = resume;
+    }
+
+    /**
+     * Agenda {@code task} depois do último registro com a mesma chave e chama {@code acknowledge} quando ele termina
+     * com sucesso. Uma tarefa que lança exceção não é confirmada: o commit da partição para antes dela e o registro é
+     * reentregue no próximo rebalance ou restart. Por isso a tarefa deve tratar as próprias falhas e só deixar escapar
+     * o que não pode ser perdido, como um envio para o retry que não aconteceu.
+     * Bloqueia a thread do listener apenas enquanto o limite de registros em andamento estiver cheio.
+     */
+    public void submit(String key, Runnable task, Runnable acknowledge) throws InterruptedException {
+        if (!permits.tryAcquire()) {
+            pauseIfSaturated();
+            // Registros que já vieram no mesmo poll ainda chegam aqui; esperam uma vaga.
+            permits.acquire();
+        }
+
+        CompletableFuture<Boolean> next = tailsByKey.compute(key, (k, tail) -> (tail == null
+                ? CompletableFuture.runAsync(task, executor)
+                : tail.thenRunAsync(task, executor))
+                .handle((ignored, error) -> {
+                    if (error != null) {
+                        logger.error("Falha ao processar registro com chave {}; ele fica sem ack e será reentregue: {}",
+                                k, error.getMessage(), error);
+                    }
+                    return error == null;
+                }));
+        next.thenAccept(succeeded -> {
+            tailsByKey.remove(key, next);
+            if (succeeded) {
+                acknowledge.run();
+            }
+            permits.release();
+            resumeIfDrained();
+        });
+    }
+
+    // Pausa e retomada no mesmo lock: uma retomada nunca passa na frente da pausa que ela deveria desfazer.
+    private synchronized void pauseIfSaturated() {
+        if (!paused && permits.availablePermits() == 0) {
+            paused = true;
+            pause.run();
+            logger.info("Limite de {} registros em processamento atingido; consumidor pausado.", maxInFlight);
+        }
+    }
+
+    private synchronized void resumeIfDrained() {
+        if (paused && inFlight() <= resumeThreshold) {
+            paused = false;
+            resume.run();
+            logger.info("Registros em processamento abaixo de {}; consumidor retomado.", resumeThreshold);
+        }
+    }
+
+    public int inFlight() {
+        return maxInFlight - permits.availablePermits();
+    }
+
+    /**
+     * Espera os registros em andamento terminarem. Os que não terminarem a tempo ficam sem ack e são reentregues.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            logger.warn("{} registros ainda em processamento no encerramento; serão reentregues.", inFlight());
+            executor.shutdownNow();
+        }
+    }
+}
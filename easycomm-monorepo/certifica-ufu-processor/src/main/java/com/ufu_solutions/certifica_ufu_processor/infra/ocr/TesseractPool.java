@@ -0,0 +1,256 @@
+package com.ufu_solutions.certifica_ufu_processor.infra.ocr;
+
+import com.sun.jna.Pointer;
+import net.sourceforge.tess4j.ITessAPI;
+import net.sourceforge.tess4j.TessAPI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Pool de motores Tesseract já inicializados. O {@code Tesseract} de alto nível do tess4j cria e carrega o modelo
+ * de idioma a cada chamada, o que custa mais que o OCR de uma página; aqui cada motor é um handle nativo carregado
+ * uma vez e reaproveitado. Um handle não é thread-safe, então cada página pega um motor exclusivo.
+ * <p>
+ * As chamadas nativas rodam em threads de plataforma próprias do pool, uma por motor. Os certificados são processados
+ * em virtual threads, e uma virtual thread dentro de uma chamada JNA prende a carrier thread até o Tesseract
+ * terminar: com tantos motores quanto carriers, o OCR pararia todo o resto do processor. Quem chama só espera o
+ * resultado, e essa espera libera a carrier.
+ * <p>
+ * O tamanho padrão é o número de núcleos menos um: o OCR é CPU-bound, mais motores só disputariam CPU, e um núcleo fica
+ * para o consumo do Kafka, os downloads e a leitura da camada de texto. Pelo mesmo motivo, rode o processor com
+ * {@code OMP_THREAD_LIMIT=1}, senão cada motor ainda abre suas próprias threads OpenMP.
+ */
+@Component
+public class TesseractPool implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TesseractPool.class);
+
+    // Resolvido ao criar o primeiro motor: carregar a libtesseract na construção do bean derrubaria o contexto em
+    // máquinas sem a biblioteca nativa, enquanto aqui a falha cai no tratamento do warmUp.
+    private volatile TessAPI api;
+    private final Supplier<TessAPI> apiLoader;
+    private final BlockingQueue<Engine> idle = new LinkedBlockingQueue<>();
+    private final Queue<Engine> all = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger created = new AtomicInteger();
+    private final ExecutorService ocrThreads;
+    private final int size;
+    private final String dataPath;
+    private final String language;
+
+    @Autowired
+    public TesseractPool(@Value("${certificate.ocr.pool-size:0}") int size,
+                         @Value("${certificate.ocr.tessdata-path:/usr/share/tesseract-ocr/5/tessdata}") String dataPath,
+                         @Value("${certificate.ocr.language:por}") String language) {
+        this(size, dataPath, language, () -> TessAPI.INSTANCE);
+    }
+
+    TesseractPool(int size, String dataPath, String language, Supplier<TessAPI> apiLoader) {
+        this.size = size > 0 ? size : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        this.dataPath = dataPath;
+        this.language = language;
+        this.apiLoader = apiLoader;
+        this.ocrThreads = Executors.newFixedThreadPool(this.size, Thread.ofPlatform().name("ocr-", 1).daemon(true).factory());
+    }
+
+    /**
+     * Carrega os motores na subida, fora do caminho da primeira mensagem. Uma falha aqui (biblioteca nativa ou
+     * tessdata ausente) só é registrada: a aplicação sobe e o erro reaparece por certificado, no processamento.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            while (createIfBelowSize()) {
+                // Cria até completar o pool.
+            }
+            logger.info("Pool de OCR pronto com {} motores Tesseract ({}).", size, language);
+        } catch (RuntimeException | LinkageError e) {
+            logger.error("Não foi possível inicializar o Tesseract ({}): {}", dataPath, e.getMessage());
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Reconhece o texto de uma imagem em tons de cinza ({@link BufferedImage#TYPE_BYTE_GRAY}), esperando um motor livre.
+     */
+    public String recognize(BufferedImage grayImage, int dpi) throws InterruptedException {
+        try (Engine engine = acquire()) {
+            return engine.recognize(grayImage, dpi);
+        }
+    }
+
+    /**
+     * Reserva um motor até o {@link Engine#close()}. Quem ainda vai rasterizar a página deve reservar antes: assim no
+     * máximo {@link #size()} páginas ficam renderizadas em memória ao mesmo tempo, em vez de uma por thread esperando.
+     */
+    public Engine acquire() throws InterruptedException {
+        Engine engine = idle.poll();
+        if (engine == null) {
+            createIfBelowSize();
+            engine = idle.take();
+        }
+        engine.leased = true;
+        return engine;
+    }
+
+    // Sem synchronized: carregar o modelo leva segundos, e uma virtual thread esperando dentro de um monitor prende a
+    // carrier. A vaga é reservada no contador e devolvida se a criação falhar.
+    private boolean createIfBelowSize() {
+        int current;
+        do {
+            current = created.get();
+            if (current >= size) {
+                return false;
+            }
+        } while (!created.compareAndSet(current, current + 1));
+
+        try {
+            Engine engine = onOcrThread(this::createEngine);
+            all.add(engine);
+            idle.add(engine);
+            return true;
+        } catch (RuntimeException | Error e) {
+            created.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private Engine createEngine() {
+        if (api == null) {
+            try {
+                api = apiLoader.get();
+            } catch (LinkageError e) {
+                // Como exceção comum, a falha chega ao tratamento por certificado em vez de derrubar a thread.
+                throw new IllegalStateException("Tesseract native library is not available: " + e.getMessage(), e);
+            }
+        }
+        ITessAPI.TessBaseAPI handle = api.TessBaseAPICreate();
+        if (api.TessBaseAPIInit3(handle, dataPath, language) != 0) {
+            api.TessBaseAPIDelete(handle);
+            throw new IllegalStateException("Failed to initialize Tesseract with tessdata '" + dataPath + "' and language '" + language + "'.");
+        }
+        api.TessBaseAPISetPageSegMode(handle, ITessAPI.TessPageSegMode.PSM_AUTO);
+        return new Engine(handle);
+    }
+
+    /**
+     * Roda a chamada nativa numa thread do pool e espera o resultado. A chamada não pode ser cancelada, então uma
+     * interrupção só é repassada depois que ela termina: o motor não volta ao pool enquanto o Tesseract ainda o usa.
+     */
+    private <T> T onOcrThread(Callable<T> call) {
+        Future<T> result = ocrThreads.submit(call);
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return result.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        Engine engine;
+        while ((engine = all.poll()) != null) {
+            api.TessBaseAPIEnd(engine.handle);
+            api.TessBaseAPIDelete(engine.handle);
+        }
+        idle.clear();
+        ocrThreads.shutdown();
+    }
+
+    /**
+     * Um motor reservado do pool. Guarda o buffer direto em que as páginas são copiadas para o Tesseract e o reaproveita
+     * enquanto couber, em vez de alocar memória nativa a cada página.
+     */
+    public final class Engine implements AutoCloseable {
+
+        private final ITessAPI.TessBaseAPI handle;
+        private ByteBuffer pixelBuffer;
+        private boolean leased;
+
+        private Engine(ITessAPI.TessBaseAPI handle) {
+            this.handle = handle;
+        }
+
+        public String recognize(BufferedImage grayImage, int dpi) {
+            if (!leased) {
+                throw new IllegalStateException("Engine was already returned to the pool.");
+            }
+            if (grayImage.getType() != BufferedImage.TYPE_BYTE_GRAY) {
+                throw new IllegalArgumentException("OCR expects a TYPE_BYTE_GRAY image.");
+            }
+            return onOcrThread(() -> recognizeOnOcrThread(grayImage, dpi));
+        }
+
+        private String recognizeOnOcrThread(BufferedImage grayImage, int dpi) {
+            try {
+                byte[] pixels = ((DataBufferByte) grayImage.getRaster().getDataBuffer()).getData();
+                if (pixelBuffer == null || pixelBuffer.capacity() < pixels.length) {
+                    pixelBuffer = ByteBuffer.allocateDirect(pixels.length);
+                }
+                pixelBuffer.clear().put(pixels).flip();
+                api.TessBaseAPISetImage(handle, pixelBuffer, grayImage.getWidth(), grayImage.getHeight(), 1, grayImage.getWidth());
+                api.TessBaseAPISetSourceResolution(handle, dpi);
+
+                Pointer text = api.TessBaseAPIGetUTF8Text(handle);
+                try {
+                    return text == null ? "" : text.getString(0, StandardCharsets.UTF_8.name());
+                } finally {
+                    if (text != null) {
+                        api.TessDeleteText(text);
+                    }
+                }
+            } finally {
+                api.TessBaseAPIClear(handle);
+            }
+        }
+
+        /** Devolve o motor ao pool. */
+        @Override
+        public void close() {
+            if (leased) {
+                leased = false;
+                idle.add(this);
+            }
+        }
+    }
+}
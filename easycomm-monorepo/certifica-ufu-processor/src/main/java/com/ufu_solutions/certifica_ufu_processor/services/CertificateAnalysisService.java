@@ -0,0 +1,179 @@
+package com.ufu_solutions.certifica_ufu_processor.services;
+
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificatePreviews;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateProcessingResult;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateProcessingStats;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateStatus;
+import com.achcar_solutions.easycomm_core.entities.extraction.ExtractionCacheEntry;
+import com.achcar_solutions.easycomm_core.infra.hash.ContentHashes;
+import com.achcar_solutions.easycomm_core.infra.ports.StoragePort;
+import com.ufu_solutions.certifica_ufu_processor.infra.cache.ExtractionResultCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Análise automática de um certificado: baixa o arquivo, extrai o texto e decide o status que ele deve ter. Não toca
+ * no banco de certificados, então serve tanto ao listener por registro quanto ao listener em lote.
+ * <p>
+ * O texto extraído fica em cache pelo hash do conteúdo. Quando o hash já veio do upload, um acerto dispensa o
+ * download e o OCR; quando não veio, o arquivo é baixado para calcular o hash e só o OCR é evitado.
+ * <p>
+ * O download vai direto do S3 para um arquivo temporário em {@code certificate.processing.temp-dir} (o diretório
+ * temporário do sistema por padrão), com o hash calculado durante a cópia. Nenhuma cópia do documento fica no heap,
+ * então a memória de cada worker não depende do tamanho do arquivo. O temporário é apagado ao fim da análise.
+ * <p>
+ * Do mesmo arquivo saem as miniaturas da fila de revisão ({@link PreviewRenderingService}), guardadas no cache junto
+ * com o texto. Uma falha ao gerá-las não impede a análise: o certificado só fica sem miniatura.
+ */
+@Service
+public class CertificateAnalysisService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CertificateAnalysisService.class);
+
+    private static final String UNREADABLE_REASON = "Não foi possível ler o conteúdo do documento. Envie um arquivo legível.";
+
+    private final StoragePort storagePort;
+    private final TextExtractionService textExtractionService;
+    private final ExtractionResultCache extractionResultCache;
+    private final PreviewRenderingService previewRenderingService;
+    @Nullable
+    private final Path tempDir;
+
+    public CertificateAnalysisService(StoragePort storagePort, TextExtractionService textExtractionService,
+                                      ExtractionResultCache extractionResultCache,
+                                      PreviewRenderingService previewRenderingService,
+                                      @Value("${certificate.processing.temp-dir:}") String tempDir) {
+        this.storagePort = storagePort;
+        this.textExtractionService = textExtractionService;
+        this.extractionResultCache = extractionResultCache;
+        this.previewRenderingService = previewRenderingService;
+        this.tempDir = tempDir == null || tempDir.isBlank() ? null : Path.of(tempDir);
+    }
+
+    /**
+     * Certificates with readable text stay PENDING and go on to admin review; documents from which no text could be
+     * extracted at all are DENIED.
+     */
+    public CertificateProcessingResult analyze(String certificateId, String s3ObjectKey, @Nullable String contentHash)
+            throws IOException, InterruptedException {
+        ExtractionCacheEntry cachedEntry = null;
+        if (contentHash != null) {
+            Optional<ExtractionCacheEntry> cached = extractionResultCache.get(contentHash);
+            if (cached.isPresent() && !previewsDeleted(cached.get())) {
+                logger.info("Certificado {}: arquivo idêntico já processado ({}); download e OCR dispensados.", certificateId, contentHash);
+                return fromCache(cached.get(), 0);
+            }
+            // Miniaturas apagadas: o texto continua valendo, mas elas precisam do arquivo para serem geradas de novo.
+            cachedEntry = cached.orElse(null);
+        }
+
+        Path file = createTempFile(s3ObjectKey);
+        try {
+            long downloadStart = System.nanoTime();
+            MessageDigest digest = ContentHashes.newDigest();
+            long fileSize;
+            try (InputStream inputStream = new DigestInputStream(storagePort.openFile(s3ObjectKey), digest)) {
+                fileSize = Files.copy(inputStream, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            long downloadMillis = (System.nanoTime() - downloadStart) / 1_000_000;
+            logger.info("Arquivo do certificado {} baixado ({} bytes em {} ms).", certificateId, fileSize, downloadMillis);
+
+            if (contentHash == null) {
+                contentHash = ContentHashes.toHex(digest);
+                cachedEntry = extractionResultCache.get(contentHash).orElse(null);
+            }
+            if (cachedEntry != null) {
+                logger.info("Certificado {}: arquivo idêntico já processado ({}); OCR dispensado.", certificateId, contentHash);
+                if (cachedEntry.getPreviews() == null || previewsDeleted(cachedEntry)) {
+                    // Entrada anterior às miniaturas, ou com miniaturas já apagadas: o arquivo já está em disco, então
+                    // elas são geradas agora.
+                    cachedEntry.setPreviews(renderPreviews(certificateId, file, contentHash));
+                    extractionResultCache.put(cachedEntry);
+                }
+                return fromCache(cachedEntry, downloadMillis);
+            }
+
+            TextExtractionService.Extraction extraction = textExtractionService.extract(file);
+            CertificatePreviews previews = renderPreviews(certificateId, file, contentHash);
+            logger.info("Texto extraído do certificado {}: {} caracteres, {} de {} páginas por OCR ({} ms de OCR).",
+                    certificateId, extraction.text().length(), extraction.ocrPageCount(), extraction.pageCount(), extraction.ocrMillis());
+            extractionResultCache.put(ExtractionCacheEntry.builder()
+                    .contentHash(contentHash)
+                    .extractedText(extraction.text())
+                    .pageCount(extraction.pageCount())
+                    .ocrPageCount(extraction.ocrPageCount())
+                    .previews(previews)
+                    .createdDate(LocalDateTime.now())
+                    .build());
+
+            CertificateProcessingStats stats = new CertificateProcessingStats(extraction.pageCount(), extraction.ocrPageCount(),
+                    downloadMillis, extraction.textLayerMillis(), extraction.rasterizeMillis(), extraction.ocrMillis(), false, LocalDateTime.now());
+            return decide(extraction.text(), contentHash, stats, previews);
+        } finally {
+            deleteTempFile(file);
+        }
+    }
+
+    /**
+     * As miniaturas são apagadas junto com o último certificado do conteúdo, e com elas a entrada no Mongo; a cópia
+     * da entrada no LRU desta réplica pode sobreviver a isso e apontar para chaves que não existem mais.
+     */
+    private boolean previewsDeleted(ExtractionCacheEntry entry) {
+        return entry.getPreviews() != null && storagePort.getFileMetadata(entry.getPreviews().thumbnailKey()).isEmpty();
+    }
+
+    @Nullable
+    private CertificatePreviews renderPreviews(String certificateId, Path file, String contentHash) {
+        long start = System.nanoTime();
+        try {
+            CertificatePreviews previews = previewRenderingService.render(file, contentHash);
+            logger.info("Miniaturas do certificado {} geradas em {} ms.", certificateId, (System.nanoTime() - start) / 1_000_000);
+            return previews;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Não foi possível gerar as miniaturas do certificado {}: {}", certificateId, e.getMessage());
+            return null;
+        }
+    }
+
+    private Path createTempFile(String s3ObjectKey) throws IOException {
+        // Keeps the extension so ImageIO and anyone inspecting the directory can tell what the file is.
+        int dot = s3ObjectKey.lastIndexOf('.');
+        String suffix = dot >= 0 && dot > s3ObjectKey.lastIndexOf('/') ? s3ObjectKey.substring(dot) : null;
+        return tempDir == null ? Files.createTempFile("certificate-", suffix) : Files.createTempFile(tempDir, "certificate-", suffix);
+    }
+
+    private static void deleteTempFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Não foi possível apagar o arquivo temporário {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static CertificateProcessingResult fromCache(ExtractionCacheEntry entry, long downloadMillis) {
+        CertificateProcessingStats stats = new CertificateProcessingStats(entry.getPageCount(), entry.getOcrPageCount(),
+                downloadMillis, 0, 0, 0, true, LocalDateTime.now());
+        return decide(entry.getExtractedText(), entry.getContentHash(), stats, entry.getPreviews());
+    }
+
+    private static CertificateProcessingResult decide(String text, String contentHash, CertificateProcessingStats stats,
+                                                      @Nullable CertificatePreviews previews) {
+        if (text.isEmpty()) {
+            return new CertificateProcessingResult(CertificateStatus.DENIED, UNREADABLE_REASON, text, contentHash, stats, previews);
+        }
+        return new CertificateProcessingResult(CertificateStatus.PENDING, null, text, contentHash, stats, previews);
+    }
+}
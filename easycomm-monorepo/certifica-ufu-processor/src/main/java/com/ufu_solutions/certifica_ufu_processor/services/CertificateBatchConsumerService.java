@@ -0,0 +1,174 @@
+package com.ufu_solutions.certifica_ufu_processor.services;
+
+import com.achcar_solutions.easycomm_core.entities.certificate.Certificate;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateProcessingResult;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateStatus;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateStatusBatchResult;
+import com.achcar_solutions.easycomm_core.infra.kafka.CertificateKafkaMessage;
+import com.achcar_solutions.easycomm_core.infra.kafka.CertificateTopics;
+import com.achcar_solutions.easycomm_core.repositories.CertificateRepository;
+import com.ufu_solutions.certifica_ufu_processor.infra.kafka.CertificateRetryRouter;
+import com.ufu_solutions.certifica_ufu_processor.infra.kafka.KafkaConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Listener em lote, ativo com {@code certificate.processing.mode=batch}. Um poll inteiro custa uma leitura
+ * ({@code findAllById}) e uma escrita ({@code bulkWrite} não ordenado) no Mongo, em vez de uma de cada por mensagem,
+ * o que faz diferença quando o tópico acumula mensagens depois de uma parada.
+ */
+@Service
+@ConditionalOnProperty(name = "certificate.processing.mode", havingValue = "batch")
+public class CertificateBatchConsumerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CertificateBatchConsumerService.class);
+
+    private final CertificateRepository certificateRepository;
+    private final CertificateAnalysisService certificateAnalysisService;
+    private final CertificateRetryRouter retryRouter;
+
+    public CertificateBatchConsumerService(CertificateRepository certificateRepository, CertificateAnalysisService certificateAnalysisService,
+                                           CertificateRetryRouter retryRouter) {
+        this.certificateRepository = certificateRepository;
+        this.certificateAnalysisService = certificateAnalysisService;
+        this.retryRouter = retryRouter;
+    }
+
+    /**
+     * Certificados que falharam vão para o primeiro tópico de retry antes do commit do lote; o resto do lote não é
+     * reprocessado por causa deles.
+     */
+    @KafkaListener(id = KafkaConsumerConfig.CERTIFICATE_BATCH_LISTENER_ID, topics = CertificateTopics.CERTIFICATE_TOPIC,
+            groupId = "certificate-processor", containerFactory = "batchKafkaListenerContainerFactory")
+    public void consumeCertificates(List<ConsumerRecord<String, CertificateKafkaMessage>> records) {
+        List<CertificateKafkaMessage> kafkaMessages = records.stream().map(ConsumerRecord::value).toList();
+        List<ItemResult> results = processBatch(kafkaMessages);
+
+        Map<Outcome, Long> totals = results.stream()
+                .collect(Collectors.groupingBy(ItemResult::outcome, () -> new EnumMap<>(Outcome.class), Collectors.counting()));
+        logger.info("PROCESSADOR: lote de {} mensagens processado: {}", kafkaMessages.size(), totals);
+        for (ItemResult result : results) {
+            if (result.outcome() == Outcome.FAILED || result.outcome() == Outcome.NOT_FOUND) {
+                logger.error("Certificado {}: {} ({})", result.certificateId(), result.outcome(), result.detail());
+            }
+        }
+
+        // Só a última mensagem de cada certificado foi processada, então é ela que segue para o retry.
+        Map<String, ConsumerRecord<String, CertificateKafkaMessage>> lastRecordById = new LinkedHashMap<>();
+        records.forEach(record -> lastRecordById.put(record.value().certificateId(), record));
+        results.stream()
+                .filter(result -> result.outcome() == Outcome.FAILED)
+                .forEach(result -> retryRouter.routeFailure(lastRecordById.get(result.certificateId()), null, result.detail()));
+    }
+
+    /**
+     * Processes one poll and returns one result per certificate, in the order the certificates first appeared.
+     * When a certificate shows up more than once in the poll, only its last message is processed.
+     */
+    public List<ItemResult> processBatch(List<CertificateKafkaMessage> kafkaMessages) {
+        Map<String, CertificateKafkaMessage> messagesById = new LinkedHashMap<>();
+        for (CertificateKafkaMessage kafkaMessage : kafkaMessages) {
+            messagesById.put(kafkaMessage.certificateId(), kafkaMessage);
+        }
+
+        // Messages in the extended format carry what the analysis needs; only the older ones cost a read.
+        List<String> lookupIds = messagesById.values().stream()
+                .filter(kafkaMessage -> !kafkaMessage.carriesCertificateData())
+                .map(CertificateKafkaMessage::certificateId)
+                .toList();
+        Map<String, Certificate> certificates = lookupIds.isEmpty() ? Map.of()
+                : certificateRepository.findAllById(lookupIds).stream()
+                        .collect(Collectors.toMap(Certificate::getId, Function.identity()));
+
+        Map<String, ItemResult> results = new LinkedHashMap<>();
+        Map<String, CertificateProcessingResult> processed = analyzeAll(messagesById, certificates, results);
+
+        CertificateStatusBatchResult written = certificateRepository.saveProcessingResults(processed);
+        written.failures().forEach((id, error) -> results.put(id, new ItemResult(id, Outcome.FAILED, error)));
+
+        List<String> attempted = processed.keySet().stream().filter(id -> !written.failures().containsKey(id)).toList();
+        // When everything that was attempted was written there is nothing to explain; otherwise one projected lookup
+        // tells apart the certificates an admin decided in the meantime (they are no longer PENDING).
+        Map<String, Certificate> currentStates = written.modified() == attempted.size() ? Map.of()
+                : certificateRepository.findValidationStates(attempted).stream()
+                        .collect(Collectors.toMap(Certificate::getId, Function.identity()));
+        for (String id : attempted) {
+            boolean saved = written.modified() == attempted.size() || isProcessorResult(currentStates.get(id), processed.get(id));
+            results.put(id, saved
+                    ? new ItemResult(id, Outcome.UPDATED, processed.get(id).status().name())
+                    : new ItemResult(id, Outcome.NOT_PENDING, null));
+        }
+
+        List<ItemResult> ordered = new ArrayList<>(messagesById.size());
+        messagesById.keySet().forEach(id -> ordered.add(results.get(id)));
+        return ordered;
+    }
+
+    // An admin decision always carries a validator; the processor never sets one.
+    private static boolean isProcessorResult(Certificate current, CertificateProcessingResult result) {
+        return current != null && current.getValidator_id() == null && current.getStatus() == result.status();
+    }
+
+    // Downloads and analyses run concurrently on virtual threads; the analysed certificates are returned, everything
+    // that was skipped or failed is recorded straight into results.
+    private Map<String, CertificateProcessingResult> analyzeAll(Map<String, CertificateKafkaMessage> messagesById,
+                                                                Map<String, Certificate> certificates,
+                                                                Map<String, ItemResult> results) {
+        Map<String, Future<CertificateProcessingResult>> analyses = new LinkedHashMap<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (CertificateKafkaMessage kafkaMessage : messagesById.values()) {
+                String id = kafkaMessage.certificateId();
+                Certificate certificate = certificates.get(id);
+                if (kafkaMessage.carriesCertificateData()) {
+                    // Not read beforehand: a certificate that is no longer PENDING shows up as NOT_PENDING after the write.
+                    analyses.put(id, executor.submit(() -> certificateAnalysisService.analyze(id, kafkaMessage.s3ObjectKey(), kafkaMessage.contentHash())));
+                } else if (certificate == null) {
+                    results.put(id, new ItemResult(id, Outcome.NOT_FOUND, "Certificado não encontrado no banco de dados."));
+                } else if (certificate.getStatus() != CertificateStatus.PENDING) {
+                    results.put(id, new ItemResult(id, Outcome.NOT_PENDING, null));
+                } else {
+                    analyses.put(id, executor.submit(() -> certificateAnalysisService.analyze(id, kafkaMessage.s3ObjectKey(), certificate.getContentHash())));
+                }
+            }
+        }
+
+        Map<String, CertificateProcessingResult> processed = new LinkedHashMap<>();
+        analyses.forEach((id, analysis) -> {
+            try {
+                processed.put(id, analysis.get());
+            } catch (ExecutionException e) {
+                results.put(id, new ItemResult(id, Outcome.FAILED, e.getCause().getMessage()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while processing certificate batch.", e);
+            }
+        });
+        return processed;
+    }
+
+    public record ItemResult(String certificateId, Outcome outcome, String detail) {
+    }
+
+    public enum Outcome {
+        UPDATED,
+        NOT_PENDING,
+        NOT_FOUND,
+        FAILED
+    }
+}
@@ -1,60 +1,89 @@
 package com.ufu_solutions.certifica_ufu_processor.services;
 
-import com.achcar_solutions.easycomm_core.entities.certificate.CertificateStatus;
 import com.achcar_solutions.easycomm_core.infra.kafka.CertificateKafkaMessage;
-import com.achcar_solutions.easycomm_core.infra.ports.StoragePort;
-import com.achcar_solutions.easycomm_core.repositories.CertificateRepository;
+import com.achcar_solutions.easycomm_core.infra.kafka.CertificateTopics;
+import com.ufu_solutions.certifica_ufu_processor.infra.kafka.CertificateRetryRouter;
+import com.ufu_solutions.certifica_ufu_processor.infra.kafka.KafkaConsumerConfig;
+import com.ufu_solutions.certifica_ufu_processor.infra.kafka.KeyOrderedRecordPipeline;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+
+/**
+ * Listener por registro, o modo padrão. Com {@code certificate.processing.mode=batch} o
+ * {@link CertificateBatchConsumerService} assume o tópico no lugar dele.
+ */
 @Service
+@ConditionalOnProperty(name = "certificate.processing.mode", havingValue = "record", matchIfMissing = true)
 public class CertificateConsumerService {
 
     private static final Logger logger = LoggerFactory.getLogger(CertificateConsumerService.class);
-    private final CertificateRepository certificateRepository;
-    private final StoragePort storagePort;
+    private final CertificateProcessingService certificateProcessingService;
+    private final CertificateRetryRouter retryRouter;
+    private final KeyOrderedRecordPipeline processingPipeline;
+    private final Duration routeRetryBackoff;
+
+    public CertificateConsumerService(CertificateProcessingService certificateProcessingService, CertificateRetryRouter retryRouter,
+                                      KeyOrderedRecordPipeline processingPipeline,
+                                      @Value("${certificate.retry.route-backoff:PT5S}") Duration routeRetryBackoff) {
+        this.certificateProcessingService = certificateProcessingService;
+        this.retryRouter = retryRouter;
+        this.processingPipeline = processingPipeline;
+        this.routeRetryBackoff = routeRetryBackoff;
+    }
+
+    /**
+     * Só entrega o registro ao pipeline; download e validação rodam numa virtual thread, em ordem por certificado,
+     * e o ack acontece quando terminam sem erro.
+     */
+    @KafkaListener(id = KafkaConsumerConfig.CERTIFICATE_LISTENER_ID, topics = CertificateTopics.CERTIFICATE_TOPIC, groupId = "certificate-processor")
+    public void consumeCertificate(ConsumerRecord<String, CertificateKafkaMessage> record, Acknowledgment acknowledgment) throws InterruptedException {
+        processingPipeline.submit(record.value().certificateId(), () -> processCertificate(record), acknowledgment::acknowledge);
+    }
 
-    public CertificateConsumerService(CertificateRepository certificateRepository, StoragePort storagePort) {
-        this.certificateRepository = certificateRepository;
-        this.storagePort = storagePort;
+    /**
+     * Uma falha não segura a partição: o certificado vai para o primeiro tópico de retry e o registro é confirmado.
+     * O ack depende do envio para o retry, então um envio que falha é repetido até conseguir; se a thread for
+     * interrompida antes (encerramento), a exceção sobe, o pipeline não confirma e o registro é reentregue.
+     */
+    public void processCertificate(ConsumerRecord<String, CertificateKafkaMessage> record) {
+        try {
+            certificateProcessingService.process(record.value());
+        } catch (InterruptedException e) {
+            // Encerramento no meio do processamento: sem ack, o registro é reprocessado depois do restart.
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while processing certificate " + record.value().certificateId() + ".", e);
+        } catch (Exception e) {
+            logger.error("ERRO ao processar o certificado ID {}: {}", record.value().certificateId(), e.getMessage(), e);
+            routeUntilSent(record, e);
+        }
     }
 
-    @KafkaListener(topics = "certificates-to-process", groupId = "certificate-processor")
-    public void consumeCertificate(CertificateKafkaMessage kafkaMessage) {
-        logger.info("==============================================");
-        logger.info("PROCESSADOR: Mensagem recebida! Iniciando processamento...");
-        logger.info("--> ID do Certificado: {}", kafkaMessage.certificateId());
-        logger.info("--> Chave do Objeto S3: {}", kafkaMessage.s3ObjectKey());
-
-        certificateRepository.findById(kafkaMessage.certificateId()).ifPresentOrElse(
-                certificate -> {
-                    try {
-                        logger.info("Certificado '{}' encontrado no banco. Status atual: {}.", certificate.getTitle(), certificate.getStatus());
-
-                        logger.info("Baixando arquivo da S3...");
-                        byte[] fileData = storagePort.downloadFile(kafkaMessage.s3ObjectKey());
-                        logger.info("Arquivo baixado com sucesso (Tamanho: {} bytes).", fileData.length);
-
-                        logger.info("Simulando validação de OCR...");
-                        boolean ocrSimulation = true;
-                        if(ocrSimulation) {
-                            certificate.setStatus(CertificateStatus.PENDING);
-                            logger.info("Validação realizada com sucesso! Status do certificado alterado para APPROVED.");
-                        } else {
-                            certificate.setStatus(CertificateStatus.DENIED);
-                            logger.warn("Validação falhou. Status do certificado alterado para DENIED.");
-                        }
-                        certificateRepository.save(certificate);
-                        logger.info("Certificado salvo no banco de dados com sucesso!");
-                    } catch (Exception e) {
-                        System.out.println("Error while processing certificate: " + e.getMessage());
-                        logger.error("ERRO CRÍTICO ao processar o certificado ID {}: {}", certificate.getId(), e.getMessage(), e);
-                    }
-                },
-                () -> logger.error("FALHA: Certificado com ID {} não foi encontrado no banco de dados.", kafkaMessage.certificateId())
-        );
-        logger.info("==============================================");
+    private void routeUntilSent(ConsumerRecord<String, CertificateKafkaMessage> record, Exception failure) {
+        while (true) {
+            try {
+                retryRouter.routeFailure(record, failure);
+                return;
+            } catch (RuntimeException routingFailure) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw routingFailure;
+                }
+                logger.error("Não foi possível encaminhar o certificado {} para o retry; nova tentativa em {}: {}",
+                        record.value().certificateId(), routeRetryBackoff, routingFailure.getMessage());
+            }
+            try {
+                Thread.sleep(routeRetryBackoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while routing certificate " + record.value().certificateId() + " to retry.", e);
+            }
+        }
     }
 }
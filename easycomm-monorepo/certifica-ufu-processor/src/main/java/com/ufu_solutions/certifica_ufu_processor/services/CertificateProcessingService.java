@@ -0,0 +1,93 @@
+package com.ufu_solutions.certifica_ufu_processor.services;
+
+import com.achcar_solutions.easycomm_core.entities.certificate.Certificate;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateProcessingResult;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateStatus;
+import com.achcar_solutions.easycomm_core.infra.kafka.CertificateKafkaMessage;
+import com.achcar_solutions.easycomm_core.repositories.CertificateRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Processa um certificado: baixa, analisa e grava o resultado se ele ainda estiver PENDING. Usado pelo listener por
+ * registro e pelos tópicos de retry. Falhas sobem para quem chamou, que decide se o certificado volta a ser tentado.
+ * Mensagens no formato estendido dispensam a leitura do certificado; as antigas ainda passam por ela.
+ */
+@Service
+public class CertificateProcessingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CertificateProcessingService.class);
+    private final CertificateRepository certificateRepository;
+    private final CertificateAnalysisService certificateAnalysisService;
+
+    public CertificateProcessingService(CertificateRepository certificateRepository, CertificateAnalysisService certificateAnalysisService) {
+        this.certificateRepository = certificateRepository;
+        this.certificateAnalysisService = certificateAnalysisService;
+    }
+
+    public void process(CertificateKafkaMessage kafkaMessage) throws Exception {
+        logger.info("==============================================");
+        logger.info("PROCESSADOR: Mensagem recebida! Iniciando processamento...");
+        logger.info("--> ID do Certificado: {}", kafkaMessage.certificateId());
+        logger.info("--> Chave do Objeto S3: {}", kafkaMessage.s3ObjectKey());
+
+        if (kafkaMessage.carriesCertificateData()) {
+            processFromMessage(kafkaMessage);
+        } else {
+            processFromDatabase(kafkaMessage);
+        }
+        logger.info("==============================================");
+    }
+
+    /**
+     * A mensagem já traz o que a análise precisa, então o certificado não é lido antes: o resultado vai direto para a
+     * escrita condicional, que só pega certificados ainda PENDING. O custo é analisar à toa um certificado que já foi
+     * decidido, o que só acontece com mensagens repetidas ou reenviadas.
+     */
+    private void processFromMessage(CertificateKafkaMessage kafkaMessage) throws Exception {
+        CertificateProcessingResult result;
+        try {
+            result = certificateAnalysisService.analyze(kafkaMessage.certificateId(), kafkaMessage.s3ObjectKey(), kafkaMessage.contentHash());
+        } catch (Exception e) {
+            // Um certificado apagado depois do envio também perde o arquivo; isso não é falha para tentar de novo.
+            if (!certificateRepository.existsById(kafkaMessage.certificateId())) {
+                logger.error("FALHA: Certificado com ID {} não foi encontrado no banco de dados.", kafkaMessage.certificateId());
+                return;
+            }
+            throw e;
+        }
+        saveResult(kafkaMessage.certificateId(), result);
+    }
+
+    private void processFromDatabase(CertificateKafkaMessage kafkaMessage) throws Exception {
+        Optional<Certificate> found = certificateRepository.findById(kafkaMessage.certificateId());
+        if (found.isEmpty()) {
+            // Apagado depois do envio: não há o que tentar de novo.
+            logger.error("FALHA: Certificado com ID {} não foi encontrado no banco de dados.", kafkaMessage.certificateId());
+            return;
+        }
+        Certificate certificate = found.get();
+        logger.info("Certificado '{}' encontrado no banco. Status atual: {}.", certificate.getTitle(), certificate.getStatus());
+        if (certificate.getStatus() != CertificateStatus.PENDING) {
+            logger.info("Certificado {} já saiu de PENDING; nada a processar.", certificate.getId());
+            return;
+        }
+
+        CertificateProcessingResult result = certificateAnalysisService.analyze(certificate.getId(), kafkaMessage.s3ObjectKey(), certificate.getContentHash());
+        saveResult(certificate.getId(), result);
+    }
+
+    private void saveResult(String certificateId, CertificateProcessingResult result) {
+        // Só grava se o certificado ainda estiver PENDING: uma decisão do administrador nunca é sobrescrita.
+        if (!certificateRepository.saveProcessingResult(certificateId, result)) {
+            logger.info("Certificado {} já saiu de PENDING; resultado do processamento descartado.", certificateId);
+        } else if (result.status() == CertificateStatus.PENDING) {
+            logger.info("Validação realizada com sucesso! Certificado segue para revisão do administrador.");
+        } else {
+            logger.warn("Validação falhou. Status do certificado alterado para {}.", result.status());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.ufu_solutions.certifica_ufu_processor.services;
+
+import com.achcar_solutions.easycomm_core.infra.kafka.CertificateKafkaMessage;
+import com.achcar_solutions.easycomm_core.infra.kafka.CertificateTopics;
+import com.ufu_solutions.certifica_ufu_processor.infra.kafka.CertificateRetryRouter;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Consome os tópicos de retry, um container por tópico, nos dois modos de processamento. Cada tópico tem um atraso
+ * fixo, então os registros chegam em ordem de vencimento: enquanto o primeiro não vence, o {@code nack} pausa o
+ * consumidor pelo tempo que falta e o reentrega depois, sem prender a thread nem afetar o tópico principal.
+ */
+@Service
+public class CertificateRetryConsumerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CertificateRetryConsumerService.class);
+
+    private final CertificateProcessingService certificateProcessingService;
+    private final CertificateRetryRouter retryRouter;
+
+    public CertificateRetryConsumerService(CertificateProcessingService certificateProcessingService, CertificateRetryRouter retryRouter) {
+        this.certificateProcessingService = certificateProcessingService;
+        this.retryRouter = retryRouter;
+    }
+
+    @KafkaListener(id = "certificate-retry-1m", topics = CertificateTopics.RETRY_TOPIC_1M, groupId = "certificate-processor",
+            containerFactory = "retryKafkaListenerContainerFactory")
+    @KafkaListener(id = "certificate-retry-5m", topics = CertificateTopics.RETRY_TOPIC_5M, groupId = "certificate-processor",
+            containerFactory = "retryKafkaListenerContainerFactory")
+    @KafkaListener(id = "certificate-retry-30m", topics = CertificateTopics.RETRY_TOPIC_30M, groupId = "certificate-processor",
+            containerFactory = "retryKafkaListenerContainerFactory")
+    public void consumeRetry(ConsumerRecord<String, CertificateKafkaMessage> record, Acknowledgment acknowledgment) {
+        long waitMillis = CertificateRetryRouter.dueAtOf(record) - System.currentTimeMillis();
+        if (waitMillis > 0) {
+            acknowledgment.nack(Duration.ofMillis(waitMillis));
+            return;
+        }
+
+        logger.info("Nova tentativa ({}) do certificado {} a partir de {}.",
+                CertificateRetryRouter.attemptsOf(record) + 1, record.value().certificateId(), record.topic());
+        try {
+            certificateProcessingService.process(record.value());
+        } catch (InterruptedException e) {
+            retryRouter.routeFailure(record, e);
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error("ERRO na nova tentativa do certificado ID {}: {}", record.value().certificateId(), e.getMessage(), e);
+            retryRouter.routeFailure(record, e);
+        }
+        acknowledgment.acknowledge();
+    }
+}
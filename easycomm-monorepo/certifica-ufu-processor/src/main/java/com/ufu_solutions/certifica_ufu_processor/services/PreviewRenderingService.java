@@ -0,0 +1,123 @@
+package com.ufu_solutions.certifica_ufu_processor.services;
+
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificatePreviews;
+import com.achcar_solutions.easycomm_core.infra.ports.StoragePort;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Gera a miniatura e a pré-visualização da primeira página de um certificado, para a fila de revisão não precisar
+ * baixar o arquivo original. PDFs são renderizados direto na largura da pré-visualização; imagens só são reduzidas,
+ * nunca ampliadas. A miniatura sai da pré-visualização, reduzida pela metade a cada passo para não serrilhar o texto.
+ * <p>
+ * As duas ficam em PNG em {@code previews/<sha256>/}: dependem só do conteúdo, então arquivos idênticos compartilham
+ * as mesmas, do mesmo jeito que compartilham o objeto original e a extração de texto.
+ */
+@Service
+public class PreviewRenderingService {
+
+    private static final String PREVIEW_PREFIX = "previews/";
+    private static final String CONTENT_TYPE = "image/png";
+
+    private final StoragePort storagePort;
+    private final int thumbnailWidth;
+    private final int previewWidth;
+
+    public PreviewRenderingService(StoragePort storagePort,
+                                   @Value("${certificate.preview.thumbnail-width:240}") int thumbnailWidth,
+                                   @Value("${certificate.preview.preview-width:1024}") int previewWidth) {
+        if (thumbnailWidth <= 0 || previewWidth < thumbnailWidth) {
+            throw new IllegalArgumentException("certificate.preview.preview-width must be at least certificate.preview.thumbnail-width, and both positive.");
+        }
+        this.storagePort = storagePort;
+        this.thumbnailWidth = thumbnailWidth;
+        this.previewWidth = previewWidth;
+    }
+
+    /**
+     * Renders both sizes from the file on disk and stores them under the content hash.
+     */
+    public CertificatePreviews render(Path file, String contentHash) throws IOException {
+        BufferedImage preview = TextExtractionService.isPdf(file) ? renderFirstPage(file) : readImage(file);
+        BufferedImage thumbnail = scaleToWidth(preview, thumbnailWidth);
+
+        String thumbnailKey = PREVIEW_PREFIX + contentHash + "/thumbnail.png";
+        String previewKey = PREVIEW_PREFIX + contentHash + "/preview.png";
+        storagePort.uploadFile(toPng(thumbnail), thumbnailKey, CONTENT_TYPE);
+        storagePort.uploadFile(toPng(preview), previewKey, CONTENT_TYPE);
+        return new CertificatePreviews(thumbnailKey, previewKey);
+    }
+
+    private BufferedImage renderFirstPage(Path file) throws IOException {
+        try (PDDocument document = Loader.loadPDF(new RandomAccessReadBufferedFile(file))) {
+            if (document.getNumberOfPages() == 0) {
+                throw new IOException("The PDF has no pages.");
+            }
+            PDPage page = document.getPage(0);
+            // A largura visível depende da rotação: páginas deitadas são desenhadas com a altura na horizontal.
+            boolean sideways = page.getRotation() % 180 != 0;
+            float widthInPoints = sideways ? page.getCropBox().getHeight() : page.getCropBox().getWidth();
+            return new PDFRenderer(document).renderImage(0, previewWidth / widthInPoints, ImageType.RGB);
+        }
+    }
+
+    private BufferedImage readImage(Path file) throws IOException {
+        BufferedImage image = ImageIO.read(file.toFile());
+        if (image == null) {
+            throw new IOException("Unsupported file format: neither a PDF nor a readable image.");
+        }
+        return scaleToWidth(image, previewWidth);
+    }
+
+    private static BufferedImage scaleToWidth(BufferedImage image, int width) {
+        if (image.getWidth() <= width) {
+            return image;
+        }
+        BufferedImage scaled = image;
+        do {
+            int nextWidth = Math.max(width, scaled.getWidth() / 2);
+            int nextHeight = Math.max(1, Math.round((float) scaled.getHeight() * nextWidth / scaled.getWidth()));
+            scaled = resize(scaled, nextWidth, nextHeight);
+        } while (scaled.getWidth() > width);
+        return scaled;
+    }
+
+    private static BufferedImage resize(BufferedImage image, int width, int height) {
+        BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // Fundo branco: PNGs com transparência ficariam pretos numa imagem sem canal alfa.
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+
+    private static byte[] toPng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        if (!ImageIO.write(image, "png", output)) {
+            throw new IOException("No PNG writer available.");
+        }
+        return output.toByteArray();
+    }
+}
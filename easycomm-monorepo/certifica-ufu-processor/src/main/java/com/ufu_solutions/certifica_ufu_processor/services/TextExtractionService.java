@@ -0,0 +1,133 @@
+package com.ufu_solutions.certifica_ufu_processor.services;
+
+import com.ufu_solutions.certifica_ufu_processor.infra.ocr.TesseractPool;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Extrai o texto de um certificado. Em PDFs a camada de texto é lida primeiro, página a página, e só as páginas sem
+ * texto aproveitável são rasterizadas e passam pelo OCR; imagens enviadas direto vão para o OCR. Apenas as primeiras
+ * {@code certificate.ocr.max-pages} páginas são lidas.
+ * <p>
+ * O arquivo é lido do disco: o PDFBox carrega só os trechos que precisa através de um buffer de tamanho fixo, então
+ * a memória usada não cresce com o tamanho do documento.
+ */
+@Service
+public class TextExtractionService {
+
+    // Abaixo disso a página é tratada como digitalizada: um rodapé ou número de página não conta como texto.
+    private static final int MIN_TEXT_LAYER_CHARS = 20;
+
+    private final TesseractPool tesseractPool;
+    private final int dpi;
+    private final int maxPages;
+
+    public TextExtractionService(TesseractPool tesseractPool,
+                                 @Value("${certificate.ocr.dpi:300}") int dpi,
+                                 @Value("${certificate.ocr.max-pages:5}") int maxPages) {
+        this.tesseractPool = tesseractPool;
+        this.dpi = dpi;
+        this.maxPages = maxPages;
+    }
+
+    public Extraction extract(Path file) throws IOException, InterruptedException {
+        if (isPdf(file)) {
+            return extractFromPdf(file);
+        }
+        BufferedImage image = ImageIO.read(file.toFile());
+        if (image == null) {
+            throw new IOException("Unsupported file format: neither a PDF nor a readable image.");
+        }
+        long ocrStart = System.nanoTime();
+        String text = tesseractPool.recognize(toGray(image), dpi);
+        return new Extraction(text.strip(), 1, 1, 0, 0, elapsedMillis(ocrStart));
+    }
+
+    private Extraction extractFromPdf(Path file) throws IOException, InterruptedException {
+        try (PDDocument document = Loader.loadPDF(new RandomAccessReadBufferedFile(file))) {
+            int pages = Math.min(document.getNumberOfPages(), maxPages);
+            PDFTextStripper stripper = new PDFTextStripper();
+            PDFRenderer renderer = new PDFRenderer(document);
+            StringBuilder text = new StringBuilder();
+            int ocrPages = 0;
+            long textLayerNanos = 0;
+            long rasterizeNanos = 0;
+            long ocrNanos = 0;
+
+            for (int page = 1; page <= pages; page++) {
+                long start = System.nanoTime();
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                String pageText = stripper.getText(document).strip();
+                textLayerNanos += System.nanoTime() - start;
+
+                if (pageText.length() < MIN_TEXT_LAYER_CHARS) {
+                    // O motor é reservado antes de rasterizar, para que só haja tantas páginas de 300 DPI em memória
+                    // quanto motores no pool.
+                    try (TesseractPool.Engine engine = tesseractPool.acquire()) {
+                        start = System.nanoTime();
+                        BufferedImage image = renderer.renderImageWithDPI(page - 1, dpi, ImageType.GRAY);
+                        rasterizeNanos += System.nanoTime() - start;
+
+                        start = System.nanoTime();
+                        pageText = engine.recognize(image, dpi).strip();
+                        ocrNanos += System.nanoTime() - start;
+                    }
+                    ocrPages++;
+                }
+                if (!pageText.isEmpty()) {
+                    text.append(pageText).append('\n');
+                }
+            }
+            return new Extraction(text.toString().strip(), pages, ocrPages,
+                    nanosToMillis(textLayerNanos), nanosToMillis(rasterizeNanos), nanosToMillis(ocrNanos));
+        }
+    }
+
+    static boolean isPdf(Path file) throws IOException {
+        byte[] fileData;
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            fileData = inputStream.readNBytes(5);
+        }
+        return fileData.length == 5 && fileData[0] == '%' && fileData[1] == 'P' && fileData[2] == 'D' && fileData[3] == 'F' && fileData[4] == '-';
+    }
+
+    private static BufferedImage toGray(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_BYTE_GRAY) {
+            return image;
+        }
+        BufferedImage gray = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D graphics = gray.createGraphics();
+        try {
+            graphics.drawImage(image, 0, 0, null);
+        } finally {
+            graphics.dispose();
+        }
+        return gray;
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return nanosToMillis(System.nanoTime() - startNanos);
+    }
+
+    private static long nanosToMillis(long nanos) {
+        return nanos / 1_000_000;
+    }
+
+    public record Extraction(String text, int pageCount, int ocrPageCount, long textLayerMillis, long rasterizeMillis, long ocrMillis) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.ufu_solutions.certifica_ufu_processor.infra.kafka;
+
+import com.achcar_solutions.easycomm_core.infra.kafka.CertificateKafkaMessage;
+import com.achcar_solutions.easycomm_core.infra.kafka.CertificateTopics;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CertificateRetryRouterTest {
+
+    @Mock
+    private KafkaTemplate<String, CertificateKafkaMessage> kafkaTemplate;
+
+    @Mock
+    private SendResult<String, CertificateKafkaMessage> sendResult;
+
+    @Captor
+    private ArgumentCaptor<ProducerRecord<String, CertificateKafkaMessage>> sent;
+
+    @Test
+    @DisplayName("Failures should walk the retry topics in order and end in the DLT with the original position")
+    void walksRetryStagesThenDeadLetters() {
+        when(kafkaTemplate.send(anyRecord())).thenReturn(CompletableFuture.completedFuture(sendResult));
+        CertificateRetryRouter router = new CertificateRetryRouter(kafkaTemplate);
+        ConsumerRecord<String, CertificateKafkaMessage> current = new ConsumerRecord<>(CertificateTopics.CERTIFICATE_TOPIC, 7, 42L,
+                "certificate-1", new CertificateKafkaMessage("certificate-1", "certificate-1.pdf"));
+
+        for (String expectedTopic : new String[]{CertificateTopics.RETRY_TOPIC_1M, CertificateTopics.RETRY_TOPIC_5M,
+                CertificateTopics.RETRY_TOPIC_30M, CertificateTopics.DEAD_LETTER_TOPIC}) {
+            long before = System.currentTimeMillis();
+            router.routeFailure(current, new IOException("corrupt PDF"));
+
+            ProducerRecord<String, CertificateKafkaMessage> routed = lastSent();
+            assertEquals(expectedTopic, routed.topic());
+            assertEquals("certificate-1", routed.key());
+            assertEquals("7", header(routed, CertificateTopics.ORIGINAL_PARTITION_HEADER));
+            assertEquals("42", header(routed, CertificateTopics.ORIGINAL_OFFSET_HEADER));
+            assertEquals(IOException.class.getName(), header(routed, CertificateTopics.EXCEPTION_CLASS_HEADER));
+            assertEquals("corrupt PDF", header(routed, CertificateTopics.EXCEPTION_MESSAGE_HEADER));
+            if (expectedTopic.equals(CertificateTopics.DEAD_LETTER_TOPIC)) {
+                assertNull(routed.headers().lastHeader(CertificateTopics.DUE_AT_HEADER));
+            } else {
+                assertTrue(Long.parseLong(header(routed, CertificateTopics.DUE_AT_HEADER)) >= before + 60_000);
+            }
+
+            // The next stage consumes what was just produced, from a partition and offset of its own.
+            ConsumerRecord<String, CertificateKafkaMessage> next = new ConsumerRecord<>(routed.topic(), 0, 3L, routed.key(), routed.value());
+            routed.headers().forEach(header -> next.headers().add(header));
+            current = next;
+        }
+        assertEquals(4, CertificateRetryRouter.attemptsOf(current));
+    }
+
+    private ProducerRecord<String, CertificateKafkaMessage> lastSent() {
+        verify(kafkaTemplate, atLeastOnce()).send(sent.capture());
+        return sent.getValue();
+    }
+
+    // KafkaTemplate.send is overloaded for a ProducerRecord and a Message, so a bare any() would be ambiguous there.
+    private static ProducerRecord<String, CertificateKafkaMessage> anyRecord() {
+        return any();
+    }
+
+    private static String header(ProducerRecord<?, ?> record, String name) {
+        return new String(record.headers().lastHeader(name).value(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,181 @@
+package com.ufu_solutions.certifica_ufu_processor.infra.kafka;
+
+import com.achcar_solutions.easycomm_core.infra.kafka.CertificateKafkaMessage;
+import com.achcar_solutions.easycomm_core.infra.kafka.CertificateKafkaMessageSerializer;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.AcknowledgingConsumerAwareMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sends the same keyed load through a 4-partition topic with four consumer threads in one instance and with two
+ * instances of two threads each, using the container factory from {@link KafkaConsumerConfig}. Each layout must give
+ * every consumer exactly one partition, and messages of a certificate must still arrive in the order they were sent.
+ * How much faster that makes the processor is measured by {@code KafkaConsumerScalingBenchmark}, not here.
+ */
+@EmbeddedKafka(partitions = KafkaConsumerScalingTest.PARTITIONS)
+class KafkaConsumerScalingTest {
+
+    static final int PARTITIONS = 4;
+    private static final int CERTIFICATES = 40;
+    private static final int MESSAGES_PER_CERTIFICATE = 5;
+
+    private EmbeddedKafkaBroker embeddedKafka;
+
+    @BeforeEach
+    void setup(EmbeddedKafkaBroker broker) {
+        this.embeddedKafka = broker;
+    }
+
+    @Test
+    @DisplayName("Four consumer threads in one instance should each own one partition and keep per-certificate order")
+    void concurrencySpreadsPartitions() throws Exception {
+        assertSpreadAcrossConsumers(consume(1, PARTITIONS));
+    }
+
+    @Test
+    @DisplayName("Two instances with two threads each should each own one partition and keep per-certificate order")
+    void replicasSpreadPartitions() throws Exception {
+        assertSpreadAcrossConsumers(consume(2, PARTITIONS / 2));
+    }
+
+    @Test
+    @DisplayName("A single consumer should own every partition")
+    void singleConsumerOwnsEveryPartition() throws Exception {
+        Distribution distribution = consume(1, 1);
+
+        assertEquals(1, distribution.assignments().size());
+        assertEquals(PARTITIONS, distribution.assignments().values().iterator().next().size());
+    }
+
+    private static void assertSpreadAcrossConsumers(Distribution distribution) {
+        assertEquals(PARTITIONS, distribution.assignments().size(), "Assignments: " + distribution.assignments());
+        distribution.assignments().forEach((clientId, partitions) ->
+                assertEquals(1, partitions.size(), clientId + " got " + partitions));
+
+        // Each partition was processed by one consumer only, and no consumer processed two partitions.
+        assertEquals(PARTITIONS, distribution.consumersByPartition().size());
+        distribution.consumersByPartition().forEach((partition, consumers) ->
+                assertEquals(1, consumers.size(), "Partition " + partition + " was processed by " + consumers));
+        assertEquals(PARTITIONS, distribution.consumersByPartition().values().stream().flatMap(Set::stream).distinct().count());
+    }
+
+    /**
+     * Starts {@code instances} containers in the same group, each with {@code concurrency} consumers, drains the load
+     * through them and checks per-certificate order. Returns who got and who processed each partition.
+     */
+    private Distribution consume(int instances, int concurrency) throws Exception {
+        String topic = "certificates-" + UUID.randomUUID();
+        embeddedKafka.addTopics(new NewTopic(topic, PARTITIONS, (short) 1));
+
+        int total = CERTIFICATES * MESSAGES_PER_CERTIFICATE;
+        CountDownLatch processed = new CountDownLatch(total);
+        Map<String, List<Integer>> sequencesByCertificate = new ConcurrentHashMap<>();
+        Map<Integer, Set<String>> consumersByPartition = new ConcurrentHashMap<>();
+
+        KafkaConsumerConfig config = new KafkaConsumerConfig(embeddedKafka.getBrokersAsString(), concurrency, 64, 200);
+        List<ConcurrentMessageListenerContainer<String, CertificateKafkaMessage>> containers = new ArrayList<>();
+        String groupId = "scaling-" + UUID.randomUUID();
+        for (int i = 0; i < instances; i++) {
+            ConcurrentMessageListenerContainer<String, CertificateKafkaMessage> container =
+                    config.kafkaListenerContainerFactory().createContainer(topic);
+            container.setBeanName("instance-" + i);
+            container.getContainerProperties().setGroupId(groupId);
+            container.setupMessageListener((AcknowledgingConsumerAwareMessageListener<String, CertificateKafkaMessage>) (record, acknowledgment, consumer) -> {
+                String[] keyAndSequence = record.value().s3ObjectKey().split("/");
+                sequencesByCertificate.computeIfAbsent(keyAndSequence[0], key -> new CopyOnWriteArrayList<>())
+                        .add(Integer.parseInt(keyAndSequence[1]));
+                consumersByPartition.computeIfAbsent(record.partition(), partition -> ConcurrentHashMap.newKeySet())
+                        .add(consumer.groupMetadata().memberId());
+                acknowledgment.acknowledge();
+                processed.countDown();
+            });
+            container.start();
+            containers.add(container);
+        }
+
+        try {
+            awaitAssignment(containers, instances * concurrency);
+            Map<String, Collection<TopicPartition>> assignments = new HashMap<>();
+            containers.forEach(container -> container.getAssignmentsByClientId().forEach((clientId, partitions) -> {
+                if (!partitions.isEmpty()) {
+                    assignments.put(clientId, List.copyOf(partitions));
+                }
+            }));
+
+            KafkaTemplate<String, CertificateKafkaMessage> template = producer();
+            for (int sequence = 0; sequence < MESSAGES_PER_CERTIFICATE; sequence++) {
+                for (int certificate = 0; certificate < CERTIFICATES; certificate++) {
+                    String certificateId = "certificate-" + certificate;
+                    template.send(topic, certificateId, new CertificateKafkaMessage(certificateId, certificateId + "/" + sequence));
+                }
+            }
+            template.flush();
+
+            assertTrue(processed.await(60, TimeUnit.SECONDS), "Only " + (total - processed.getCount()) + " of " + total + " messages processed");
+            template.destroy();
+
+            assertEquals(CERTIFICATES, sequencesByCertificate.size());
+            sequencesByCertificate.forEach((certificateId, sequences) ->
+                    assertEquals(List.of(0, 1, 2, 3, 4), sequences, "Out of order for " + certificateId));
+            return new Distribution(assignments, consumersByPartition);
+        } finally {
+            containers.forEach(ConcurrentMessageListenerContainer::stop);
+        }
+    }
+
+    /**
+     * Waits for the group to settle: every consumer that can get a partition has one. Checking only the partition
+     * total is not enough, since the first instance holds all of them until the second one joins.
+     */
+    private void awaitAssignment(List<ConcurrentMessageListenerContainer<String, CertificateKafkaMessage>> containers,
+                                 int consumers) throws InterruptedException {
+        int expectedOwners = Math.min(consumers, PARTITIONS);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (System.nanoTime() < deadline) {
+            List<Collection<TopicPartition>> owned = containers.stream()
+                    .flatMap(container -> container.getAssignmentsByClientId().values().stream())
+                    .filter(partitions -> !partitions.isEmpty())
+                    .toList();
+            if (owned.size() == expectedOwners && owned.stream().mapToInt(Collection::size).sum() == PARTITIONS) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        fail("Partitions were not assigned to all " + expectedOwners + " consumers in time");
+    }
+
+    private KafkaTemplate<String, CertificateKafkaMessage> producer() {
+        Map<String, Object> props = KafkaTestUtils.producerProps(embeddedKafka);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(props, new StringSerializer(), new CertificateKafkaMessageSerializer()));
+    }
+
+    private record Distribution(Map<String, Collection<TopicPartition>> assignments,
+                                Map<Integer, Set<String>> consumersByPartition) {
+    }
+}
@@ -0,0 +1,119 @@
+package com.ufu_solutions.certifica_ufu_processor.infra.kafka;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyOrderedRecordPipelineTest {
+
+    @Test
+    @DisplayName("Records with the same key should run in order while different keys overlap")
+    void keepsOrderPerKey() throws Exception {
+        Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch acked = new CountDownLatch(40);
+
+        try (KeyOrderedRecordPipeline pipeline = new KeyOrderedRecordPipeline(64, () -> {}, () -> {})) {
+            for (int sequence = 0; sequence < 10; sequence++) {
+                for (int key = 0; key < 4; key++) {
+                    String recordKey = "certificate-" + key;
+                    int recordSequence = sequence;
+                    pipeline.submit(recordKey, () -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        sleep(5);
+                        seen.computeIfAbsent(recordKey, k -> new CopyOnWriteArrayList<>()).add(recordSequence);
+                        running.decrementAndGet();
+                    }, acked::countDown);
+                }
+            }
+            assertTrue(acked.await(10, TimeUnit.SECONDS));
+        }
+
+        seen.values().forEach(sequences -> assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), sequences));
+        assertTrue(maxRunning.get() > 1, "Different keys never overlapped");
+        assertTrue(maxRunning.get() <= 4, "Same key ran concurrently");
+    }
+
+    @Test
+    @DisplayName("Reaching the in-flight limit should pause, and draining should resume, the consumer")
+    void pausesAtLimitAndResumesAfterDrain() throws Exception {
+        AtomicInteger pauses = new AtomicInteger();
+        AtomicInteger resumes = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch acked = new CountDownLatch(5);
+
+        try (KeyOrderedRecordPipeline pipeline = new KeyOrderedRecordPipeline(4, pauses::incrementAndGet, resumes::incrementAndGet)) {
+            for (int i = 0; i < 4; i++) {
+                pipeline.submit("certificate-" + i, () -> await(release), acked::countDown);
+            }
+            assertEquals(4, pipeline.inFlight());
+            assertEquals(0, pauses.get());
+
+            Thread listener = Thread.ofVirtual().start(() -> {
+                try {
+                    pipeline.submit("certificate-4", () -> {}, acked::countDown);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            listener.join(200);
+            assertTrue(listener.isAlive(), "Submit should block while the pipeline is full");
+            assertEquals(1, pauses.get());
+            assertEquals(5, acked.getCount(), "Nothing may be acknowledged before it finishes");
+
+            release.countDown();
+            assertTrue(acked.await(10, TimeUnit.SECONDS));
+            listener.join();
+        }
+
+        assertEquals(1, pauses.get());
+        assertEquals(1, resumes.get());
+    }
+
+    @Test
+    @DisplayName("A record whose task fails should not be acknowledged, and later records of its key should still run")
+    void doesNotAcknowledgeFailedRecord() throws Exception {
+        AtomicInteger acks = new AtomicInteger();
+        CountDownLatch nextRan = new CountDownLatch(1);
+
+        try (KeyOrderedRecordPipeline pipeline = new KeyOrderedRecordPipeline(4, () -> {}, () -> {})) {
+            pipeline.submit("certificate-1", () -> {
+                throw new IllegalStateException("Failed to route certificate-1 to the retry topic.");
+            }, acks::incrementAndGet);
+            pipeline.submit("certificate-1", nextRan::countDown, acks::incrementAndGet);
+
+            assertTrue(nextRan.await(10, TimeUnit.SECONDS));
+            while (pipeline.inFlight() > 0) {
+                Thread.onSpinWait();
+            }
+        }
+
+        assertEquals(1, acks.get(), "Only the record that finished should be acknowledged");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.ufu_solutions.certifica_ufu_processor.infra.ocr;
+
+import net.sourceforge.tess4j.TessAPI;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockMakers;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class TesseractPoolTest {
+
+    // The inline mock maker cannot redefine this JNA interface; a generated subclass is enough for an interface.
+    private final TessAPI api = mock(TessAPI.class, withSettings().mockMaker(MockMakers.SUBCLASS));
+
+    @Test
+    @DisplayName("The default size should leave a core free for the rest of the processor")
+    void defaultSizeStaysBelowTheCores() {
+        TesseractPool pool = new TesseractPool(0, "tessdata", "por", () -> api);
+
+        assertEquals(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), pool.size());
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("acquire should create engines up to the size, then wait for one to be returned; close should end them all")
+    void acquireWaitsForAFreeEngineAndCloseEndsThem() throws Exception {
+        TesseractPool pool = new TesseractPool(2, "tessdata", "por", () -> api);
+
+        TesseractPool.Engine first = pool.acquire();
+        TesseractPool.Engine second = pool.acquire();
+        assertNotSame(first, second);
+        verify(api, times(2)).TessBaseAPICreate();
+
+        CompletableFuture<TesseractPool.Engine> third = new CompletableFuture<>();
+        Thread.ofVirtual().start(() -> {
+            try {
+                third.complete(pool.acquire());
+            } catch (InterruptedException e) {
+                third.completeExceptionally(e);
+            }
+        });
+        assertThrows(TimeoutException.class, () -> third.get(200, TimeUnit.MILLISECONDS));
+
+        first.close();
+        assertSame(first, third.get(5, TimeUnit.SECONDS));
+        verify(api, times(2)).TessBaseAPICreate();
+
+        pool.close();
+        verify(api, times(2)).TessBaseAPIEnd(any());
+        verify(api, times(2)).TessBaseAPIDelete(any());
+    }
+
+    @Test
+    @DisplayName("Native calls should run on the pool's platform threads, never on the calling virtual thread")
+    void recognizesOnPlatformThreads() throws Exception {
+        AtomicBoolean nativeOnVirtualThread = new AtomicBoolean();
+        when(api.TessBaseAPIGetUTF8Text(any())).thenAnswer(invocation -> {
+            nativeOnVirtualThread.set(Thread.currentThread().isVirtual());
+            return null;
+        });
+        TesseractPool pool = new TesseractPool(1, "tessdata", "por", () -> api);
+
+        CompletableFuture<String> text = new CompletableFuture<>();
+        Thread.ofVirtual().start(() -> {
+            try {
+                text.complete(pool.recognize(new BufferedImage(10, 10, BufferedImage.TYPE_BYTE_GRAY), 300));
+            } catch (Throwable e) {
+                text.completeExceptionally(e);
+            }
+        });
+
+        assertEquals("", text.get(5, TimeUnit.SECONDS));
+        assertFalse(nativeOnVirtualThread.get());
+        verify(api).TessBaseAPIClear(any());
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("A returned engine should refuse to recognize")
+    void returnedEngineRefusesWork() throws Exception {
+        TesseractPool pool = new TesseractPool(1, "tessdata", "por", () -> api);
+
+        TesseractPool.Engine engine = pool.acquire();
+        engine.close();
+
+        assertThrows(IllegalStateException.class,
+                () -> engine.recognize(new BufferedImage(10, 10, BufferedImage.TYPE_BYTE_GRAY), 300));
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("A failed initialization should free the handle and the slot, so a later acquire can try again")
+    void failedInitializationFreesTheSlot() throws Exception {
+        when(api.TessBaseAPIInit3(any(), anyString(), anyString())).thenReturn(-1, 0);
+        TesseractPool pool = new TesseractPool(1, "tessdata", "por", () -> api);
+
+        assertThrows(IllegalStateException.class, pool::acquire);
+        verify(api).TessBaseAPIDelete(any());
+
+        assertNotNull(pool.acquire());
+        verify(api, times(2)).TessBaseAPICreate();
+        pool.close();
+    }
+}
@@ -0,0 +1,130 @@
+package com.ufu_solutions.certifica_ufu_processor.services;
+
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificatePreviews;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateProcessingResult;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateStatus;
+import com.achcar_solutions.easycomm_core.entities.extraction.ExtractionCacheEntry;
+import com.achcar_solutions.easycomm_core.infra.hash.ContentHashes;
+import com.achcar_solutions.easycomm_core.infra.ports.StoragePort;
+import com.ufu_solutions.certifica_ufu_processor.infra.cache.ExtractionResultCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CertificateAnalysisServiceTest {
+
+    private static final byte[] FILE = "%PDF-1.7 certificado".getBytes();
+
+    @Mock
+    private StoragePort storagePort;
+
+    @Mock
+    private TextExtractionService textExtractionService;
+
+    @Mock
+    private ExtractionResultCache extractionResultCache;
+
+    @Mock
+    private PreviewRenderingService previewRenderingService;
+
+    @InjectMocks
+    private CertificateAnalysisService certificateAnalysisService;
+
+    @Test
+    @DisplayName("A known content hash should skip both download and OCR")
+    void cacheHitWithUploadHashSkipsDownload() throws Exception {
+        when(extractionResultCache.get("hash")).thenReturn(Optional.of(entry("hash", "Certificado de participação")));
+
+        CertificateProcessingResult result = certificateAnalysisService.analyze("id", "key.pdf", "hash");
+
+        assertEquals(CertificateStatus.PENDING, result.status());
+        assertEquals("Certificado de participação", result.extractedText());
+        assertTrue(result.stats().fromCache());
+        verifyNoInteractions(storagePort, textExtractionService, previewRenderingService);
+    }
+
+    @Test
+    @DisplayName("Without an upload hash the file is hashed after download and OCR is skipped on a hit")
+    void cacheHitAfterDownloadSkipsOcr() throws Exception {
+        String hash = ContentHashes.sha256(FILE);
+        when(storagePort.openFile("key.pdf")).thenReturn(new ByteArrayInputStream(FILE));
+        when(extractionResultCache.get(hash)).thenReturn(Optional.of(entry(hash, "")));
+
+        CertificateProcessingResult result = certificateAnalysisService.analyze("id", "key.pdf", null);
+
+        assertEquals(CertificateStatus.DENIED, result.status());
+        assertEquals(hash, result.contentHash());
+        verifyNoInteractions(textExtractionService);
+    }
+
+    @Test
+    @DisplayName("A miss should extract the text once from a temp file, store it under the content hash and delete the file")
+    void cacheMissExtractsAndStores() throws Exception {
+        when(extractionResultCache.get(anyString())).thenReturn(Optional.empty());
+        when(storagePort.openFile("key.pdf")).thenReturn(new ByteArrayInputStream(FILE));
+        AtomicReference<Path> extractedFrom = new AtomicReference<>();
+        when(textExtractionService.extract(any(Path.class))).thenAnswer(invocation -> {
+            Path file = invocation.getArgument(0);
+            assertArrayEquals(FILE, Files.readAllBytes(file));
+            extractedFrom.set(file);
+            return new TextExtractionService.Extraction("Texto", 1, 0, 3, 0, 0);
+        });
+        CertificatePreviews previews = new CertificatePreviews("previews/hash/thumbnail.png", "previews/hash/preview.png");
+        when(previewRenderingService.render(any(Path.class), eq("hash"))).thenReturn(previews);
+
+        CertificateProcessingResult result = certificateAnalysisService.analyze("id", "key.pdf", "hash");
+
+        ArgumentCaptor<ExtractionCacheEntry> stored = ArgumentCaptor.forClass(ExtractionCacheEntry.class);
+        verify(extractionResultCache).put(stored.capture());
+        assertEquals("hash", stored.getValue().getContentHash());
+        assertEquals("Texto", stored.getValue().getExtractedText());
+        assertEquals(previews, stored.getValue().getPreviews());
+        assertEquals(previews, result.previews());
+        assertFalse(result.stats().fromCache());
+        verify(textExtractionService, times(1)).extract(any());
+        assertTrue(extractedFrom.get().getFileName().toString().endsWith(".pdf"));
+        assertFalse(Files.exists(extractedFrom.get()));
+    }
+
+    @Test
+    @DisplayName("A hit whose previews were deleted should reuse the text and render the previews again")
+    void cacheHitWithDeletedPreviewsRendersAgain() throws Exception {
+        CertificatePreviews deleted = new CertificatePreviews("previews/hash/thumbnail.png", "previews/hash/preview.png");
+        ExtractionCacheEntry entry = entry("hash", "Certificado de participação");
+        entry.setPreviews(deleted);
+        when(extractionResultCache.get("hash")).thenReturn(Optional.of(entry));
+        when(storagePort.getFileMetadata("previews/hash/thumbnail.png")).thenReturn(Optional.empty());
+        when(storagePort.openFile("key.pdf")).thenReturn(new ByteArrayInputStream(FILE));
+        CertificatePreviews rendered = new CertificatePreviews("previews/hash/thumbnail.png", "previews/hash/preview.png");
+        when(previewRenderingService.render(any(Path.class), eq("hash"))).thenReturn(rendered);
+
+        CertificateProcessingResult result = certificateAnalysisService.analyze("id", "key.pdf", "hash");
+
+        assertEquals("Certificado de participação", result.extractedText());
+        assertTrue(result.stats().fromCache());
+        assertSame(rendered, result.previews());
+        verify(extractionResultCache).put(entry);
+        verifyNoInteractions(textExtractionService);
+    }
+
+    private static ExtractionCacheEntry entry(String hash, String text) {
+        return ExtractionCacheEntry.builder().contentHash(hash).extractedText(text).pageCount(1).build();
+    }
+}
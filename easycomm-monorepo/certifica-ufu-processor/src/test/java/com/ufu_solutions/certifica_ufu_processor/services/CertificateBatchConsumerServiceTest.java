@@ -0,0 +1,105 @@
+package com.ufu_solutions.certifica_ufu_processor.services;
+
+import com.achcar_solutions.easycomm_core.entities.certificate.Certificate;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateCategory;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateProcessingResult;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateStatus;
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificateStatusBatchResult;
+import com.achcar_solutions.easycomm_core.infra.kafka.CertificateKafkaMessage;
+import com.achcar_solutions.easycomm_core.repositories.CertificateRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CertificateBatchConsumerServiceTest {
+
+    @Mock
+    private CertificateRepository certificateRepository;
+
+    @Mock
+    private CertificateAnalysisService certificateAnalysisService;
+
+    @InjectMocks
+    private CertificateBatchConsumerService certificateBatchConsumerService;
+
+    @Test
+    @DisplayName("A batch should cost one read and one bulk write, with an outcome per certificate")
+    void processesBatchWithOneReadAndOneWrite() throws Exception {
+        when(certificateRepository.findAllById(anyCollection())).thenReturn(List.of(
+                certificate("denied", CertificateStatus.PENDING),
+                certificate("kept", CertificateStatus.PENDING),
+                certificate("decided", CertificateStatus.APPROVED),
+                certificate("broken", CertificateStatus.PENDING),
+                certificate("write-error", CertificateStatus.PENDING)));
+        CertificateProcessingResult denied = new CertificateProcessingResult(CertificateStatus.DENIED, "Ilegível", "", "hash-a", null, null);
+        CertificateProcessingResult kept = new CertificateProcessingResult(CertificateStatus.PENDING, null, "Certificado de participação", "hash-b", null, null);
+        when(certificateAnalysisService.analyze(eq("denied"), any(), any())).thenReturn(denied);
+        when(certificateAnalysisService.analyze(eq("write-error"), any(), any())).thenReturn(denied);
+        when(certificateAnalysisService.analyze(eq("kept"), any(), any())).thenReturn(kept);
+        when(certificateAnalysisService.analyze(eq("broken"), any(), any())).thenThrow(new RuntimeException("download failed"));
+        when(certificateRepository.saveProcessingResults(anyMap()))
+                .thenReturn(new CertificateStatusBatchResult(2, Map.of("write-error", "E11000")));
+
+        List<CertificateBatchConsumerService.ItemResult> results = certificateBatchConsumerService.processBatch(List.of(
+                message("denied"), message("kept"), message("decided"), message("missing"),
+                message("broken"), message("write-error"), message("denied")));
+
+        assertEquals(List.of(
+                        CertificateBatchConsumerService.Outcome.UPDATED,
+                        CertificateBatchConsumerService.Outcome.UPDATED,
+                        CertificateBatchConsumerService.Outcome.NOT_PENDING,
+                        CertificateBatchConsumerService.Outcome.NOT_FOUND,
+                        CertificateBatchConsumerService.Outcome.FAILED,
+                        CertificateBatchConsumerService.Outcome.FAILED),
+                results.stream().map(CertificateBatchConsumerService.ItemResult::outcome).toList());
+
+        verify(certificateRepository, times(1)).findAllById(anyCollection());
+        verify(certificateRepository, times(1)).saveProcessingResults(Map.of("denied", denied, "kept", kept, "write-error", denied));
+        verify(certificateRepository, never()).findById(any());
+        verify(certificateRepository, never()).findValidationStates(anyCollection());
+        verify(certificateAnalysisService, times(1)).analyze(eq("denied"), any(), any());
+    }
+
+    @Test
+    @DisplayName("Messages that carry the certificate data should be processed without reading the certificates")
+    void skipsLookupForExtendedMessages() throws Exception {
+        CertificateProcessingResult kept = new CertificateProcessingResult(CertificateStatus.PENDING, null, "Certificado de participação", "hash-b", null, null);
+        when(certificateAnalysisService.analyze(any(), any(), eq("hash-b"))).thenReturn(kept);
+        when(certificateRepository.saveProcessingResults(anyMap())).thenReturn(new CertificateStatusBatchResult(2, Map.of()));
+
+        List<CertificateBatchConsumerService.ItemResult> results = certificateBatchConsumerService.processBatch(List.of(
+                extendedMessage("first"), extendedMessage("second")));
+
+        assertEquals(List.of(CertificateBatchConsumerService.Outcome.UPDATED, CertificateBatchConsumerService.Outcome.UPDATED),
+                results.stream().map(CertificateBatchConsumerService.ItemResult::outcome).toList());
+        verify(certificateRepository, never()).findAllById(anyCollection());
+        verify(certificateRepository, never()).findById(any());
+        verify(certificateAnalysisService).analyze("first", "first.pdf", "hash-b");
+    }
+
+    private static Certificate certificate(String id, CertificateStatus status) {
+        return Certificate.builder().id(id).status(status).s3ObjectKey(id + ".pdf").build();
+    }
+
+    private static CertificateKafkaMessage message(String id) {
+        return new CertificateKafkaMessage(id, id + ".pdf");
+    }
+
+    private static CertificateKafkaMessage extendedMessage(String id) {
+        return new CertificateKafkaMessage(id, id + ".pdf", ".pdf", 1024L, "hash-b", CertificateCategory.PALESTRAS_E_CURSOS, 8);
+    }
+}
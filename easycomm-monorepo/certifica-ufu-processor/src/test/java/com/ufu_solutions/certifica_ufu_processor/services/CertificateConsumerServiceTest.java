@@ -0,0 +1,84 @@
+package com.ufu_solutions.certifica_ufu_processor.services;
+
+import com.achcar_solutions.easycomm_core.infra.kafka.CertificateKafkaMessage;
+import com.achcar_solutions.easycomm_core.infra.kafka.CertificateTopics;
+import com.ufu_solutions.certifica_ufu_processor.infra.kafka.CertificateRetryRouter;
+import com.ufu_solutions.certifica_ufu_processor.infra.kafka.KeyOrderedRecordPipeline;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CertificateConsumerServiceTest {
+
+    private final ConsumerRecord<String, CertificateKafkaMessage> record = new ConsumerRecord<>(CertificateTopics.CERTIFICATE_TOPIC, 0, 42L,
+            "certificate-1", new CertificateKafkaMessage("certificate-1", "certificate-1.pdf"));
+
+    @Mock
+    private CertificateProcessingService certificateProcessingService;
+
+    @Mock
+    private CertificateRetryRouter retryRouter;
+
+    @Mock
+    private KeyOrderedRecordPipeline processingPipeline;
+
+    @Test
+    @DisplayName("A failed send to the retry topic should be repeated until it goes through")
+    void retriesRoutingUntilSent() throws Exception {
+        doThrow(new IOException("corrupt PDF")).when(certificateProcessingService).process(record.value());
+        doThrow(new IllegalStateException("Failed to route certificate-1"))
+                .doThrow(new IllegalStateException("Failed to route certificate-1"))
+                .doNothing()
+                .when(retryRouter).routeFailure(eq(record), any(Throwable.class));
+
+        service(Duration.ofMillis(1)).processCertificate(record);
+
+        verify(retryRouter, times(3)).routeFailure(eq(record), any(Throwable.class));
+    }
+
+    @Test
+    @DisplayName("When the router keeps throwing, an interrupt should fail the record so the pipeline does not acknowledge it")
+    void failsRecordWhenRoutingIsInterrupted() throws Exception {
+        CountDownLatch routingFailed = new CountDownLatch(1);
+        doThrow(new IOException("corrupt PDF")).when(certificateProcessingService).process(record.value());
+        doAnswer(invocation -> {
+            routingFailed.countDown();
+            throw new IllegalStateException("Failed to route certificate-1");
+        }).when(retryRouter).routeFailure(eq(record), any(Throwable.class));
+        CertificateConsumerService service = service(Duration.ofMinutes(1));
+
+        AtomicReference<RuntimeException> thrown = new AtomicReference<>();
+        Thread worker = Thread.ofVirtual().start(() -> {
+            try {
+                service.processCertificate(record);
+            } catch (RuntimeException e) {
+                thrown.set(e);
+            }
+        });
+        assertTrue(routingFailed.await(10, TimeUnit.SECONDS));
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertFalse(worker.isAlive());
+        assertInstanceOf(IllegalStateException.class, thrown.get());
+    }
+
+    private CertificateConsumerService service(Duration routeRetryBackoff) {
+        return new CertificateConsumerService(certificateProcessingService, retryRouter, processingPipeline, routeRetryBackoff);
+    }
+}
@@ -0,0 +1,78 @@
+package com.ufu_solutions.certifica_ufu_processor.services;
+
+import com.achcar_solutions.easycomm_core.entities.certificate.CertificatePreviews;
+import com.achcar_solutions.easycomm_core.infra.ports.StoragePort;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PreviewRenderingServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final StoragePort storagePort = mock(StoragePort.class);
+    private final PreviewRenderingService previewRenderingService = new PreviewRenderingService(storagePort, 240, 1024);
+
+    @Test
+    @DisplayName("The first PDF page should be rendered at the preview width and downscaled for the thumbnail")
+    void rendersFirstPdfPage() throws Exception {
+        Path file = tempDir.resolve("certificate.pdf");
+        try (PDDocument document = new PDDocument()) {
+            document.addPage(new PDPage(PDRectangle.A4));
+            document.addPage(new PDPage(PDRectangle.A4));
+            document.save(file.toFile());
+        }
+
+        CertificatePreviews previews = previewRenderingService.render(file, "hash");
+
+        assertEquals(new CertificatePreviews("previews/hash/thumbnail.png", "previews/hash/preview.png"), previews);
+        assertEquals(1024, uploadedImage("previews/hash/preview.png").getWidth());
+        assertEquals(240, uploadedImage("previews/hash/thumbnail.png").getWidth());
+    }
+
+    @Test
+    @DisplayName("Large images should be downscaled and keep their aspect ratio")
+    void downscalesImages() throws Exception {
+        Path file = tempDir.resolve("certificate.png");
+        ImageIO.write(new BufferedImage(3000, 1500, BufferedImage.TYPE_INT_RGB), "png", file.toFile());
+
+        previewRenderingService.render(file, "hash");
+
+        BufferedImage preview = uploadedImage("previews/hash/preview.png");
+        assertEquals(1024, preview.getWidth());
+        assertEquals(512, preview.getHeight());
+        assertEquals(120, uploadedImage("previews/hash/thumbnail.png").getHeight());
+    }
+
+    @Test
+    @DisplayName("Files that are neither PDFs nor images should be rejected without uploading anything")
+    void rejectsUnreadableFiles() throws Exception {
+        Path file = tempDir.resolve("certificate.txt");
+        Files.writeString(file, "não é um certificado");
+
+        assertThrows(IOException.class, () -> previewRenderingService.render(file, "hash"));
+        verifyNoInteractions(storagePort);
+    }
+
+    private BufferedImage uploadedImage(String key) throws IOException {
+        ArgumentCaptor<byte[]> content = ArgumentCaptor.forClass(byte[].class);
+        verify(storagePort).uploadFile(content.capture(), eq(key), eq("image/png"));
+        return ImageIO.read(new ByteArrayInputStream(content.getValue()));
+    }
+}
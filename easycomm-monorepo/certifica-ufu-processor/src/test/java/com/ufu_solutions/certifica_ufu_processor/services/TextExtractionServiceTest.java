@@ -0,0 +1,116 @@
+package com.ufu_solutions.certifica_ufu_processor.services;
+
+import com.ufu_solutions.certifica_ufu_processor.infra.ocr.TesseractPool;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TextExtractionServiceTest {
+
+    private static final String CERTIFICATE_TEXT = "Certificamos que Maria participou do curso de Java";
+
+    @TempDir
+    Path tempDir;
+
+    private final TesseractPool tesseractPool = mock(TesseractPool.class);
+    private final TesseractPool.Engine engine = mock(TesseractPool.Engine.class);
+    private final TextExtractionService textExtractionService = new TextExtractionService(tesseractPool, 72, 2);
+
+    @Test
+    @DisplayName("Pages with a text layer should be read directly, without reserving an OCR engine")
+    void readsTextLayerWithoutOcr() throws Exception {
+        Path file = pdf(CERTIFICATE_TEXT);
+
+        TextExtractionService.Extraction extraction = textExtractionService.extract(file);
+
+        assertEquals(CERTIFICATE_TEXT, extraction.text());
+        assertEquals(1, extraction.pageCount());
+        assertEquals(0, extraction.ocrPageCount());
+        verifyNoInteractions(tesseractPool);
+    }
+
+    @Test
+    @DisplayName("Only pages without usable text should go to OCR, and only up to max-pages")
+    void ocrsOnlyScannedPages() throws Exception {
+        when(tesseractPool.acquire()).thenReturn(engine);
+        when(engine.recognize(any(BufferedImage.class), eq(72))).thenReturn(" Texto reconhecido \n");
+        // The footer is below the text-layer threshold, so the second page counts as scanned; the third is past max-pages.
+        Path file = pdf(CERTIFICATE_TEXT, "Página 2", CERTIFICATE_TEXT);
+
+        TextExtractionService.Extraction extraction = textExtractionService.extract(file);
+
+        assertEquals(CERTIFICATE_TEXT + "\nTexto reconhecido", extraction.text());
+        assertEquals(2, extraction.pageCount());
+        assertEquals(1, extraction.ocrPageCount());
+        ArgumentCaptor<BufferedImage> image = ArgumentCaptor.forClass(BufferedImage.class);
+        verify(engine).recognize(image.capture(), eq(72));
+        assertEquals(BufferedImage.TYPE_BYTE_GRAY, image.getValue().getType());
+        // The engine goes back to the pool once the page is recognized.
+        verify(engine).close();
+    }
+
+    @Test
+    @DisplayName("Uploaded images should go straight to OCR as grayscale")
+    void ocrsImagesAsGrayscale() throws Exception {
+        Path file = tempDir.resolve("certificate.png");
+        ImageIO.write(new BufferedImage(40, 20, BufferedImage.TYPE_INT_RGB), "png", file.toFile());
+        when(tesseractPool.recognize(any(BufferedImage.class), anyInt())).thenReturn("Certificado\n");
+
+        TextExtractionService.Extraction extraction = textExtractionService.extract(file);
+
+        assertEquals("Certificado", extraction.text());
+        assertEquals(1, extraction.ocrPageCount());
+        ArgumentCaptor<BufferedImage> image = ArgumentCaptor.forClass(BufferedImage.class);
+        verify(tesseractPool).recognize(image.capture(), eq(72));
+        assertEquals(BufferedImage.TYPE_BYTE_GRAY, image.getValue().getType());
+    }
+
+    @Test
+    @DisplayName("Files that are neither PDFs nor images should be rejected without touching the OCR pool")
+    void rejectsUnreadableFiles() throws Exception {
+        Path file = tempDir.resolve("certificate.txt");
+        Files.writeString(file, "não é um certificado");
+
+        assertThrows(IOException.class, () -> textExtractionService.extract(file));
+        verifyNoInteractions(tesseractPool);
+    }
+
+    private Path pdf(String... pageTexts) throws IOException {
+        Path file = tempDir.resolve("certificate.pdf");
+        try (PDDocument document = new PDDocument()) {
+            PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            for (String pageText : pageTexts) {
+                PDPage page = new PDPage(PDRectangle.A4);
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(font, 12);
+                    content.newLineAtOffset(50, 700);
+                    content.showText(pageText);
+                    content.endText();
+                }
+            }
+            document.save(file.toFile());
+        }
+        return file;
+    }
+}
@@ -5,7 +5,7 @@ import { useParams } from 'next/navigation';
 import { Button } from '@/components/ui/button';
 import { Card, CardContent, CardDescription, CardHeader, CardTitle } from '@/components/ui/card';
 import { useToast } from '@/hooks/use-toast';
-import { getOpportunityById } from '@/lib/api';
+import { getOpportunityById, getOpportunityApplicants, getOpportunityApplicantCount } from '@/lib/api';
 import { ArrowLeft, Users, Clock } from 'lucide-react';
 import Link from 'next/link';
 
@@ -16,11 +16,13 @@ interface Opportunity {
     description: string;
     hours: number;
     status: 'OPEN' | 'CLOSED' | 'FINISHED';
-    applicants: string[]; // Lista de emails dos candidatos
 }
 
 export default function OpportunityDetailsPage() {
     const [opportunity, setOpportunity] = useState<Opportunity | null>(null);
+    const [applicants, setApplicants] = useState<string[]>([]);
+    const [applicantCount, setApplicantCount] = useState(0);
+    const [nextCursor, setNextCursor] = useState<string | null>(null);
     const [isLoading, setIsLoading] = useState(true);
     const { toast } = useToast();
     const params = useParams();
@@ -31,8 +33,15 @@ export default function OpportunityDetailsPage() {
             const fetchOpportunityDetails = async () => {
                 setIsLoading(true);
                 try {
-                    const data = await getOpportunityById(id);
+                    const [data, firstPage, count] = await Promise.all([
+                        getOpportunityById(id),
+                        getOpportunityApplicants(id),
+                        getOpportunityApplicantCount(id),
+                    ]);
                     setOpportunity(data);
+                    setApplicants(firstPage.items);
+                    setNextCursor(firstPage.nextCursor);
+                    setApplicantCount(count);
                 } catch (error) {
                     toast({ title: "Erro ao buscar detalhes da oportunidade", variant: "destructive" });
                 } finally {
@@ -43,6 +52,19 @@ export default function OpportunityDetailsPage() {
         }
     }, [id, toast]);
 
+    const loadMoreApplicants = async () => {
+        if (typeof id !== 'string' || !nextCursor) {
+            return;
+        }
+        try {
+            const page = await getOpportunityApplicants(id, nextCursor);
+            setApplicants(previous => [...previous, ...page.items]);
+            setNextCursor(page.nextCursor);
+        } catch (error) {
+            toast({ title: "Erro ao buscar candidatos", variant: "destructive" });
+        }
+    };
+
     if (isLoading) {
         return <div className="flex justify-center items-center h-screen">Carregando detalhes...</div>;
     }
@@ -75,7 +97,7 @@ export default function OpportunityDetailsPage() {
                     <CardContent>
                         <div className="flex items-center space-x-4 text-sm text-muted-foreground">
                             <div className="flex items-center"><Clock className="w-4 h-4 mr-1" /> {opportunity.hours} horas</div>
-                            <div className="flex items-center"><Users className="w-4 h-4 mr-1" /> {opportunity.applicants.length} candidato(s)</div>
+                            <div className="flex items-center"><Users className="w-4 h-4 mr-1" /> {applicantCount} candidato(s)</div>
                         </div>
                     </CardContent>
                 </Card>
@@ -85,14 +107,21 @@ export default function OpportunityDetailsPage() {
                         <CardTitle>Candidatos Inscritos</CardTitle>
                     </CardHeader>
                     <CardContent>
-                        {opportunity.applicants.length > 0 ? (
-                            <ul className="space-y-2">
-                                {opportunity.applicants.map((applicantEmail, index) => (
-                                    <li key={index} className="p-3 border rounded-md bg-gray-50 dark:bg-gray-800">
-                                        {applicantEmail}
-                                    </li>
-                                ))}
-                            </ul>
+                        {applicants.length > 0 ? (
+                            <>
+                                <ul className="space-y-2">
+                                    {applicants.map((applicantEmail, index) => (
+                                        <li key={index} className="p-3 border rounded-md bg-gray-50 dark:bg-gray-800">
+                                            {applicantEmail}
+                                        </li>
+                                    ))}
+                                </ul>
+                                {nextCursor && (
+                                    <Button variant="outline" className="mt-4" onClick={loadMoreApplicants}>
+                                        Carregar mais candidatos
+                                    </Button>
+                                )}
+                            </>
                         ) : (
                             <p className="text-muted-foreground">Ainda não há candidatos para esta oportunidade.</p>
                         )}
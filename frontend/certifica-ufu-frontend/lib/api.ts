@@ -71,7 +71,7 @@ export const applyToOpportunity = async (opportunityId: string) => {
   export const getPendingCertificates = async () => {
       const token = localStorage.getItem('authToken');
   
-      const response = await fetch(`${API_URL}/certificate`, { // Assuming GET /certificate returns all
+      const response = await fetch(`${API_URL}/certificate/review-queue?size=100`, {
           method: 'GET',
           headers: {
               'Authorization': `Bearer ${token}`,
@@ -82,9 +82,9 @@ export const applyToOpportunity = async (opportunityId: string) => {
           throw new Error('Falha ao buscar certificados.');
       }
   
-      const allCerts = await response.json();
-      // Filter for pending certificates on the client-side for now
-      return allCerts.filter(cert => cert.status === 'PENDING');
+      // The API returns a cursor page of summaries, already filtered by status.
+      const page = await response.json();
+      return page.items;
   };
 
   export const createCertificate = async (certificateData: object, file: File) => {
@@ -120,7 +120,7 @@ export const applyToOpportunity = async (opportunityId: string) => {
   export const getMyCertificates = async () => {
     const token = localStorage.getItem('authToken');
   
-    const response = await fetch(`${API_URL}/certificate/my-documents`, {
+    const response = await fetch(`${API_URL}/certificate/my-documents?size=100`, {
       method: 'GET',
       headers: {
         'Authorization': `Bearer ${token}`,
@@ -131,7 +131,8 @@ export const applyToOpportunity = async (opportunityId: string) => {
       throw new Error('Falha ao buscar os documentos.');
     }
   
-    return response.json();
+    const page = await response.json();
+    return page.items;
   };
 
   export const createOpportunity = async (opportunityData: object) => {
@@ -223,4 +224,44 @@ export const getAllOpportunities = async () => {
     }
   
     return response.json();
+  };
+
+  export const getOpportunityApplicants = async (opportunityId: string, cursor?: string) => {
+    const token = localStorage.getItem('authToken');
+    const params = new URLSearchParams({ size: '100' });
+    if (cursor) {
+      params.set('cursor', cursor);
+    }
+  
+    const response = await fetch(`${API_URL}/opportunity/${opportunityId}/applicants?${params}`, {
+      method: 'GET',
+      headers: {
+        'Authorization': `Bearer ${token}`,
+      },
+    });
+  
+    if (!response.ok) {
+      throw new Error('Falha ao buscar os candidatos da oportunidade.');
+    }
+  
+    // Página de candidatos: { items, nextCursor }
+    return response.json();
+  };
+
+  export const getOpportunityApplicantCount = async (opportunityId: string) => {
+    const token = localStorage.getItem('authToken');
+  
+    const response = await fetch(`${API_URL}/opportunity/${opportunityId}/applicants/count`, {
+      method: 'GET',
+      headers: {
+        'Authorization': `Bearer ${token}`,
+      },
+    });
+  
+    if (!response.ok) {
+      throw new Error('Falha ao contar os candidatos da oportunidade.');
+    }
+  
+    const data = await response.json();
+    return data.count as number;
   };
\ No newline at end of file